@@ -7,13 +7,30 @@ import de.boondocksulfur.christmas.cmd.XmasCommand;
 import de.boondocksulfur.christmas.cmd.XmasGiftCommand;
 import de.boondocksulfur.christmas.listener.*;
 import de.boondocksulfur.christmas.manager.*;
+import de.boondocksulfur.christmas.util.BiomeClassifier;
+import de.boondocksulfur.christmas.util.DroppedItemIndex;
 import de.boondocksulfur.christmas.util.LanguageManager;
+import de.boondocksulfur.christmas.util.PlayerSpatialIndex;
+import de.boondocksulfur.christmas.util.SpawnCandidateCache;
+import de.boondocksulfur.christmas.util.SeasonSettings;
 
 public class ChristmasSeason extends JavaPlugin {
 
     private LanguageManager languageManager;
+    private PlayerSpatialIndex playerIndex;
+    private DroppedItemIndex itemIndex;
+    private SpawnCandidateCache spawnCandidates;
+    private SeasonMobDriver mobDriver;
+    private SeasonDensity seasonDensity;
+    private SeasonMobPool mobPool;
+    private SpawnDirector spawnDirector;
+    private BiomeClassifier biomeClassifier;
+    // Typisierter Config-Stand, bei /xmas reload komplett ersetzt (volatile → sofort für alle Threads sichtbar)
+    private volatile SeasonSettings settings;
+    private SeasonWorlds seasonWorlds;
     private SnowstormManager snowstormManager;
     private BiomeSnowManager biomeSnowManager;
+    private BiomePrewarmManager prewarmManager;
     private DecorationManager decorationManager;
     private GiftManager giftManager;
     private WichtelManager wichtelManager;
@@ -36,15 +53,34 @@ public class ChristmasSeason extends JavaPlugin {
         saveResourceIfAbsent("messages_en.yml");
 
         this.languageManager   = new LanguageManager(this);
+        this.playerIndex       = new PlayerSpatialIndex(this);
+        this.itemIndex         = new DroppedItemIndex(this);
+        this.spawnCandidates   = new SpawnCandidateCache();
+        this.biomeClassifier   = new BiomeClassifier();
+        this.seasonWorlds      = new SeasonWorlds();
+
+        // Config-Snapshot + Biom-Klassifizierung VOR den Managern aufbauen (bei /xmas reload erneut)
+        reloadSettings();
+
         this.backupManager     = new BiomeSnapshotBackup(this);
         this.updateChecker     = new de.boondocksulfur.christmas.util.UpdateChecker(this);
         this.biomeCompare      = new de.boondocksulfur.christmas.manager.BiomeCompare(this);
         this.snowstormManager  = new SnowstormManager(this);
         this.biomeSnowManager  = new BiomeSnowManager(this);
+        this.prewarmManager    = new BiomePrewarmManager(this);
         this.decorationManager = new DecorationManager(this);
         this.giftManager       = new GiftManager(this);
+        this.mobDriver         = new SeasonMobDriver(this);
+        this.seasonDensity     = new SeasonDensity(this);
+        this.mobPool           = new SeasonMobPool(this);
         this.wichtelManager    = new WichtelManager(this);
         this.snowmanManager    = new SnowmanManager(this);
+        this.spawnDirector     = new SpawnDirector(this);
+        spawnDirector.register(wichtelManager.wichtelContent());
+        spawnDirector.register(wichtelManager.elfContent());
+        spawnDirector.register(snowmanManager.spawnContent());
+        spawnDirector.register(giftManager.spawnContent());
+        spawnDirector.register(decorationManager.spawnContent());
         this.regionIntegration = new de.boondocksulfur.christmas.integration.RegionIntegration(this);
 
         XmasCommand xmasCommand = new XmasCommand(this);
@@ -57,16 +93,27 @@ public class ChristmasSeason extends JavaPlugin {
         Bukkit.getPluginManager().registerEvents(new SnowmanDamageListener(), this);
         Bukkit.getPluginManager().registerEvents(new MobProtectionListener(), this);
         Bukkit.getPluginManager().registerEvents(new ChunkSnowListener(this), this);
+        Bukkit.getPluginManager().registerEvents(new DroppedItemListener(itemIndex), this);
+        Bukkit.getPluginManager().registerEvents(new SpawnCandidateListener(spawnCandidates), this);
+        Bukkit.getPluginManager().registerEvents(new SnowFormListener(this), this);
         Bukkit.getPluginManager().registerEvents(new PlayerSnowBubbleListener(this), this);
         Bukkit.getPluginManager().registerEvents(new de.boondocksulfur.christmas.listener.UpdateNotificationListener(this), this);
 
+        // Spieler-Index läuft unabhängig von active (wird auch beim Restore gebraucht)
+        playerIndex.start();
+
         // bStats Metrics
         new Metrics(this, 30930);
 
         // Startup-Sicherheitsprüfungen
         performStartupSafetyChecks();
 
-        if (isActive()) startFeatures();
+        if (isActive()) {
+            startFeatures();
+        } else {
+            // CRASH-SAFE: Unterbrochenen Restore (/xmas off) automatisch fortsetzen
+            biomeSnowManager.resumeInterruptedRestore();
+        }
 
         // Auto-Update-Check beim Server-Start
         updateChecker.startAutoCheck();
@@ -84,6 +131,7 @@ public class ChristmasSeason extends JavaPlugin {
         }
 
         stopFeatures();
+        if (playerIndex != null) playerIndex.stop();
     }
 
     public boolean isActive() { return getConfig().getBoolean("active", false); }
@@ -91,8 +139,10 @@ public class ChristmasSeason extends JavaPlugin {
     public void startFeatures() {
         snowstormManager.start();
         biomeSnowManager.start();
+        prewarmManager.resumeFromCheckpoint(); // Prewarm-Job nach Neustart fortsetzen
         decorationManager.start();
         giftManager.start();
+        mobDriver.start();
         wichtelManager.start();
         snowmanManager.start();
 
@@ -100,10 +150,7 @@ public class ChristmasSeason extends JavaPlugin {
         // (PlayerJoinEvent wird nur für neue Joins gefeuert, nicht für bereits online Spieler!)
         for (org.bukkit.entity.Player player : Bukkit.getOnlinePlayers()) {
             biomeSnowManager.startPlayerTracking(player);
-            wichtelManager.startPlayerSpawning(player);
-            snowmanManager.startPlayerSpawning(player);
-            giftManager.startPlayerSpawning(player);
-            decorationManager.startPlayerSpawning(player);
+            spawnDirector.startPlayer(player);
             debug("Player-Tracking für bereits online Spieler gestartet: " + player.getName());
         }
     }
@@ -115,17 +162,27 @@ public class ChristmasSeason extends JavaPlugin {
     public void stopFeatures(boolean closeBiomeDatabase) {
         // FIX: Null-Checks für den Fall dass onEnable() fehlgeschlagen ist
         if (snowstormManager != null) snowstormManager.stop();
+        if (prewarmManager != null) prewarmManager.stop(); // Checkpoint speichern VOR DB-Close
         if (biomeSnowManager != null) biomeSnowManager.stop(closeBiomeDatabase);
+        if (spawnDirector != null) spawnDirector.stop();
         if (decorationManager != null) decorationManager.stop();
         if (giftManager != null) giftManager.stop();
         if (wichtelManager != null) wichtelManager.stop();
         if (snowmanManager != null) snowmanManager.stop();
+        if (mobPool != null) mobPool.clear();
+        if (mobDriver != null) mobDriver.stop();
     }
     public void reloadAll() {
         reloadConfig();
         languageManager.reload();
+        reloadSettings();
         stopFeatures();
-        if (isActive()) startFeatures();
+        if (isActive()) {
+            startFeatures();
+        } else {
+            // CRASH-SAFE: Unterbrochenen Restore (/xmas off) automatisch fortsetzen
+            biomeSnowManager.resumeInterruptedRestore();
+        }
     }
 
     /**
@@ -138,7 +195,7 @@ public class ChristmasSeason extends JavaPlugin {
         java.io.File dbFile = new java.io.File(getDataFolder(), "biome-snapshot.db");
 
         // Check 1: active:true aber keine DB → Warnung
-        if (isActive() && !dbFile.exists() && getConfig().getBoolean("biome.enableSnapshot", true)) {
+        if (isActive() && !dbFile.exists() && settings.enableSnapshot) {
             getLogger().warning("§c═══════════════════════════════════════════");
             getLogger().warning("§c§l WARNUNG: ChristmasSeason ist aktiv, aber keine Snapshot-DB vorhanden!");
             getLogger().warning("§c Biome wurden möglicherweise geändert und können nicht restored werden.");
@@ -210,13 +267,41 @@ public class ChristmasSeason extends JavaPlugin {
         }
     }
 
+    /**
+     * Baut den typisierten Config-Stand und die Biom-Klassifizierung neu auf
+     * (nach reloadConfig() aufrufen)
+     */
+    public void reloadSettings() {
+        settings = new SeasonSettings(getConfig());
+        seasonWorlds.sync(settings);
+        if (settings.legacyWichtelWorld != null) {
+            getLogger().warning(languageManager.getMessage("log.config.wichtel-world-deprecated", settings.legacyWichtelWorld));
+            if (settings.world(settings.legacyWichtelWorld) == null) {
+                getLogger().warning(languageManager.getMessage("log.config.wichtel-world-not-season", settings.legacyWichtelWorld));
+            }
+        }
+        int count = biomeClassifier.rebuild(getConfig());
+        debug("Biom-Klassifizierung aufgebaut: " + count + " Biome");
+    }
+
     // Getters
     public LanguageManager getLanguageManager() { return languageManager; }
+    public PlayerSpatialIndex getPlayerIndex() { return playerIndex; }
+    public DroppedItemIndex getItemIndex() { return itemIndex; }
+    public SpawnCandidateCache getSpawnCandidates() { return spawnCandidates; }
+    public SeasonMobDriver getMobDriver() { return mobDriver; }
+    public SeasonDensity getSeasonDensity() { return seasonDensity; }
+    public SeasonMobPool getMobPool() { return mobPool; }
+    public SpawnDirector getSpawnDirector() { return spawnDirector; }
+    public BiomeClassifier getBiomeClassifier() { return biomeClassifier; }
+    public SeasonSettings getSettings() { return settings; }
+    public SeasonWorlds getSeasonWorlds() { return seasonWorlds; }
     public BiomeSnapshotBackup getBackupManager() { return backupManager; }
     public de.boondocksulfur.christmas.util.UpdateChecker getUpdateChecker() { return updateChecker; }
     public de.boondocksulfur.christmas.manager.BiomeCompare getBiomeCompare() { return biomeCompare; }
     public GiftManager getGiftManager() { return giftManager; }
     public BiomeSnowManager getBiomeSnowManager() { return biomeSnowManager; }
+    public BiomePrewarmManager getPrewarmManager() { return prewarmManager; }
     public WichtelManager getWichtelManager() { return wichtelManager; }
     public SnowmanManager getSnowmanManager() { return snowmanManager; }
     public SnowstormManager getSnowstormManager() { return snowstormManager; }
@@ -8,6 +8,7 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import de.boondocksulfur.christmas.ChristmasSeason;
 import de.boondocksulfur.christmas.manager.BiomeSnowManager;
+import de.boondocksulfur.christmas.manager.SeasonWorld;
 import de.boondocksulfur.christmas.util.LanguageManager;
 import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
 
@@ -43,6 +44,11 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
         switch (args[0].toLowerCase()) {
 
             case "on" -> {
+                // LAZY RESTORE: Offene Chunks bleiben einfach Teil des Snapshots der neuen Saison
+                if (plugin.getBiomeSnowManager().cancelLazyRestore()) {
+                    sender.sendMessage("§7Lazy-Restore beendet - noch nicht zurückgesetzte Chunks bleiben im Snapshot.");
+                }
+
                 // GUARD: Prevent /xmas on while restore is running
                 if (plugin.getBiomeSnowManager().isRestoring()) {
                     sender.sendMessage("§c§lFehler: Restore läuft noch!");
@@ -58,7 +64,7 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
                 }
 
                 // SAFE-BACKUP: Erstelle Backup BEVOR Chunks geändert werden!
-                if (plugin.getConfig().getBoolean("biome.enableSnapshot", true)) {
+                if (plugin.getSettings().enableSnapshot) {
                     boolean backupOk = plugin.getBackupManager().createSafeBackup();
                     if (!backupOk && plugin.getBackupManager().hasDatabaseFile()) {
                         // DB existiert, aber Backup ist fehlgeschlagen → warnen!
@@ -79,7 +85,7 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
 
             case "off" -> {
                 // TIMESTAMP-BACKUP: Erstelle Backup BEVOR Restore startet!
-                if (plugin.getConfig().getBoolean("biome.enableSnapshot", true)) {
+                if (plugin.getSettings().enableSnapshot) {
                     boolean backupOk = plugin.getBackupManager().createTimestampBackup();
                     if (!backupOk && plugin.getBackupManager().hasDatabaseFile()) {
                         sender.sendMessage("§c§lWARNUNG: Timestamp-Backup fehlgeschlagen!");
@@ -91,6 +97,9 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
                 plugin.saveConfig();
                 plugin.getSnowstormManager().setStorm(false);
 
+                // Laufenden Prewarm-Job verwerfen (Restore setzt das Gebiet ohnehin zurück)
+                plugin.getPrewarmManager().cancel();
+
                 // WICHTIG: Cleanup VOR stopFeatures(), damit die Tracker noch gefüllt sind!
                 sender.sendMessage(lang.get("command.off.cleanup"));
                 plugin.getDecorationManager().cleanup();
@@ -103,28 +112,29 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
                 plugin.stopFeatures(false);  // DB NICHT schließen!
 
                 // Biome asynchron & budgetiert zurücksetzen (schließt DB am Ende selbst)
-                int perTick = Math.max(1, plugin.getConfig().getInt("biome.restore.perTick", 4));
-                plugin.getBiomeSnowManager().restoreALLAsync(perTick);
+                // LAZY: Chunks beim natürlichen Laden zurücksetzen, Sweeper erledigt den Rest gedrosselt
+                boolean lazy = plugin.getSettings().restoreLazy;
+                int perTick = lazy
+                        ? plugin.getSettings().lazySweepPerRun
+                        : plugin.getSettings().restorePerTick;
+                plugin.getBiomeSnowManager().restoreALLAsync(perTick, lazy);
 
                 // optional Sonne erzwingen (WICHTIG: über Global Scheduler für Folia!)
-                String wn = plugin.getConfig().getString("snowWorld", "world");
-                World w = Bukkit.getWorld(wn);
-                if (w != null) {
-                    scheduler.runGlobalTask(() -> {
+                List<World> worlds = loadedSeasonWorlds();
+                scheduler.runGlobalTask(() -> {
+                    for (World w : worlds) {
                         w.setStorm(false);
                         w.setThundering(false);
                         w.setWeatherDuration(12000);
-                    });
-                }
+                    }
+                });
 
                 sender.sendMessage(lang.get("command.off.success"));
             }
 
             case "status" -> {
                 boolean active = plugin.isActive();
-                String wn = plugin.getConfig().getString("snowWorld", "world");
-                World w = Bukkit.getWorld(wn);
-                boolean storm = (w != null && w.hasStorm());
+                boolean storm = plugin.getSnowstormManager().isStormingAnywhere();
                 String activeStr = active ? lang.get("command.status.active") : lang.get("command.status.inactive");
                 String stormStr = storm ? lang.get("command.status.active") : lang.get("command.status.inactive");
                 sender.sendMessage(lang.getMessage("command.status.message", activeStr, stormStr));
@@ -139,6 +149,7 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
                 // Sichere Variante ohne plugin.reloadALL()
                 plugin.reloadConfig();
                 lang.reload();
+                plugin.reloadSettings();
 
                 // Manager neu starten, damit neue Settings greifen
                 try { plugin.getBiomeSnowManager().stop(); } catch (Throwable ignored) {}
@@ -180,12 +191,17 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
                         sender.sendMessage(lang.getMessage("command.biome.set.success", changed));
                     }
                     case "restore" -> {
-                        sender.sendMessage("§c§lWARNUNG: Dieser Befehl wurde deaktiviert!");
-                        sender.sendMessage("§7Er kann den Server zum Absturz bringen.");
-                        sender.sendMessage("§7Verwende stattdessen '/xmas off' zum Zurücksetzen.");
-                        // DISABLED: Causes server freeze by loading reference world chunks
-                        // int changed = plugin.getBiomeSnowManager().restoreSeedForLoaded();
-                        // sender.sendMessage(lang.getMessage("command.biome.restore.success", changed));
+                        // Während der Saison würde die Bubble die Biome sofort wieder überschreiben
+                        if (plugin.isActive()) {
+                            sender.sendMessage("§cChristmasSeason ist aktiv!");
+                            sender.sendMessage("§7Führe zuerst '/xmas off' aus, dann '/xmas biome restore'.");
+                            return true;
+                        }
+                        sender.sendMessage("§7Berechne Original-Biome aus dem Seed...");
+                        // Seed-Orakel: keine Referenzwelt, Berechnung auf dem Worker-Pool
+                        plugin.getBiomeSnowManager().restoreSeedForLoaded().thenAccept(changed ->
+                                scheduler.runGlobalTask(() ->
+                                        sender.sendMessage(lang.getMessage("command.biome.restore.success", changed))));
                     }
                     case "clearsnap" -> {
                         // SCHUTZ: Warnung wenn Biome gerade modifiziert sind!
@@ -223,11 +239,28 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
                                 double mb = bytes / (1024.0 * 1024.0);
                                 sender.sendMessage("§a✓ Datenbank: AKTIV");
                                 sender.sendMessage("§7  Chunks: §f" + chunks);
+                                java.util.Map<String, Integer> perWorld = db.getChunkCountsByWorld();
+                                if (perWorld.size() > 1) {
+                                    perWorld.forEach((world, count) -> sender.sendMessage("§7    " + world + ": §f" + count));
+                                }
                                 sender.sendMessage("§7  Größe: §f" + String.format("%.2f MB", mb));
+                                int restoreErrors = db.getRestoreErrorCount();
+                                if (restoreErrors > 0) {
+                                    sender.sendMessage("§7  Restore-Fehler (letzter Lauf): §c" + restoreErrors);
+                                }
                             }
                         } catch (Exception e) {
                             sender.sendMessage("§c✗ Fehler beim Abrufen: " + e.getMessage());
                         }
+                        String restoreProgress = m.getRestoreProgress();
+                        if (restoreProgress != null) {
+                            sender.sendMessage("§e⟳ Restore läuft: §f" + restoreProgress);
+                        }
+                        double pendingPercent = m.getRestorePendingPercent();
+                        if (m.isLazyRestore() && pendingPercent >= 0) {
+                            sender.sendMessage("§e⟳ Lazy-Restore: §f" + String.format("%.1f%%", pendingPercent)
+                                    + " §7der Chunks noch ausstehend (Reset beim Laden + Hintergrund-Sweeper)");
+                        }
                     }
 
                     case "compare" -> {
@@ -355,6 +388,8 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
                         });
                     }
 
+                    case "prewarm" -> handlePrewarm(sender, args);
+
                     default -> sender.sendMessage(lang.get("command.biome.usage"));
                 }
             }
@@ -392,51 +427,32 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
                     sender.sendMessage(lang.get("command.storm.usage"));
                     return true;
                 }
-                String wn = plugin.getConfig().getString("snowWorld", "world");
-                World w = Bukkit.getWorld(wn);
+                // MULTI-WORLD: Sturm-Befehle gelten für alle geladenen Saison-Welten
+                List<World> worlds = loadedSeasonWorlds();
 
                 switch (args[1].toLowerCase()) {
                     case "on" -> {
                         plugin.getSnowstormManager().setStorm(true);
                         // WICHTIG: World-Operationen über Global Scheduler für Folia!
-                        if (w != null) {
-                            scheduler.runGlobalTask(() -> {
-                                w.setStorm(true);
-                                w.setThundering(false);
-                            });
-                        }
+                        scheduler.runGlobalTask(() -> setWeather(worlds, true));
                         sender.sendMessage(lang.get("command.storm.on"));
                     }
                     case "off" -> {
                         plugin.getSnowstormManager().setStorm(false);
                         // WICHTIG: World-Operationen über Global Scheduler für Folia!
-                        if (w != null) {
-                            scheduler.runGlobalTask(() -> {
-                                w.setStorm(false);
-                                w.setThundering(false);
-                            });
-                        }
+                        scheduler.runGlobalTask(() -> setWeather(worlds, false));
                         sender.sendMessage(lang.get("command.storm.off"));
                     }
                     case "toggle" -> {
-                        boolean newState;
-                        if (w != null) {
-                            newState = !w.hasStorm();
-                            // WICHTIG: World-Operationen über Global Scheduler für Folia!
-                            boolean finalNewState = newState;
-                            scheduler.runGlobalTask(() -> {
-                                w.setStorm(finalNewState);
-                                w.setThundering(false);
-                            });
-                        } else {
-                            newState = true;
-                        }
+                        boolean newState = !plugin.getSnowstormManager().isStormingAnywhere();
+                        // WICHTIG: World-Operationen über Global Scheduler für Folia!
+                        scheduler.runGlobalTask(() -> setWeather(worlds, newState));
                         plugin.getSnowstormManager().setStorm(newState);
                         String stateStr = newState ? lang.get("command.status.active") : lang.get("command.status.inactive");
                         sender.sendMessage(lang.getMessage("command.storm.toggle", stateStr));
                     }
                     case "status" -> {
-                        boolean storm = (w != null && w.hasStorm());
+                        boolean storm = plugin.getSnowstormManager().isStormingAnywhere();
                         String stormStr = storm ? lang.get("command.status.active") : lang.get("command.status.inactive");
                         sender.sendMessage(lang.getMessage("command.storm.status", stormStr));
                     }
@@ -446,18 +462,14 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
                             try { sec = Math.max(1, Integer.parseInt(args[2])); }
                             catch (NumberFormatException ex) { sender.sendMessage(lang.get("command.storm.pulse.invalid-duration")); return true; }
                         }
-                        if (w != null) {
+                        if (!worlds.isEmpty()) {
                             plugin.getSnowstormManager().setStorm(true);
                             // WICHTIG: World-Operationen über Global Scheduler für Folia!
-                            scheduler.runGlobalTask(() -> {
-                                w.setStorm(true);
-                                w.setThundering(false);
-                            });
+                            scheduler.runGlobalTask(() -> setWeather(worlds, true));
                             scheduler.runGlobalTaskLater(() -> {
                                 plugin.getSnowstormManager().setStorm(false);
                                 // Diese sind OK weil bereits im Global Scheduler Kontext
-                                w.setStorm(false);
-                                w.setThundering(false);
+                                setWeather(worlds, false);
                             }, sec * 20L);
                             sender.sendMessage(lang.getMessage("command.storm.pulse.success", sec));
                         } else {
@@ -610,6 +622,125 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    /** MULTI-WORLD: Alle aktuell geladenen Saison-Welten */
+    private List<World> loadedSeasonWorlds() {
+        List<World> worlds = new ArrayList<>();
+        for (SeasonWorld ctx : plugin.getSeasonWorlds().all()) {
+            World w = ctx.getWorld();
+            if (w != null) worlds.add(w);
+        }
+        return worlds;
+    }
+
+    /** Setzt das Wetter in allen Welten (nur im Global Scheduler Kontext aufrufen!) */
+    private void setWeather(List<World> worlds, boolean storm) {
+        for (World w : worlds) {
+            w.setStorm(storm);
+            w.setThundering(false);
+        }
+    }
+
+    /**
+     * /xmas biome prewarm <world> <radius> | <world> <x1> <z1> <x2> <z2> | status | pause | resume | cancel
+     * Radius in Chunks um den Welt-Spawn, Rechteck in Block-Koordinaten.
+     */
+    private void handlePrewarm(CommandSender sender, String[] args) {
+        de.boondocksulfur.christmas.manager.BiomePrewarmManager prewarm = plugin.getPrewarmManager();
+
+        if (args.length < 3) {
+            sender.sendMessage("§b/xmas biome prewarm §e<welt> <radius>");
+            sender.sendMessage("§b/xmas biome prewarm §e<welt> <x1> <z1> <x2> <z2>");
+            sender.sendMessage("§b/xmas biome prewarm §e<status|pause|resume|cancel>");
+            sender.sendMessage("§7Konvertiert ein Gebiet vorab (Radius in Chunks um den Spawn, Rechteck in Blöcken)");
+            return;
+        }
+
+        switch (args[2].toLowerCase()) {
+            case "status" -> {
+                for (String line : prewarm.getStatusLines()) sender.sendMessage(line);
+                return;
+            }
+            case "pause" -> {
+                sender.sendMessage(prewarm.pause() ? "§e✓ Prewarm pausiert. §7Fortsetzen: §f/xmas biome prewarm resume"
+                                                   : "§cKein laufender Prewarm-Job.");
+                return;
+            }
+            case "resume" -> {
+                sender.sendMessage(prewarm.resume() ? "§a✓ Prewarm fortgesetzt."
+                                                    : "§cKein pausierter Prewarm-Job.");
+                return;
+            }
+            case "cancel" -> {
+                sender.sendMessage(prewarm.cancel() ? "§e✓ Prewarm abgebrochen. §7Bereits konvertierte Chunks bleiben im Snapshot."
+                                                    : "§cKein Prewarm-Job vorhanden.");
+                return;
+            }
+        }
+
+        // GUARD: Nur bei aktivem Event und mit Snapshot-DB (sonst kein Restore möglich!)
+        if (!plugin.isActive()) {
+            sender.sendMessage("§c§lFehler: ChristmasSeason ist nicht aktiv!");
+            sender.sendMessage("§7Führe zuerst '/xmas on' aus.");
+            return;
+        }
+        if (plugin.getBiomeSnowManager().isRestoring()) {
+            sender.sendMessage("§c§lFehler: Restore läuft noch!");
+            return;
+        }
+        if (plugin.getBiomeSnowManager().getDatabase() == null) {
+            sender.sendMessage("§c§lFehler: Snapshot-Datenbank nicht aktiv!");
+            sender.sendMessage("§7Ohne Snapshot könnten die Biome nicht zurückgesetzt werden.");
+            return;
+        }
+        if (prewarm.isRunning()) {
+            sender.sendMessage("§cEs läuft bereits ein Prewarm-Job. §7(/xmas biome prewarm status|cancel)");
+            return;
+        }
+
+        World world = Bukkit.getWorld(args[2]);
+        if (world == null) {
+            sender.sendMessage("§cWelt nicht gefunden: " + args[2]);
+            return;
+        }
+        if (plugin.getSeasonWorlds().get(world) == null) {
+            sender.sendMessage("§cKeine Saison-Welt: " + args[2] + " §7(snowWorld/worlds in config.yml)");
+            return;
+        }
+
+        int minCX, minCZ, maxCX, maxCZ;
+        try {
+            if (args.length >= 7) {
+                minCX = Integer.parseInt(args[3]) >> 4;
+                minCZ = Integer.parseInt(args[4]) >> 4;
+                maxCX = Integer.parseInt(args[5]) >> 4;
+                maxCZ = Integer.parseInt(args[6]) >> 4;
+            } else if (args.length == 4) {
+                int radius = Integer.parseInt(args[3]);
+                if (radius < 0) throw new NumberFormatException();
+                int spawnCX = world.getSpawnLocation().getBlockX() >> 4;
+                int spawnCZ = world.getSpawnLocation().getBlockZ() >> 4;
+                minCX = spawnCX - radius;
+                minCZ = spawnCZ - radius;
+                maxCX = spawnCX + radius;
+                maxCZ = spawnCZ + radius;
+            } else {
+                sender.sendMessage("§b/xmas biome prewarm §e<welt> <radius|x1 z1 x2 z2>");
+                return;
+            }
+        } catch (NumberFormatException e) {
+            sender.sendMessage("§cUngültige Zahl. §7Radius in Chunks, Koordinaten in Blöcken.");
+            return;
+        }
+
+        if (prewarm.start(world, minCX, minCZ, maxCX, maxCZ)) {
+            long total = (long) (Math.abs(maxCX - minCX) + 1) * (Math.abs(maxCZ - minCZ) + 1);
+            sender.sendMessage("§a✓ Prewarm gestartet: §f" + total + " §7Chunks in §f" + world.getName());
+            sender.sendMessage("§7Fortschritt: §f/xmas biome prewarm status");
+        } else {
+            sender.sendMessage("§c✗ Prewarm konnte nicht gestartet werden. Siehe Console.");
+        }
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command cmd, String label, String[] args) {
         if (!sender.hasPermission("xmas.admin")) {
@@ -622,7 +753,7 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
             completions.addAll(Arrays.asList("on", "off", "status", "reload", "biome", "storm", "update", "backup", "debug"));
         } else if (args.length == 2) {
             switch (args[0].toLowerCase()) {
-                case "biome" -> completions.addAll(Arrays.asList("set", "status", "clearsnap", "compare", "fix-diff"));
+                case "biome" -> completions.addAll(Arrays.asList("set", "restore", "status", "clearsnap", "compare", "fix-diff", "prewarm"));
                 case "storm" -> completions.addAll(Arrays.asList("on", "off", "toggle", "status", "pulse"));
                 case "update" -> completions.add("check");
                 case "backup" -> completions.addAll(Arrays.asList("list", "restore", "create", "clear"));
@@ -642,6 +773,10 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
                             // Backup-IDs vorschlagen
                             completions.addAll(plugin.getBackupManager().listAllBackups().keySet());
                         }
+                        case "prewarm" -> {
+                            completions.addAll(Arrays.asList("status", "pause", "resume", "cancel"));
+                            plugin.getSeasonWorlds().all().forEach(w -> completions.add(w.getName()));
+                        }
                     }
                 }
                 case "backup" -> {
@@ -661,6 +796,9 @@ public class XmasCommand implements CommandExecutor, TabCompleter {
                     switch (args[1].toLowerCase()) {
                         case "set" -> completions.addAll(Arrays.asList("0", "1", "2", "3", "4", "5"));
                         case "fix-diff" -> completions.add("confirm");
+                        case "prewarm" -> {
+                            if (Bukkit.getWorld(args[2]) != null) completions.addAll(Arrays.asList("16", "32", "64"));
+                        }
                     }
                 }
                 case "backup" -> {
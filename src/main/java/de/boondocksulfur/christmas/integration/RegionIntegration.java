@@ -75,7 +75,7 @@ public class RegionIntegration {
      * Check if spawning is allowed at location (for gifts, mobs, decorations)
      */
     public boolean canSpawnAt(Location location) {
-        if (!plugin.getConfig().getBoolean("regionIntegration.enabled", true)) {
+        if (!plugin.getSettings().regionIntegrationEnabled) {
             return true;
         }
 
@@ -104,7 +104,7 @@ public class RegionIntegration {
      * Check if a player can interact at a specific location (for gift pickup etc.)
      */
     public boolean canInteract(Player player, Location location) {
-        if (!plugin.getConfig().getBoolean("regionIntegration.enabled", true)) {
+        if (!plugin.getSettings().regionIntegrationEnabled) {
             return true;
         }
 
@@ -128,7 +128,7 @@ public class RegionIntegration {
      */
     private boolean checkWorldGuard(Location location) {
         try {
-            boolean allowInProtected = plugin.getConfig().getBoolean("regionIntegration.worldGuard.allowInProtected", false);
+            boolean allowInProtected = plugin.getSettings().worldGuardAllowInProtected;
             if (allowInProtected) {
                 return true;
             }
@@ -204,7 +204,7 @@ public class RegionIntegration {
      */
     private boolean checkGriefPrevention(Location location) {
         try {
-            boolean allowInClaims = plugin.getConfig().getBoolean("regionIntegration.griefPrevention.allowInClaims", false);
+            boolean allowInClaims = plugin.getSettings().griefPreventionAllowInClaims;
             if (allowInClaims) {
                 return true;
             }
@@ -219,7 +219,7 @@ public class RegionIntegration {
             }
 
             // Check if it's an admin claim
-            boolean allowInAdminClaims = plugin.getConfig().getBoolean("regionIntegration.griefPrevention.allowInAdminClaims", false);
+            boolean allowInAdminClaims = plugin.getSettings().griefPreventionAllowInAdminClaims;
             if (allowInAdminClaims) {
                 try {
                     boolean isAdminClaim = (boolean) claim.getClass().getMethod("isAdminClaim").invoke(claim);
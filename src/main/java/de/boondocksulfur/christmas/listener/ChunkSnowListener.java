@@ -1,12 +1,13 @@
 package de.boondocksulfur.christmas.listener;
 
 import org.bukkit.Chunk;
-import org.bukkit.World;
 import org.bukkit.block.Biome;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
 import de.boondocksulfur.christmas.ChristmasSeason;
+import de.boondocksulfur.christmas.manager.SeasonWorld;
 
 public class ChunkSnowListener implements Listener {
 
@@ -15,13 +16,32 @@ public class ChunkSnowListener implements Listener {
 
     @EventHandler
     public void onChunkLoad(ChunkLoadEvent e) {
-        if (!plugin.isActive()) return;
+        // MULTI-WORLD: Nur Saison-Welten (ein Map-Lookup)
+        SeasonWorld ctx = plugin.getSeasonWorlds().get(e.getWorld());
+        // Ladezustand immer pflegen (auch außerhalb der Saison), die Bubble fragt nur diese Menge ab
+        if (ctx != null) ctx.chunkLoaded(e.getChunk().getX(), e.getChunk().getZ());
+
+        if (!plugin.isActive()) {
+            // LAZY RESTORE: Nach /xmas off Chunks beim natürlichen Laden zurücksetzen
+            plugin.getBiomeSnowManager().restoreOnLoad(e.getChunk());
+            return;
+        }
 
-        String worldName = plugin.getConfig().getString("snowWorld", "world");
-        World w = e.getWorld();
-        if (!w.getName().equals(worldName)) return;
+        if (ctx == null) return;
+
+        // Originale sichern & Schnee setzen: gebündelt über die Chunk-Load-Warteschlange
+        // (Login/Teleport laden dutzende Chunks im selben Tick)
+        plugin.getBiomeSnowManager().enqueueChunkLoad(e.getChunk());
+    }
 
-        // Originale sichern & Schnee setzen über Manager (inkl. Refresh)
-        plugin.getBiomeSnowManager().ensureSnow(e.getChunk());
+    @EventHandler
+    public void onChunkUnload(ChunkUnloadEvent e) {
+        SeasonWorld ctx = plugin.getSeasonWorlds().get(e.getWorld());
+        if (ctx == null) return;
+        ctx.chunkUnloaded(e.getChunk().getX(), e.getChunk().getZ());
+
+        if (!plugin.isActive()) return;
+        // Noch nicht konvertiert → Eintrag verwerfen, beim nächsten Laden neu vormerken
+        plugin.getBiomeSnowManager().cancelChunkLoad(e.getChunk());
     }
 }
@@ -0,0 +1,72 @@
+package de.boondocksulfur.christmas.listener;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.ItemDespawnEvent;
+import org.bukkit.event.entity.ItemMergeEvent;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.inventory.InventoryPickupItemEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import de.boondocksulfur.christmas.util.DroppedItemIndex;
+
+/**
+ * Pflegt den DroppedItemIndex (Wichtel-Steal-Logik)
+ * MONITOR + ignoreCancelled: Nur Ergebnisse, die wirklich eintreten.
+ */
+public class DroppedItemListener implements Listener {
+
+    private final DroppedItemIndex index;
+    public DroppedItemListener(DroppedItemIndex index) { this.index = index; }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemSpawn(ItemSpawnEvent e) {
+        index.add(e.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent e) {
+        // Teilweise aufgehoben (volles Inventar) → Item bleibt liegen
+        if (e.getRemaining() > 0) return;
+        index.remove(e.getItem());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onHopperPickup(InventoryPickupItemEvent e) {
+        index.remove(e.getItem());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDespawn(ItemDespawnEvent e) {
+        index.remove(e.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMerge(ItemMergeEvent e) {
+        // Quelle geht im Ziel auf
+        index.remove(e.getEntity());
+    }
+
+    @EventHandler
+    public void onEntitiesLoad(EntitiesLoadEvent e) {
+        // Items aus gespeicherten Chunks lösen kein ItemSpawnEvent aus
+        for (Entity entity : e.getEntities()) {
+            if (entity instanceof Item item) index.add(item);
+        }
+    }
+
+    @EventHandler
+    public void onEntitiesUnload(EntitiesUnloadEvent e) {
+        index.removeChunk(e.getWorld(), e.getChunk().getX(), e.getChunk().getZ());
+    }
+
+    @EventHandler
+    public void onWorldUnload(WorldUnloadEvent e) {
+        index.removeWorld(e.getWorld());
+    }
+}
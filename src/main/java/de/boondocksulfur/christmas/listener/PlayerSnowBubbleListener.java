@@ -27,10 +27,7 @@ public class PlayerSnowBubbleListener implements Listener {
 
         // FOLIA FIX: Starte Player-Tracking (Entity Scheduler)
         plugin.getBiomeSnowManager().startPlayerTracking(player);
-        plugin.getWichtelManager().startPlayerSpawning(player);
-        plugin.getSnowmanManager().startPlayerSpawning(player);
-        plugin.getGiftManager().startPlayerSpawning(player);
-        plugin.getDecorationManager().startPlayerSpawning(player);
+        plugin.getSpawnDirector().startPlayer(player);
 
         plugin.debug("Player-Tracking gestartet für " + player.getName() + " (Join Event)");
     }
@@ -41,10 +38,7 @@ public class PlayerSnowBubbleListener implements Listener {
 
         // FOLIA FIX: Stoppe Player-Tracking
         plugin.getBiomeSnowManager().stopPlayerTracking(player);
-        plugin.getWichtelManager().stopPlayerSpawning(player);
-        plugin.getSnowmanManager().stopPlayerSpawning(player);
-        plugin.getGiftManager().stopPlayerSpawning(player);
-        plugin.getDecorationManager().stopPlayerSpawning(player);
+        plugin.getSpawnDirector().stopPlayer(player);
 
         plugin.debug("Player-Tracking gestoppt für " + player.getName() + " (Quit Event)");
     }
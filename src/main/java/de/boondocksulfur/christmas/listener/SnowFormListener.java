@@ -0,0 +1,26 @@
+package de.boondocksulfur.christmas.listener;
+
+import org.bukkit.Material;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockFormEvent;
+import de.boondocksulfur.christmas.ChristmasSeason;
+
+/**
+ * Schreibt entstandenen Schnee und Eis ins Winter-Journal
+ * (Wetter-Schnee, gefrierendes Wasser, Schneemann-Spuren über EntityBlockFormEvent)
+ */
+public class SnowFormListener implements Listener {
+
+    private final ChristmasSeason plugin;
+    public SnowFormListener(ChristmasSeason plugin) { this.plugin = plugin; }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockForm(BlockFormEvent e) {
+        Material type = e.getNewState().getType();
+        if (type != Material.SNOW && type != Material.ICE) return;
+
+        plugin.getBiomeSnowManager().recordWinterBlock(e.getBlock());
+    }
+}
@@ -0,0 +1,51 @@
+package de.boondocksulfur.christmas.listener;
+
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import de.boondocksulfur.christmas.util.SpawnCandidateCache;
+
+/**
+ * Invalidiert den SpawnCandidateCache bei Block-Änderungen
+ * MONITOR + ignoreCancelled: Nur Änderungen, die wirklich passieren.
+ */
+public class SpawnCandidateListener implements Listener {
+
+    private final SpawnCandidateCache cache;
+    public SpawnCandidateListener(SpawnCandidateCache cache) { this.cache = cache; }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlace(BlockPlaceEvent e) {
+        invalidate(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBreak(BlockBreakEvent e) {
+        invalidate(e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent e) {
+        for (Block block : e.blockList()) invalidate(block);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent e) {
+        for (Block block : e.blockList()) invalidate(block);
+    }
+
+    @EventHandler
+    public void onChunkUnload(ChunkUnloadEvent e) {
+        cache.removeChunk(e.getWorld(), e.getChunk().getX(), e.getChunk().getZ());
+    }
+
+    private void invalidate(Block block) {
+        cache.invalidate(block.getWorld(), block.getX(), block.getZ());
+    }
+}
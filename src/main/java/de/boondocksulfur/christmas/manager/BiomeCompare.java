@@ -1,14 +1,18 @@
 package de.boondocksulfur.christmas.manager;
 
 import de.boondocksulfur.christmas.ChristmasSeason;
+import de.boondocksulfur.christmas.util.AsyncChunkLoader;
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.World;
 import org.bukkit.block.Biome;
 
 import java.io.File;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Vergleicht aktuelle Biome mit Backup-Datenbank
@@ -24,14 +28,20 @@ import java.util.*;
  */
 public class BiomeCompare {
 
+    /** Max gleichzeitig asynchron ladende Chunks (Compare/Fix laufen neben dem normalen Betrieb) */
+    private static final int MAX_IN_FLIGHT = 16;
+
     private final ChristmasSeason plugin;
+    private final AsyncChunkLoader chunkLoader;
 
     public BiomeCompare(ChristmasSeason plugin) {
         this.plugin = plugin;
+        this.chunkLoader = new AsyncChunkLoader(plugin);
     }
 
     /**
      * Vergleicht aktuelle Welt-Biome mit Backup
+     * ASYNC: Blockiert den aufrufenden (Async-)Thread, Chunks werden asynchron geladen
      *
      * @param backupFile Backup-Datei zum Vergleichen
      * @return Vergleichs-Ergebnis mit Unterschieden
@@ -47,7 +57,7 @@ public class BiomeCompare {
             BiomeSnapshotDatabase backupDb = new BiomeSnapshotDatabase(plugin, backupFile);
             backupDb.open();
 
-            String worldName = plugin.getConfig().getString("snowWorld", "world");
+            String worldName = plugin.getSettings().snowWorld;
             World world = Bukkit.getWorld(worldName);
 
             if (world == null) {
@@ -57,56 +67,64 @@ public class BiomeCompare {
             }
 
             // Hole alle Chunks aus Backup
-            List<BiomeSnapshotDatabase.ChunkCoords> backupChunks = backupDb.getAllChunkCoordinates();
+            List<BiomeSnapshotDatabase.ChunkCoords> backupChunks = new ArrayList<>(backupDb.getAllChunkCoordinates());
+            backupChunks.removeIf(c -> !c.world.equals(worldName));
             plugin.getLogger().info("Vergleiche " + backupChunks.size() + " Chunks mit aktueller Welt...");
 
-            List<ChunkDifference> differences = new ArrayList<>();
-            int compared = 0;
-            int identical = 0;
+            // DISK-LOKALITÄT: Nach Region-Datei sortiert laden
+            AsyncChunkLoader.sortByRegion(backupChunks, c -> c.x, c -> c.z);
 
-            for (BiomeSnapshotDatabase.ChunkCoords coords : backupChunks) {
-                if (!coords.world.equals(worldName)) continue;
+            List<ChunkDifference> differences = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger compared = new AtomicInteger();
+            AtomicInteger identical = new AtomicInteger();
+            Semaphore window = new Semaphore(MAX_IN_FLIGHT);
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
 
+            for (BiomeSnapshotDatabase.ChunkCoords coords : backupChunks) {
                 // Lade Chunk aus Backup
                 BiomeSnapshotDatabase.BiomeSnapshot3D backupSnapshot = backupDb.loadChunk3D(coords.world, coords.x, coords.z);
                 if (backupSnapshot == null) continue;
 
-                // FIX: Merke ob Chunk bereits geladen war für späteres Cleanup
-                Chunk currentChunk = world.getChunkAt(coords.x, coords.z);
-                boolean wasLoaded = currentChunk.isLoaded();
-                if (!wasLoaded) {
-                    world.loadChunk(coords.x, coords.z, false);
-                }
-
-                try {
-                    // Vergleiche Biome
-                    ChunkDifference diff = compareChunk(world, coords.x, coords.z, backupSnapshot);
-                    if (diff.hasDifferences()) {
-                        differences.add(diff);
-                    } else {
-                        identical++;
-                    }
-
-                    compared++;
-
-                    // Fortschritt alle 100 Chunks
-                    if (compared % 100 == 0) {
-                        plugin.getLogger().info("Fortschritt: " + compared + "/" + backupChunks.size() + " (" + differences.size() + " Unterschiede)");
-                    }
-                } finally {
-                    // FIX: Entlade Chunk wieder wenn er vorher nicht geladen war
-                    if (!wasLoaded && currentChunk.isLoaded()) {
-                        world.unloadChunk(coords.x, coords.z, false);
-                    }
-                }
+                window.acquireUninterruptibly();
+
+                // ASYNC LOAD: Nur den Biome-Snapshot auf dem Region-Thread ziehen, verglichen wird hier
+                // (nie generierte Chunks → null, werden übersprungen)
+                CompletableFuture<Void> future = chunkLoader
+                        .withChunk(world, coords.x, coords.z, chunk -> chunk.getChunkSnapshot(false, true, false), null)
+                        .handle((current, error) -> {
+                            window.release();
+                            if (error != null) {
+                                plugin.debug("Compare: Chunk " + coords.x + "," + coords.z + " nicht ladbar: " + error.getMessage());
+                                return null;
+                            }
+                            if (current == null) return null;
+
+                            // Vergleiche Biome
+                            ChunkDifference diff = compareChunk(current, coords.x, coords.z, backupSnapshot);
+                            if (diff.hasDifferences()) {
+                                differences.add(diff);
+                            } else {
+                                identical.incrementAndGet();
+                            }
+
+                            // Fortschritt alle 100 Chunks
+                            int done = compared.incrementAndGet();
+                            if (done % 100 == 0) {
+                                plugin.getLogger().info("Fortschritt: " + done + "/" + backupChunks.size() + " (" + differences.size() + " Unterschiede)");
+                            }
+                            return null;
+                        });
+                pending.add(future);
             }
 
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+
             backupDb.close();
 
-            plugin.getLogger().info("Vergleich abgeschlossen: " + compared + " Chunks verglichen");
-            plugin.getLogger().info("Identisch: " + identical + ", Unterschiede: " + differences.size());
+            plugin.getLogger().info("Vergleich abgeschlossen: " + compared.get() + " Chunks verglichen");
+            plugin.getLogger().info("Identisch: " + identical.get() + ", Unterschiede: " + differences.size());
 
-            return new CompareResult(backupFile, compared, identical, differences);
+            return new CompareResult(backupFile, compared.get(), identical.get(), new ArrayList<>(differences));
 
         } catch (SQLException e) {
             plugin.getLogger().severe("Fehler beim Vergleich: " + e.getMessage());
@@ -117,17 +135,15 @@ public class BiomeCompare {
 
     /**
      * Vergleicht einen Chunk mit Backup-Snapshot
+     * THREAD-SAFE: Arbeitet nur auf dem ChunkSnapshot, kein Weltzugriff
      *
-     * @param world Welt
+     * @param current Aktueller Chunk-Snapshot (mit Biomen)
      * @param chunkX Chunk X
      * @param chunkZ Chunk Z
      * @param backupSnapshot Backup-Snapshot
      * @return Unterschiede zwischen aktuellem Chunk und Backup
      */
-    private ChunkDifference compareChunk(World world, int chunkX, int chunkZ, BiomeSnapshotDatabase.BiomeSnapshot3D backupSnapshot) {
-        int bx = chunkX << 4;
-        int bz = chunkZ << 4;
-
+    private ChunkDifference compareChunk(ChunkSnapshot current, int chunkX, int chunkZ, BiomeSnapshotDatabase.BiomeSnapshot3D backupSnapshot) {
         int differences = 0;
         Map<Biome, Integer> changedBiomes = new HashMap<>();
 
@@ -138,7 +154,8 @@ public class BiomeCompare {
             for (int x = 0; x < 16; x++) {
                 for (int z = 0; z < 16; z++) {
                     Biome backupBiome = backupSnapshot.biomes[layer][x][z];
-                    Biome currentBiome = world.getBiome(bx + x, y, bz + z);
+                    if (backupBiome == null) continue; // SPARSE: Zelle wurde nie geändert
+                    Biome currentBiome = current.getBiome(x, y, z);
 
                     if (backupBiome != currentBiome) {
                         differences++;
@@ -153,6 +170,7 @@ public class BiomeCompare {
 
     /**
      * Korrigiert alle Unterschiede zwischen aktueller Welt und Backup
+     * ASYNC: Blockiert den aufrufenden (Async-)Thread, Chunks werden asynchron geladen
      *
      * @param backupFile Backup-Datei als Quelle
      * @param result Vergleichs-Ergebnis (Optional, wird neu berechnet wenn null)
@@ -179,7 +197,7 @@ public class BiomeCompare {
             BiomeSnapshotDatabase backupDb = new BiomeSnapshotDatabase(plugin, backupFile);
             backupDb.open();
 
-            String worldName = plugin.getConfig().getString("snowWorld", "world");
+            String worldName = plugin.getSettings().snowWorld;
             World world = Bukkit.getWorld(worldName);
 
             if (world == null) {
@@ -188,9 +206,15 @@ public class BiomeCompare {
                 return 0;
             }
 
-            int fixed = 0;
+            List<ChunkDifference> toFix = new ArrayList<>(result.differences);
+            AsyncChunkLoader.sortByRegion(toFix, d -> d.chunkX, d -> d.chunkZ);
+            int total = toFix.size();
 
-            for (ChunkDifference diff : result.differences) {
+            AtomicInteger fixed = new AtomicInteger();
+            Semaphore window = new Semaphore(MAX_IN_FLIGHT);
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+            for (ChunkDifference diff : toFix) {
                 // Lade Snapshot aus Backup
                 BiomeSnapshotDatabase.BiomeSnapshot3D snapshot = backupDb.loadChunk3D(worldName, diff.chunkX, diff.chunkZ);
                 if (snapshot == null) {
@@ -198,34 +222,38 @@ public class BiomeCompare {
                     continue;
                 }
 
-                // FIX: Merke ob Chunk bereits geladen war für späteres Cleanup
-                Chunk chunk = world.getChunkAt(diff.chunkX, diff.chunkZ);
-                boolean wasLoaded = chunk.isLoaded();
-                if (!wasLoaded) {
-                    world.loadChunk(diff.chunkX, diff.chunkZ, false);
-                }
-
-                try {
-                    // Restore Biome aus Backup
-                    restoreChunkFromSnapshot(world, diff.chunkX, diff.chunkZ, snapshot);
-                    fixed++;
-
-                    // Fortschritt alle 50 Chunks
-                    if (fixed % 50 == 0) {
-                        plugin.getLogger().info("Fortschritt: " + fixed + "/" + result.differences.size() + " Chunks korrigiert");
-                    }
-                } finally {
-                    // FIX: Entlade Chunk wieder wenn er vorher nicht geladen war
-                    if (!wasLoaded && chunk.isLoaded()) {
-                        world.unloadChunk(diff.chunkX, diff.chunkZ, false);
-                    }
-                }
+                window.acquireUninterruptibly();
+
+                // ASYNC LOAD: Restore läuft auf dem Region-Thread, Ticket nur solange nötig
+                CompletableFuture<Void> future = chunkLoader
+                        .withChunk(world, diff.chunkX, diff.chunkZ, chunk -> {
+                            restoreChunkFromSnapshot(world, diff.chunkX, diff.chunkZ, snapshot);
+                            return Boolean.TRUE;
+                        }, Boolean.FALSE)
+                        .handle((restored, error) -> {
+                            window.release();
+                            if (error != null) {
+                                plugin.getLogger().warning("Chunk " + diff.chunkX + "," + diff.chunkZ + " nicht korrigiert: " + error.getMessage());
+                                return null;
+                            }
+                            if (!restored) return null;
+
+                            // Fortschritt alle 50 Chunks
+                            int done = fixed.incrementAndGet();
+                            if (done % 50 == 0) {
+                                plugin.getLogger().info("Fortschritt: " + done + "/" + total + " Chunks korrigiert");
+                            }
+                            return null;
+                        });
+                pending.add(future);
             }
 
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+
             backupDb.close();
 
-            plugin.getLogger().info("Korrektur abgeschlossen: " + fixed + " Chunks wiederhergestellt");
-            return fixed;
+            plugin.getLogger().info("Korrektur abgeschlossen: " + fixed.get() + " Chunks wiederhergestellt");
+            return fixed.get();
 
         } catch (SQLException e) {
             plugin.getLogger().severe("Fehler bei Korrektur: " + e.getMessage());
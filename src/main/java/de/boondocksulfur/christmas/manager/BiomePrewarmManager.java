@@ -0,0 +1,503 @@
+package de.boondocksulfur.christmas.manager;
+
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import de.boondocksulfur.christmas.ChristmasSeason;
+import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vorab-Konvertierung eines Gebiets (/xmas biome prewarm).
+ *
+ * Crawlt Chunks spiralförmig vom Mittelpunkt nach außen, lädt sie asynchron
+ * (ohne Generierung), erstellt Snapshot + Winter-Biom über den BiomeSnowManager
+ * und gibt sie danach wieder zum Entladen frei.
+ *
+ * - Adaptives Budget: Anzahl Chunks pro Tick richtet sich nach der gemessenen
+ *   Konvertierungszeit (biome.prewarm.msPerTick)
+ * - Checkpoint in der Snapshot-DB: Pause/Resume auch über Neustarts hinweg
+ * - Durchsatz-Anzeige in Chunks/Sekunde
+ *
+ * FOLIA-KOMPATIBEL: getChunkAtAsync() liefert den Chunk auf seinem Region-Thread.
+ */
+public class BiomePrewarmManager {
+
+    private static final String JOB_NAME = "prewarm";
+    /** Max. Spiral-Indizes pro Tick (auch außerhalb des Rechtecks) - begrenzt den Lauf bei schmalen Bereichen */
+    private static final int MAX_SCAN_PER_TICK = 4096;
+
+    /** Ergebnis eines Chunks */
+    private enum Outcome { CONVERTED, SKIPPED, ERROR }
+
+    private final ChristmasSeason plugin;
+    private final FoliaSchedulerHelper scheduler;
+
+    private volatile Job job;
+    private WrappedTask tickTask;
+    // Speichern und Löschen des Checkpoints nacheinander (async Schreiber vs. cancel/finish)
+    private final Object checkpointLock = new Object();
+
+    public BiomePrewarmManager(ChristmasSeason plugin) {
+        this.plugin = plugin;
+        this.scheduler = new FoliaSchedulerHelper(plugin);
+    }
+
+    /**
+     * Spiralförmiger Durchlauf um (0,0): Index 0 = Mitte, dann Ring für Ring nach außen
+     */
+    private static final class Spiral {
+        int x, z;
+        long index;
+        private int dir;
+        private int legLength = 1;
+        private int legPos;
+        private int legsDone;
+
+        void next() {
+            switch (dir) {
+                case 0 -> x++;
+                case 1 -> z++;
+                case 2 -> x--;
+                default -> z--;
+            }
+            index++;
+            if (++legPos == legLength) {
+                legPos = 0;
+                dir = (dir + 1) & 3;
+                if (++legsDone % 2 == 0) legLength++;
+            }
+        }
+    }
+
+    /** Laufender Prewarm-Job (Zustand wird im Checkpoint gespeichert) */
+    private static final class Job {
+        final String world;
+        final int minCX, minCZ, maxCX, maxCZ;
+        final int centerCX, centerCZ;
+        final long spiralLength;
+        final long totalChunks;
+        final long startedAt;
+
+        final Spiral spiral = new Spiral();
+        final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+        final AtomicLong converted = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        // Fertige Chunks ab dem Cursor: zählen schon, stehen aber noch nicht im Checkpoint
+        // (nach einem Neustart werden sie erneut verarbeitet). Zugriff nur unter synchronized(Job).
+        final TreeMap<Long, Outcome> completedAhead = new TreeMap<>();
+
+        // Adaptives Budget: gleitender Mittelwert der Konvertierungszeit (Mikrosekunden)
+        volatile double avgMicros = 2000.0;
+
+        volatile boolean paused;
+        long activeMillis;      // Aufsummierte Laufzeit (ohne Pausen)
+        long resumedAt;         // Beginn der aktuellen Laufphase
+
+        Job(String world, int minCX, int minCZ, int maxCX, int maxCZ, long startedAt) {
+            this.world = world;
+            this.minCX = Math.min(minCX, maxCX);
+            this.minCZ = Math.min(minCZ, maxCZ);
+            this.maxCX = Math.max(minCX, maxCX);
+            this.maxCZ = Math.max(minCZ, maxCZ);
+            this.centerCX = Math.floorDiv(this.minCX + this.maxCX, 2);
+            this.centerCZ = Math.floorDiv(this.minCZ + this.maxCZ, 2);
+            long reach = Math.max(Math.max(centerCX - this.minCX, this.maxCX - centerCX),
+                                  Math.max(centerCZ - this.minCZ, this.maxCZ - centerCZ));
+            this.spiralLength = (2 * reach + 1) * (2 * reach + 1);
+            this.totalChunks = (long) (this.maxCX - this.minCX + 1) * (this.maxCZ - this.minCZ + 1);
+            this.startedAt = startedAt;
+        }
+
+        boolean contains(int cx, int cz) {
+            return cx >= minCX && cx <= maxCX && cz >= minCZ && cz <= maxCZ;
+        }
+
+        /** Alles vor diesem Spiral-Index ist sicher fertig */
+        long committedIndex() {
+            Long first = inFlight.isEmpty() ? null : inFlight.first();
+            return first != null ? first : spiral.index;
+        }
+
+        /** Chunk fertig: zählen und aus inFlight nehmen (Region-Thread) */
+        synchronized void complete(long index, Outcome outcome) {
+            switch (outcome) {
+                case CONVERTED -> converted.incrementAndGet();
+                case SKIPPED -> skipped.incrementAndGet();
+                default -> errors.incrementAndGet();
+            }
+            completedAhead.put(index, outcome);
+            inFlight.remove(index);
+        }
+
+        long doneChunks() {
+            return converted.get() + skipped.get() + errors.get();
+        }
+
+        long activeMillisNow() {
+            return activeMillis + (paused ? 0 : System.currentTimeMillis() - resumedAt);
+        }
+
+        double chunksPerSecond() {
+            long ms = activeMillisNow();
+            return ms > 0 ? converted.get() * 1000.0 / ms : 0.0;
+        }
+    }
+
+    // ===================== Lifecycle ======================
+
+    /**
+     * Startet einen neuen Prewarm-Job (ersetzt einen evtl. vorhandenen Checkpoint)
+     *
+     * @return false wenn bereits ein Job läuft oder keine Datenbank verfügbar ist
+     */
+    public boolean start(World world, int minCX, int minCZ, int maxCX, int maxCZ) {
+        if (job != null) return false;
+        if (plugin.getBiomeSnowManager().getDatabase() == null) return false;
+
+        Job j = new Job(world.getName(), minCX, minCZ, maxCX, maxCZ, System.currentTimeMillis());
+        j.resumedAt = System.currentTimeMillis();
+        job = j;
+        saveCheckpoint(j);
+        startTicking();
+
+        plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.prewarm.started",
+                j.world, j.totalChunks, j.minCX, j.minCZ, j.maxCX, j.maxCZ));
+        return true;
+    }
+
+    /**
+     * Setzt einen gespeicherten Job fort (bei startFeatures)
+     * Pausierte Jobs bleiben pausiert, bis /xmas biome prewarm resume ausgeführt wird.
+     */
+    public void resumeFromCheckpoint() {
+        if (job != null) return;
+        BiomeSnapshotDatabase db = plugin.getBiomeSnowManager().getDatabase();
+        if (db == null) return;
+
+        Map<String, String> state;
+        try {
+            state = db.loadJobState(JOB_NAME);
+        } catch (SQLException e) {
+            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.prewarm.checkpoint-error", e.getMessage()));
+            return;
+        }
+        if (state == null) return;
+
+        try {
+            Job j = new Job(state.get("world"),
+                    Integer.parseInt(state.get("minCX")), Integer.parseInt(state.get("minCZ")),
+                    Integer.parseInt(state.get("maxCX")), Integer.parseInt(state.get("maxCZ")),
+                    Long.parseLong(state.get("startedAt")));
+            long cursor = Long.parseLong(state.get("cursor"));
+            while (j.spiral.index < cursor) j.spiral.next();
+            j.converted.set(Long.parseLong(state.getOrDefault("converted", "0")));
+            j.skipped.set(Long.parseLong(state.getOrDefault("skipped", "0")));
+            j.errors.set(Long.parseLong(state.getOrDefault("errors", "0")));
+            j.activeMillis = Long.parseLong(state.getOrDefault("activeMillis", "0"));
+            j.paused = Boolean.parseBoolean(state.getOrDefault("paused", "false"));
+            j.resumedAt = System.currentTimeMillis();
+            job = j;
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.prewarm.checkpoint-error", e.getMessage()));
+            return;
+        }
+
+        startTicking();
+        Job j = job;
+        plugin.getLogger().info(plugin.getLanguageManager().getMessage(
+                j.paused ? "log.prewarm.resumed-paused" : "log.prewarm.resumed",
+                j.world, j.doneChunks(), j.totalChunks));
+    }
+
+    /**
+     * Stoppt den Crawler und speichert den Checkpoint (Job bleibt erhalten)
+     * Muss VOR dem Schließen der Snapshot-DB aufgerufen werden!
+     */
+    public void stop() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        Job j = job;
+        if (j != null) {
+            if (!j.paused) {
+                j.activeMillis = j.activeMillisNow();
+                j.resumedAt = System.currentTimeMillis();
+            }
+            // Erst abmelden: ein noch wartender Async-Schreiber überschreibt den Stand danach nicht mehr
+            job = null;
+            saveCheckpoint(j);
+        }
+    }
+
+    public boolean pause() {
+        Job j = job;
+        if (j == null || j.paused) return false;
+        j.activeMillis = j.activeMillisNow();
+        j.paused = true;
+        saveCheckpointAsync(j);
+        return true;
+    }
+
+    public boolean resume() {
+        Job j = job;
+        if (j == null || !j.paused) return false;
+        j.resumedAt = System.currentTimeMillis();
+        j.paused = false;
+        saveCheckpointAsync(j);
+        return true;
+    }
+
+    /** Bricht den Job ab und löscht den Checkpoint (bereits konvertierte Chunks bleiben im Snapshot) */
+    public boolean cancel() {
+        Job j = job;
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        job = null;
+        deleteCheckpoint();
+        return j != null;
+    }
+
+    public boolean isRunning() {
+        return job != null;
+    }
+
+    /**
+     * Statuszeilen für /xmas biome prewarm status
+     */
+    public java.util.List<String> getStatusLines() {
+        java.util.List<String> lines = new java.util.ArrayList<>();
+        Job j = job;
+        if (j == null) {
+            lines.add("§7Kein Prewarm-Job aktiv.");
+            return lines;
+        }
+        long done = j.doneChunks();
+        double percent = j.totalChunks > 0 ? done * 100.0 / j.totalChunks : 100.0;
+        double rate = j.chunksPerSecond();
+        long remaining = Math.max(0, j.totalChunks - done);
+
+        lines.add("§7═══ Prewarm: §f" + j.world + " §7═══");
+        lines.add("§7Status: " + (j.paused ? "§ePAUSIERT" : "§aLÄUFT"));
+        lines.add("§7Bereich: §f" + j.minCX + "," + j.minCZ + " §7→ §f" + j.maxCX + "," + j.maxCZ + " §7(Chunks)");
+        lines.add("§7Fortschritt: §f" + done + "/" + j.totalChunks + " §7(" + String.format("%.1f", percent) + "%)");
+        lines.add("§7Konvertiert: §a" + j.converted.get() + " §7Übersprungen: §f" + j.skipped.get() + " §7Fehler: §c" + j.errors.get());
+        lines.add("§7Durchsatz: §f" + String.format("%.1f", rate) + " §7Chunks/s");
+        if (rate > 0 && !j.paused) {
+            lines.add("§7Restzeit: §f~" + formatDuration((long) (remaining / rate)));
+        }
+        return lines;
+    }
+
+    // ===================== Crawler ======================
+
+    private void startTicking() {
+        if (tickTask != null) tickTask.cancel();
+        final long[] ticks = {0};
+        tickTask = scheduler.runGlobalTaskTimer(() -> {
+            Job j = job;
+            if (j == null) return;
+            ticks[0]++;
+
+            if (!j.paused) {
+                dispatch(j);
+            }
+
+            int checkpointTicks = Math.max(20, plugin.getSettings().prewarmCheckpointSeconds * 20);
+            if (ticks[0] % checkpointTicks == 0) {
+                saveCheckpointAsync(j);
+            }
+            if (!j.paused && ticks[0] % 600 == 0) {
+                plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.prewarm.progress",
+                        j.world, j.doneChunks(), j.totalChunks, String.format("%.1f", j.chunksPerSecond())));
+            }
+        }, 1L, 1L);
+    }
+
+    /**
+     * Gibt pro Tick so viele Chunks in Auftrag, wie ins Zeitbudget passen
+     * (gemessene Durchschnittszeit pro Konvertierung), begrenzt durch maxInFlight
+     */
+    private void dispatch(Job j) {
+        World world = Bukkit.getWorld(j.world);
+        if (world == null) return;
+
+        if (j.spiral.index >= j.spiralLength) {
+            if (j.inFlight.isEmpty()) finish(j);
+            return;
+        }
+
+        double msBudget = plugin.getSettings().prewarmMsPerTick;
+        int maxPerTick = plugin.getSettings().prewarmMaxPerTick;
+        int maxInFlight = plugin.getSettings().prewarmMaxInFlight;
+
+        int perTick = (int) Math.max(1, Math.min(maxPerTick, (msBudget * 1000.0) / Math.max(1.0, j.avgMicros)));
+        int slots = Math.min(perTick, maxInFlight - j.inFlight.size());
+        int scan = MAX_SCAN_PER_TICK;
+
+        while (slots > 0 && scan-- > 0 && j.spiral.index < j.spiralLength) {
+            int cx = j.centerCX + j.spiral.x;
+            int cz = j.centerCZ + j.spiral.z;
+            long index = j.spiral.index;
+            j.spiral.next();
+
+            if (!j.contains(cx, cz)) continue;
+            slots--;
+            j.inFlight.add(index);
+
+            // Asynchron laden OHNE Generierung (null = Chunk existiert noch nicht)
+            world.getChunkAtAsync(cx, cz, false).whenComplete((chunk, error) -> {
+                Outcome outcome = Outcome.ERROR;
+                try {
+                    if (error != null) {
+                        plugin.debug("Prewarm: Fehler beim Laden von Chunk " + cx + "," + cz + ": " + error.getMessage());
+                    } else if (chunk == null || job != j) {
+                        outcome = Outcome.SKIPPED;
+                    } else {
+                        outcome = convert(j, world, chunk);
+                    }
+                } finally {
+                    j.complete(index, outcome);
+                }
+            });
+        }
+    }
+
+    /**
+     * Konvertiert einen geladenen Chunk und gibt ihn danach zum Entladen frei
+     * Läuft auf dem Region-Thread des Chunks (Callback von getChunkAtAsync)
+     *
+     * @return CONVERTED nur bei echter Umwandlung, SKIPPED wenn der Chunk schon winterlich war
+     */
+    private Outcome convert(Job j, World world, Chunk chunk) {
+        long t0 = System.nanoTime();
+        Outcome outcome;
+        try {
+            outcome = plugin.getBiomeSnowManager().ensureSnow(chunk) ? Outcome.CONVERTED : Outcome.SKIPPED;
+        } catch (Exception e) {
+            outcome = Outcome.ERROR;
+            plugin.debug("Prewarm: Fehler bei Chunk " + chunk.getX() + "," + chunk.getZ() + ": " + e.getMessage());
+        }
+        long micros = (System.nanoTime() - t0) / 1000L;
+        j.avgMicros = j.avgMicros * 0.9 + micros * 0.1;
+
+        // Entladen anfordern (greift nur, wenn kein Spieler/Ticket den Chunk hält)
+        try {
+            world.unloadChunkRequest(chunk.getX(), chunk.getZ());
+        } catch (Throwable ignored) {
+            // Nicht auf allen Plattformen unterstützt - Chunk entlädt dann regulär
+        }
+        return outcome;
+    }
+
+    private void finish(Job j) {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        job = null;
+        deleteCheckpoint();
+
+        long seconds = Math.max(1, j.activeMillisNow() / 1000);
+        plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.prewarm.complete",
+                j.world, j.converted.get(), j.skipped.get(), j.errors.get(),
+                formatDuration(seconds), String.format("%.1f", j.chunksPerSecond())));
+    }
+
+    // ===================== Checkpoint ======================
+
+    private Map<String, String> toState(Job j) {
+        // Zähler passend zum Cursor: Chunks ab dem Cursor werden nach einem Neustart erneut
+        // verarbeitet und dürfen nicht schon im Checkpoint gezählt sein
+        long cursor, converted, skipped, errors;
+        synchronized (j) {
+            cursor = j.committedIndex();
+            j.completedAhead.headMap(cursor).clear();
+            converted = j.converted.get();
+            skipped = j.skipped.get();
+            errors = j.errors.get();
+            for (Outcome outcome : j.completedAhead.values()) {
+                switch (outcome) {
+                    case CONVERTED -> converted--;
+                    case SKIPPED -> skipped--;
+                    default -> errors--;
+                }
+            }
+        }
+
+        Map<String, String> state = new HashMap<>();
+        state.put("world", j.world);
+        state.put("minCX", String.valueOf(j.minCX));
+        state.put("minCZ", String.valueOf(j.minCZ));
+        state.put("maxCX", String.valueOf(j.maxCX));
+        state.put("maxCZ", String.valueOf(j.maxCZ));
+        state.put("startedAt", String.valueOf(j.startedAt));
+        state.put("cursor", String.valueOf(cursor));
+        state.put("converted", String.valueOf(converted));
+        state.put("skipped", String.valueOf(skipped));
+        state.put("errors", String.valueOf(errors));
+        state.put("activeMillis", String.valueOf(j.activeMillisNow()));
+        state.put("paused", String.valueOf(j.paused));
+        return state;
+    }
+
+    private void saveCheckpoint(Job j) {
+        BiomeSnapshotDatabase db = plugin.getBiomeSnowManager().getDatabase();
+        if (db == null) return;
+        Map<String, String> state = toState(j);
+        try {
+            synchronized (checkpointLock) {
+                db.saveJobState(JOB_NAME, state);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.prewarm.checkpoint-error", e.getMessage()));
+        }
+    }
+
+    private void saveCheckpointAsync(Job j) {
+        // Zustand auf dem aktuellen Thread einfrieren, nur das Schreiben läuft async
+        Map<String, String> state = toState(j);
+        BiomeSnapshotDatabase db = plugin.getBiomeSnowManager().getDatabase();
+        if (db == null) return;
+        scheduler.runAsync(() -> {
+            try {
+                synchronized (checkpointLock) {
+                    // Unter dem Lock prüfen: cancel()/finish() löschen erst danach bzw. wir sehen job == null
+                    if (job != j) return; // Inzwischen abgebrochen/fertig
+                    db.saveJobState(JOB_NAME, state);
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.prewarm.checkpoint-error", e.getMessage()));
+            }
+        });
+    }
+
+    private void deleteCheckpoint() {
+        BiomeSnapshotDatabase db = plugin.getBiomeSnowManager().getDatabase();
+        if (db == null) return;
+        try {
+            synchronized (checkpointLock) {
+                db.deleteJobState(JOB_NAME);
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.prewarm.checkpoint-error", e.getMessage()));
+        }
+    }
+
+    private static String formatDuration(long seconds) {
+        if (seconds < 60) return seconds + "s";
+        if (seconds < 3600) return (seconds / 60) + "m " + (seconds % 60) + "s";
+        return (seconds / 3600) + "h " + ((seconds % 3600) / 60) + "m";
+    }
+}
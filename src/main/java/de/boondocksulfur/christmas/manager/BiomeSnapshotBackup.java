@@ -43,7 +43,7 @@ public class BiomeSnapshotBackup {
         this.plugin = plugin;
 
         // Backup-Verzeichnis: world/christmas_backups/ (außerhalb plugins/!)
-        String worldName = plugin.getConfig().getString("snowWorld", "world");
+        String worldName = plugin.getSettings().snowWorld;
         org.bukkit.World world = Bukkit.getWorld(worldName);
         File worldFolder = world != null ? world.getWorldFolder() : new File(worldName);
         this.backupDir = new File(worldFolder, "christmas_backups");
@@ -315,7 +315,7 @@ public class BiomeSnapshotBackup {
                 backupFile.getName(), sizeKB));
 
             // Datenbank wieder öffnen
-            if (plugin.isActive() && plugin.getConfig().getBoolean("biome.enableSnapshot", true)) {
+            if (plugin.isActive() && plugin.getSettings().enableSnapshot) {
                 plugin.getBiomeSnowManager().stop(false); // Ohne DB zu schließen
                 plugin.getBiomeSnowManager().start();
                 plugin.getLogger().info(plugin.getLanguageManager().get("log.backup.database-reopened"));
@@ -82,29 +82,93 @@ public class BiomeSnapshotDatabase {
 
             // Index für schnelle Abfragen
             stmt.execute("CREATE INDEX IF NOT EXISTS idx_timestamp ON chunks(timestamp)");
+
+            // Fehlerliste des Restore-Jobs (Chunks bleiben im Snapshot für den nächsten Durchlauf)
+            stmt.execute("CREATE TABLE IF NOT EXISTS restore_errors (" +
+                         "world TEXT NOT NULL, " +
+                         "x INTEGER NOT NULL, " +
+                         "z INTEGER NOT NULL, " +
+                         "message TEXT, " +
+                         "timestamp INTEGER NOT NULL, " +
+                         "PRIMARY KEY (world, x, z))");
+
+            // Persistenter Zustand für langlaufende Jobs (Prewarm, Restore)
+            stmt.execute("CREATE TABLE IF NOT EXISTS jobs (" +
+                         "name TEXT PRIMARY KEY, " +
+                         "state TEXT NOT NULL, " +
+                         "updated INTEGER NOT NULL)");
+        }
+
+        // MIGRATION: Schnee/Eis-Journal pro Chunk (NULL = kein Journal → Restore scannt die Oberfläche)
+        // MIGRATION: Umwandlungs-Zustand pro Chunk (Hash aus Zielbiom + Y-Bereich, NULL = unbekannt)
+        boolean hasWinterColumn = false;
+        boolean hasStateColumn = false;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA table_info(chunks)")) {
+            while (rs.next()) {
+                if ("winter".equalsIgnoreCase(rs.getString("name"))) hasWinterColumn = true;
+                if ("state".equalsIgnoreCase(rs.getString("name"))) hasStateColumn = true;
+            }
+        }
+        if (!hasWinterColumn) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("ALTER TABLE chunks ADD COLUMN winter BLOB");
+            }
+        }
+        if (!hasStateColumn) {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("ALTER TABLE chunks ADD COLUMN state INTEGER");
+            }
         }
     }
 
     /**
      * Speichert einen 3D Chunk-Snapshot (komprimiert)
      * Format: [Magic 0x3D] [yLayers] [yStart] [yStep] [biomes...]
+     * Startet ein leeres Schnee/Eis-Journal (Chunk wird ab jetzt exakt verfolgt).
+     */
+    public void saveChunk3D(String world, int x, int z, Biome[][][] biomes3D, int yStart, int yStep) throws SQLException {
+        saveChunk3D(world, x, z, biomes3D, yStart, yStep, false);
+    }
+
+    /**
+     * Speichert einen 3D Chunk-Snapshot (komprimiert)
+     *
+     * @param sparse true = nur belegte Zellen speichern (null = wird nicht geändert, Format 0x3F)
      */
     // FIX: synchronized auf allen DB-Methoden für Thread-Safety (Folia Region Threads)
-    public synchronized void saveChunk3D(String world, int x, int z, Biome[][][] biomes3D, int yStart, int yStep) throws SQLException {
+    public synchronized void saveChunk3D(String world, int x, int z, Biome[][][] biomes3D, int yStart, int yStep,
+                                         boolean sparse) throws SQLException {
         if (biomes3D == null || biomes3D.length == 0) {
             throw new IllegalArgumentException("biomes3D cannot be null or empty");
         }
 
         // Komprimiere 3D Biome-Daten
-        byte[] compressed = compressBiomes3D(biomes3D, yStart, yStep);
+        byte[] compressed = sparse ? compressSparse3D(biomes3D, yStart, yStep) : compressBiomes3D(biomes3D, yStart, yStep);
 
-        String sql = "INSERT OR REPLACE INTO chunks (world, x, z, biomes, timestamp) VALUES (?, ?, ?, ?, ?)";
+        String sql = "INSERT OR REPLACE INTO chunks (world, x, z, biomes, timestamp, winter) VALUES (?, ?, ?, ?, ?, ?)";
         try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, world);
             pstmt.setInt(2, x);
             pstmt.setInt(3, z);
             pstmt.setBytes(4, compressed);
             pstmt.setLong(5, System.currentTimeMillis());
+            pstmt.setBytes(6, new byte[0]);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * SPARSE: Ersetzt nur die Biome-Daten einer bestehenden Zeile (Journal und Zustand bleiben)
+     * Für nachgetragene Zellen, wenn ein anderes Zielbiom angewendet wird.
+     */
+    public synchronized void updateSparseChunk3D(String world, int x, int z, Biome[][][] biomes3D, int yStart, int yStep) throws SQLException {
+        String sql = "UPDATE chunks SET biomes = ? WHERE world = ? AND x = ? AND z = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setBytes(1, compressSparse3D(biomes3D, yStart, yStep));
+            pstmt.setString(2, world);
+            pstmt.setInt(3, x);
+            pstmt.setInt(4, z);
             pstmt.executeUpdate();
         }
     }
@@ -113,18 +177,25 @@ public class BiomeSnapshotDatabase {
      * Container für 3D Biome-Snapshot-Daten
      */
     public static class BiomeSnapshot3D {
-        public final Biome[][][] biomes; // [y_layer][x][z]
+        public final Biome[][][] biomes; // [y_layer][x][z], bei sparse null = nie geändert
         public final int yStart;
         public final int yStep;
+        public final boolean sparse;
 
         public BiomeSnapshot3D(Biome[][][] biomes, int yStart, int yStep) {
+            this(biomes, yStart, yStep, false);
+        }
+
+        public BiomeSnapshot3D(Biome[][][] biomes, int yStart, int yStep, boolean sparse) {
             this.biomes = biomes;
             this.yStart = yStart;
             this.yStep = yStep;
+            this.sparse = sparse;
         }
 
         /**
          * Hole Biom für spezifische Y-Koordinate
+         * null = außerhalb des Snapshots oder (sparse) Zelle wurde nicht geändert
          */
         public Biome getBiomeAtY(int x, int z, int y) {
             int layerIndex = (y - yStart) / yStep;
@@ -190,6 +261,290 @@ public class BiomeSnapshotDatabase {
         }
     }
 
+    /**
+     * Zeile aus der chunks-Tabelle inkl. rowid (für Cursor-basiertes Paging)
+     */
+    public static class ChunkRow {
+        public final long rowId;
+        public final String world;
+        public final int x;
+        public final int z;
+
+        public ChunkRow(long rowId, String world, int x, int z) {
+            this.rowId = rowId;
+            this.world = world;
+            this.x = x;
+            this.z = z;
+        }
+    }
+
+    /**
+     * Zeile inkl. komprimierter Biome-Daten (Dekodierung erfolgt außerhalb des DB-Locks)
+     */
+    public static class ChunkBlob {
+        public final ChunkRow row;
+        public final byte[] data;
+        public final byte[] winter; // Schnee/Eis-Journal, null = kein Journal
+
+        public ChunkBlob(ChunkRow row, byte[] data, byte[] winter) {
+            this.row = row;
+            this.data = data;
+            this.winter = winter;
+        }
+    }
+
+    /**
+     * Liest die nächste Seite Chunks inkl. Biome-Daten nach rowid sortiert
+     * Stabiler Cursor: Gelöschte Zeilen verschieben die Reihenfolge nicht.
+     *
+     * @param afterRowId Nur Zeilen mit rowid > afterRowId
+     * @param limit Maximale Anzahl Zeilen
+     */
+    public synchronized java.util.List<ChunkBlob> getChunkPageWithData(long afterRowId, int limit) throws SQLException {
+        String sql = "SELECT rowid, world, x, z, biomes, winter FROM chunks WHERE rowid > ? ORDER BY rowid LIMIT ?";
+        java.util.List<ChunkBlob> result = new java.util.ArrayList<>();
+
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setLong(1, afterRowId);
+            pstmt.setInt(2, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ChunkRow row = new ChunkRow(rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getInt(4));
+                    result.add(new ChunkBlob(row, rs.getBytes(5), rs.getBytes(6)));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Lädt einen einzelnen Chunk inkl. rowid und Rohdaten (Lazy-Restore beim Chunk-Load)
+     *
+     * @return ChunkBlob oder null wenn der Chunk nicht (mehr) im Snapshot ist
+     */
+    public synchronized ChunkBlob getChunkWithData(String world, int x, int z) throws SQLException {
+        String sql = "SELECT rowid, biomes, winter FROM chunks WHERE world = ? AND x = ? AND z = ?";
+
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, world);
+            pstmt.setInt(2, x);
+            pstmt.setInt(3, z);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return new ChunkBlob(new ChunkRow(rs.getLong(1), world, x, z), rs.getBytes(2), rs.getBytes(3));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lädt die Umwandlungs-Zustände aller Snapshot-Chunks in einem Rechteck (eine Region)
+     *
+     * @return gepackte Chunk-Koordinaten → Zustand (0 = Snapshot ohne Zustand)
+     */
+    public synchronized java.util.Map<Long, Integer> loadChunkStates(String world, int minX, int minZ, int maxX, int maxZ) throws SQLException {
+        String sql = "SELECT x, z, state FROM chunks WHERE world = ? AND x BETWEEN ? AND ? AND z BETWEEN ? AND ?";
+        java.util.Map<Long, Integer> result = new java.util.HashMap<>();
+
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, world);
+            pstmt.setInt(2, minX);
+            pstmt.setInt(3, maxX);
+            pstmt.setInt(4, minZ);
+            pstmt.setInt(5, maxZ);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    result.put(WinterBlockJournal.packChunk(rs.getInt(1), rs.getInt(2)), rs.getInt(3));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Speichert Umwandlungs-Zustände (ein Transaktions-Batch)
+     * Chunks ohne Snapshot-Zeile werden ignoriert.
+     */
+    public synchronized void saveChunkStates(String world, java.util.Map<Long, Integer> states) throws SQLException {
+        if (states.isEmpty()) return;
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement update = connection.prepareStatement("UPDATE chunks SET state = ? WHERE world = ? AND x = ? AND z = ?")) {
+            for (java.util.Map.Entry<Long, Integer> e : states.entrySet()) {
+                update.setInt(1, e.getValue());
+                update.setString(2, world);
+                update.setInt(3, (int) (e.getKey() >> 32));
+                update.setInt(4, (int) (long) e.getKey());
+                update.addBatch();
+            }
+            update.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Dekodiert komprimierte 3D-Biome-Daten (thread-safe, ohne DB-Zugriff)
+     */
+    public BiomeSnapshot3D decodeSnapshot3D(byte[] compressed) {
+        return decompressBiomes3D(compressed);
+    }
+
+    /**
+     * Dekodiert ein Schnee/Eis-Journal (thread-safe, ohne DB-Zugriff)
+     *
+     * @return gepackte Positionen, oder null wenn der Chunk kein Journal hat
+     */
+    public static int[] decodeWinterJournal(byte[] data) {
+        if (data == null) return null;
+        java.nio.ByteBuffer buf = java.nio.ByteBuffer.wrap(data);
+        int[] positions = new int[data.length / 4];
+        for (int i = 0; i < positions.length; i++) positions[i] = buf.getInt();
+        return positions;
+    }
+
+    private static byte[] encodeWinterJournal(java.util.Collection<Integer> positions) {
+        java.nio.ByteBuffer buf = java.nio.ByteBuffer.allocate(positions.size() * 4);
+        for (int pos : positions) buf.putInt(pos);
+        return buf.array();
+    }
+
+    /**
+     * Führt neue Schnee/Eis-Positionen mit dem gespeicherten Journal zusammen (EINE Transaktion)
+     * Chunks ohne Journal (Snapshot vor Einführung des Journals) bleiben unverändert.
+     *
+     * @param world Welt
+     * @param deltas gepackte Chunk-Koordinate → neue gepackte Block-Positionen
+     */
+    public synchronized void mergeWinterJournal(String world, java.util.Map<Long, java.util.Set<Integer>> deltas) throws SQLException {
+        if (deltas.isEmpty()) return;
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement select = connection.prepareStatement("SELECT winter FROM chunks WHERE world = ? AND x = ? AND z = ?");
+             PreparedStatement update = connection.prepareStatement("UPDATE chunks SET winter = ? WHERE world = ? AND x = ? AND z = ?")) {
+            for (java.util.Map.Entry<Long, java.util.Set<Integer>> e : deltas.entrySet()) {
+                int x = (int) (e.getKey() >> 32);
+                int z = (int) (long) e.getKey();
+                select.setString(1, world);
+                select.setInt(2, x);
+                select.setInt(3, z);
+                byte[] current;
+                try (ResultSet rs = select.executeQuery()) {
+                    if (!rs.next()) continue;          // Kein Snapshot → nichts zurückzusetzen
+                    current = rs.getBytes(1);
+                }
+                if (current == null) continue;         // Kein Journal → Restore scannt ohnehin die Oberfläche
+
+                java.util.Set<Integer> merged = new java.util.TreeSet<>(e.getValue());
+                for (int pos : decodeWinterJournal(current)) merged.add(pos);
+                update.setBytes(1, encodeWinterJournal(merged));
+                update.setString(2, world);
+                update.setInt(3, x);
+                update.setInt(4, z);
+                update.addBatch();
+            }
+            update.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Verwirft alle Journale (nach einem Absturz fehlen evtl. Einträge → Restore scannt wieder die Oberfläche)
+     */
+    public synchronized void invalidateWinterJournals() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("UPDATE chunks SET winter = NULL WHERE winter IS NOT NULL");
+        }
+    }
+
+    /**
+     * Schreibt ein Restore-Ergebnis-Paket in EINER Transaktion:
+     * erfolgreiche Zeilen löschen, Fehler vermerken, Job-Cursor speichern
+     */
+    public synchronized void commitRestoreBatch(java.util.List<ChunkRow> restored, java.util.Map<ChunkRow, String> failed,
+                                                String jobName, java.util.Map<String, String> jobState) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            if (!restored.isEmpty()) {
+                try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM chunks WHERE rowid = ?")) {
+                    for (ChunkRow row : restored) {
+                        pstmt.setLong(1, row.rowId);
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                }
+            }
+            for (java.util.Map.Entry<ChunkRow, String> e : failed.entrySet()) {
+                recordRestoreError(e.getKey().world, e.getKey().x, e.getKey().z, e.getValue());
+            }
+            saveJobState(jobName, jobState);
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Anzahl Chunks mit rowid > afterRowId (Restfortschritt nach Resume)
+     */
+    public synchronized int getChunkCountAfter(long afterRowId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM chunks WHERE rowid > ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setLong(1, afterRowId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Vermerkt einen fehlgeschlagenen Chunk in der Restore-Fehlerliste
+     */
+    public synchronized void recordRestoreError(String world, int x, int z, String message) throws SQLException {
+        String sql = "INSERT OR REPLACE INTO restore_errors (world, x, z, message, timestamp) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, world);
+            pstmt.setInt(2, x);
+            pstmt.setInt(3, z);
+            pstmt.setString(4, message);
+            pstmt.setLong(5, System.currentTimeMillis());
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Anzahl Einträge in der Restore-Fehlerliste
+     */
+    public synchronized int getRestoreErrorCount() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM restore_errors")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Leert die Restore-Fehlerliste (Start eines neuen Restore-Jobs)
+     */
+    public synchronized void clearRestoreErrors() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM restore_errors");
+        }
+    }
+
     /**
      * Gibt die Anzahl gespeicherter Chunks zurück
      */
@@ -206,6 +561,83 @@ public class BiomeSnapshotDatabase {
         return 0;
     }
 
+    /**
+     * MULTI-WORLD: Gespeicherte Chunks pro Welt (nutzt den Primärschlüssel-Index)
+     */
+    public synchronized java.util.Map<String, Integer> getChunkCountsByWorld() throws SQLException {
+        java.util.Map<String, Integer> counts = new java.util.LinkedHashMap<>();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT world, COUNT(*) FROM chunks GROUP BY world ORDER BY world")) {
+            while (rs.next()) {
+                counts.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        return counts;
+    }
+
+    // ===================== Job-Zustand ======================
+
+    /**
+     * Speichert den Zustand eines Jobs (Checkpoint) als Key/Value-Liste
+     * Überschreibt einen vorhandenen Zustand gleichen Namens.
+     */
+    public synchronized void saveJobState(String name, java.util.Map<String, String> state) throws SQLException {
+        java.util.Properties props = new java.util.Properties();
+        props.putAll(state);
+        java.io.StringWriter writer = new java.io.StringWriter();
+        try {
+            props.store(writer, null);
+        } catch (java.io.IOException e) {
+            throw new SQLException("Could not serialize job state", e);
+        }
+
+        String sql = "INSERT OR REPLACE INTO jobs (name, state, updated) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, name);
+            pstmt.setString(2, writer.toString());
+            pstmt.setLong(3, System.currentTimeMillis());
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Lädt den Zustand eines Jobs
+     *
+     * @return Key/Value-Map oder null wenn kein Checkpoint existiert
+     */
+    public synchronized java.util.Map<String, String> loadJobState(String name) throws SQLException {
+        String sql = "SELECT state FROM jobs WHERE name = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, name);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) return null;
+
+                java.util.Properties props = new java.util.Properties();
+                try {
+                    props.load(new java.io.StringReader(rs.getString("state")));
+                } catch (java.io.IOException e) {
+                    throw new SQLException("Could not parse job state", e);
+                }
+                java.util.Map<String, String> result = new java.util.HashMap<>();
+                for (String key : props.stringPropertyNames()) {
+                    result.put(key, props.getProperty(key));
+                }
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Löscht den Zustand eines Jobs (nach Abschluss oder Abbruch)
+     */
+    public synchronized void deleteJobState(String name) throws SQLException {
+        String sql = "DELETE FROM jobs WHERE name = ?";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, name);
+            pstmt.executeUpdate();
+        }
+    }
+
     /**
      * Gibt die Datenbankgröße in Bytes zurück
      */
@@ -221,6 +653,7 @@ public class BiomeSnapshotDatabase {
 
         try (Statement stmt = connection.createStatement()) {
             stmt.execute(sql);
+            stmt.execute("DELETE FROM restore_errors");
         }
 
         // Vacuum um Speicherplatz freizugeben
@@ -398,9 +831,114 @@ public class BiomeSnapshotDatabase {
         }
     }
 
+    /**
+     * SPARSE: Komprimiert nur die Zellen, die tatsächlich umgeschrieben werden (GZIP)
+     * Format: [0x3F magic] [yLayers 2B] [yStart 2B] [yStep 1B]
+     *         [Palette: Anzahl 1B, je Name Länge 1B + Bytes]
+     *         [Bitmap: yLayers × 256 Bit, Reihenfolge y → x → z] [Palette-Index 1B pro gesetztem Bit]
+     * Größe und Restore-Schreibzugriffe skalieren mit der Änderung, nicht mit dem Chunk-Volumen.
+     */
+    private byte[] compressSparse3D(Biome[][][] biomes3D, int yStart, int yStep) {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+             GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+
+            int yLayers = biomes3D.length;
+            byte[] bitmap = new byte[yLayers * 32];
+            ByteArrayOutputStream values = new ByteArrayOutputStream();
+            java.util.Map<Biome, Integer> palette = new java.util.LinkedHashMap<>();
+
+            for (int y = 0; y < yLayers; y++) {
+                for (int x = 0; x < 16; x++) {
+                    for (int z = 0; z < 16; z++) {
+                        Biome biome = biomes3D[y][x][z];
+                        if (biome == null) continue;
+
+                        Integer index = palette.get(biome);
+                        if (index == null) {
+                            if (palette.size() == 255) {
+                                throw new IllegalStateException("Sparse snapshot palette overflow");
+                            }
+                            index = palette.size();
+                            palette.put(biome, index);
+                        }
+                        int bit = (y << 8) | (x << 4) | z;
+                        bitmap[bit >> 3] |= (byte) (1 << (bit & 7));
+                        values.write(index);
+                    }
+                }
+            }
+
+            gzip.write(0x3F); // "3F" = 3D sparse mit Palette
+
+            gzip.write((yLayers >> 8) & 0xFF);
+            gzip.write(yLayers & 0xFF);
+
+            short yStartShort = (short) yStart;
+            gzip.write((yStartShort >> 8) & 0xFF);
+            gzip.write(yStartShort & 0xFF);
+
+            gzip.write(yStep & 0xFF);
+
+            gzip.write(palette.size());
+            for (Biome biome : palette.keySet()) {
+                byte[] nameBytes = biome.getKey().getKey().getBytes(java.nio.charset.StandardCharsets.UTF_8);
+                gzip.write(nameBytes.length);
+                gzip.write(nameBytes);
+            }
+
+            gzip.write(bitmap);
+            values.writeTo(gzip);
+
+            gzip.finish();
+            return baos.toByteArray();
+
+        } catch (Exception e) {
+            plugin.getLogger().severe(plugin.getLanguageManager().getMessage("log.database.error-compressing-3d", e.getMessage()));
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * SPARSE: Liest Palette, Bitmap und Werte eines 0x3F-Snapshots (Header bereits gelesen)
+     */
+    private Biome[][][] readSparse3D(java.io.DataInputStream in, int yLayers) throws java.io.IOException {
+        int paletteSize = in.readUnsignedByte();
+        Biome[] palette = new Biome[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            int nameLength = in.readUnsignedByte();
+            if (nameLength == 0 || nameLength > 50) {
+                plugin.getLogger().severe(plugin.getLanguageManager().get("log.database.stream-misalignment-3d"));
+                throw new RuntimeException("Database corruption detected - invalid sparse palette entry");
+            }
+            byte[] nameBytes = new byte[nameLength];
+            in.readFully(nameBytes);
+            String biomeName = new String(nameBytes, java.nio.charset.StandardCharsets.UTF_8);
+            Biome biome = org.bukkit.Registry.BIOME.get(org.bukkit.NamespacedKey.minecraft(biomeName.toLowerCase()));
+            if (biome == null) {
+                plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.database.unknown-3d-biome", biomeName));
+                biome = Biome.PLAINS;
+            }
+            palette[i] = biome;
+        }
+
+        byte[] bitmap = new byte[yLayers * 32];
+        in.readFully(bitmap);
+
+        Biome[][][] biomes = new Biome[yLayers][16][16];
+        for (int bit = 0; bit < yLayers * 256; bit++) {
+            if ((bitmap[bit >> 3] & (1 << (bit & 7))) == 0) continue;
+            int index = in.readUnsignedByte();
+            if (index >= paletteSize) {
+                throw new RuntimeException("Database corruption detected - sparse palette index " + index + " >= " + paletteSize);
+            }
+            biomes[bit >> 8][(bit >> 4) & 15][bit & 15] = palette[index];
+        }
+        return biomes;
+    }
+
     /**
      * Dekomprimiert 3D Biome-Array (GZIP)
-     * Unterstützt beide Formate: 0x3D (alt, ordinal) und 0x3E (neu, Namen)
+     * Unterstützt alle Formate: 0x3D (alt, ordinal), 0x3E (Namen) und 0x3F (sparse)
      */
     private BiomeSnapshot3D decompressBiomes3D(byte[] compressed) {
         try (ByteArrayInputStream bais = new ByteArrayInputStream(compressed);
@@ -408,9 +946,9 @@ public class BiomeSnapshotDatabase {
 
             // Magic byte prüfen
             int magic = gzip.read();
-            if (magic != 0x3D && magic != 0x3E) {
+            if (magic != 0x3D && magic != 0x3E && magic != 0x3F) {
                 plugin.getLogger().severe(plugin.getLanguageManager().getMessage("log.database.invalid-3d-format", magic));
-                throw new RuntimeException("Invalid 3D biome format - expected 0x3D or 0x3E, got " + magic);
+                throw new RuntimeException("Invalid 3D biome format - expected 0x3D, 0x3E or 0x3F, got " + magic);
             }
 
             boolean isNameBased = (magic == 0x3E);
@@ -430,6 +968,11 @@ public class BiomeSnapshotDatabase {
             short yStartShort = (short) ((yStartHi << 8) | yStartLo);
             int yStart = yStartShort;
 
+            if (magic == 0x3F) {
+                // SPARSE: nur geänderte Zellen (EOFException → Korruption, wird unten gemeldet)
+                return new BiomeSnapshot3D(readSparse3D(new java.io.DataInputStream(gzip), yLayers), yStart, yStep, true);
+            }
+
             plugin.debug("3D-Snapshot: yLayers=" + yLayers + ", yStart=" + yStart + ", yStep=" + yStep + ", format=" + (isNameBased ? "Namen" : "Ordinals"));
 
             // Biome-Daten lesen
@@ -2,6 +2,7 @@ package de.boondocksulfur.christmas.manager;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.World;
 import org.bukkit.block.Biome;
 import org.bukkit.Material;
@@ -9,12 +10,16 @@ import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import com.tcoded.folialib.wrapper.task.WrappedTask;
 import de.boondocksulfur.christmas.ChristmasSeason;
+import de.boondocksulfur.christmas.util.AsyncChunkLoader;
+import de.boondocksulfur.christmas.util.BiomeClassifier;
 import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
+import de.boondocksulfur.christmas.util.PlayerSpatialIndex;
+import de.boondocksulfur.christmas.util.SeedBiomeOracle;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -33,11 +38,14 @@ public class BiomeSnowManager {
 
     private final ChristmasSeason plugin;
     private final FoliaSchedulerHelper scheduler;
+    private final AsyncChunkLoader chunkLoader;
     private BiomeSnapshotDatabase db;
 
     public BiomeSnowManager(ChristmasSeason plugin) {
         this.plugin = plugin;
         this.scheduler = new FoliaSchedulerHelper(plugin);
+        this.chunkLoader = new AsyncChunkLoader(plugin);
+        this.chunkStates = new ChunkStateCache(scheduler);
     }
 
     // ---------- Scheduler ----------
@@ -46,13 +54,16 @@ public class BiomeSnowManager {
     // PAPER/SPIGOT/PURPUR: Globaler Timer (wie v1.4.1 - bewährte Performance!)
     private final Map<java.util.UUID, WrappedTask> playerBubbleTasks = new ConcurrentHashMap<>();
     private WrappedTask globalBubbleTask; // Für Paper/Spigot/Purpur
+    private WrappedTask loadQueueTask;    // Chunk-Load-Warteschlange (alle Plattformen)
 
     // RESTORE GUARD: Prevents multiple parallel restore tasks (thread-safe)
     private WrappedTask activeRestoreTask = null;
     private final AtomicBoolean isRestoring = new AtomicBoolean(false);
 
-    // PERFORMANCE FIX: Chunk-Queue für verteilte Verarbeitung (verhindert TPS-Spikes)
-    private final java.util.Queue<ChunkCoords> chunkProcessQueue = new java.util.concurrent.ConcurrentLinkedQueue<>();
+    // PERFORMANCE FIX: Chunk-Queues für verteilte Verarbeitung (verhindert TPS-Spikes)
+    // MULTI-WORLD: Queues liegen pro Welt im SeasonWorld-Kontext (Bubble-Queue + Prefetch-Queue)
+    private static final int MAX_PREFETCH_QUEUE = 512;
+    private int fairShareOffset; // Rotierender Start der Rest-Budget-Verteilung (nur globaler Timer)
 
     private static class ChunkCoords {
         final World world;
@@ -76,24 +87,45 @@ public class BiomeSnowManager {
     private final java.util.Map<ChunkKey, Integer> chunkRetryCount = new java.util.concurrent.ConcurrentHashMap<>();
     private static final int MAX_CHUNK_RETRIES = 3; // Nach 3 Versuchen aufgeben
 
-    // ---------- Seed-Ref ----------
-    private World refWorld;
+    // ---------- Seed-Orakel (Original-Biome ohne Referenzwelt) ----------
+    private final Map<String, SeedBiomeOracle> seedOracles = new ConcurrentHashMap<>();
+    private java.util.concurrent.ThreadPoolExecutor seedWorkers;
+
+    // ---------- Winter-Journal (Schnee/Eis-Positionen für exakten Restore) ----------
+    private final WinterBlockJournal winterJournal = new WinterBlockJournal();
+    private WrappedTask journalFlushTask;
+
+    // ---------- Umwandlungs-Zustand (überlebt Neustarts, Spalte 'state' der Snapshot-DB) ----------
+    private final ChunkStateCache chunkStates;
+    private WrappedTask stateFlushTask;
+    private static final long STATE_FLUSH_TICKS = 200; // 10 Sekunden
 
     // ===================== Lifecycle ======================
     public void start() {
         stop();
         if (!plugin.isActive()) return;
-        if (!plugin.getConfig().getBoolean("biome.enabled", true)) return;
+        if (!plugin.getSettings().biomeEnabled) return;
 
         plugin.debug("BiomeSnowManager.start() - Starte System...");
 
         // SQLite-Datenbank öffnen
-        if (plugin.getConfig().getBoolean("biome.enableSnapshot", true)) {
+        if (plugin.getSettings().enableSnapshot) {
             db = new BiomeSnapshotDatabase(plugin);
             try {
                 db.open();
                 plugin.getLogger().info(plugin.getLanguageManager().get("log.biome.database-ready"));
                 plugin.debug("Datenbank geöffnet: " + db.getDatabaseSize() + " bytes, " + db.getChunkCount() + " chunks");
+
+                // Neue Saison: Ein liegengebliebener Restore-Job ist ungültig (Zeilen bleiben erhalten,
+                // das nächste /xmas off verarbeitet sie in einem frischen Durchlauf)
+                if (db.loadJobState(RESTORE_JOB) != null) {
+                    db.deleteJobState(RESTORE_JOB);
+                    plugin.debug("Veralteten Restore-Job verworfen");
+                }
+
+                openWinterJournal(db);
+                startJournalFlushTask();
+                startStateFlushTask();
             } catch (SQLException e) {
                 plugin.getLogger().severe(plugin.getLanguageManager().getMessage("log.biome.error-opening-database", e.getMessage()));
                 plugin.getLogger().severe(plugin.getLanguageManager().get("log.biome.snapshot-system-disabled"));
@@ -115,6 +147,7 @@ public class BiomeSnowManager {
             startGlobalBubbleTask();
             plugin.debug("BiomeSnowManager bereit (Paper: Globaler Timer)");
         }
+        startLoadQueueTask();
     }
 
     public void stop() {
@@ -131,6 +164,10 @@ public class BiomeSnowManager {
             globalBubbleTask.cancel();
             globalBubbleTask = null;
         }
+        if (loadQueueTask != null) {
+            loadQueueTask.cancel();
+            loadQueueTask = null;
+        }
 
         // Stoppe Player-basierte Tasks (Folia)
         for (WrappedTask task : playerBubbleTasks.values()) {
@@ -138,11 +175,26 @@ public class BiomeSnowManager {
         }
         playerBubbleTasks.clear();
 
-        chunkProcessQueue.clear(); // Queue leeren
+        plugin.getSeasonWorlds().clearQueues(); // Queues aller Welten leeren
         processedChunks.clear(); // Cache leeren
         knownSnapshotChunks.clear(); // PERFORMANCE FIX: DB-Lookup-Cache leeren
+        chunkStates.clear(); // Nach Stop/Restore aus der DB neu laden
         chunkRetryCount.clear(); // RETRY MECHANISM: Retry-Counter leeren
 
+        // JOURNAL: Gesammelte Schnee/Eis-Positionen sichern (Restore braucht sie vollständig)
+        if (journalFlushTask != null) {
+            journalFlushTask.cancel();
+            journalFlushTask = null;
+        }
+        if (stateFlushTask != null) {
+            stateFlushTask.cancel();
+            stateFlushTask = null;
+        }
+        if (db != null) {
+            closeWinterJournal(db, closeDatabase);
+            flushChunkStates(db);
+        }
+
         // Datenbank nur schließen wenn gewünscht
         if (closeDatabase && db != null) {
             db.printStats(); // Statistiken ausgeben
@@ -153,7 +205,7 @@ public class BiomeSnowManager {
             plugin.debug("Datenbank bleibt offen für Restore");
         }
 
-        unloadRefWorld();
+        shutdownSeedOracles();
     }
 
     // ===================== Public Controls ======================
@@ -163,36 +215,128 @@ public class BiomeSnowManager {
      * PERFORMANCE-OPTIMIERT: Queue-System verhindert TPS-Spikes bei schneller Bewegung
      */
     private void startGlobalBubbleTask() {
-        if (!plugin.getConfig().getBoolean("biome.playerBubble.enabled", true)) return;
+        if (!plugin.getSettings().bubbleEnabled) return;
 
-        int period = Math.max(5, plugin.getConfig().getInt("biome.playerBubble.tickIntervalTicks", 40));
+        int period = plugin.getSettings().bubbleTickIntervalTicks;
 
         globalBubbleTask = scheduler.runGlobalTaskTimer(() -> {
-            String snowWorld = plugin.getConfig().getString("snowWorld", "world");
-            World w = Bukkit.getWorld(snowWorld);
-            if (w == null) return;
-
-            // PHASE 1: Sammle alle zu verarbeitenden Chunks in Queue
-            for (Player p : w.getPlayers()) {
-                if (p.isOnline() && p.isValid()) {
-                    queueChunksAroundPlayer(p, w);
+            int budget = plugin.getSettings().bubblePerTickBudget;
+
+            // PHASE 1: Sammle pro Welt alle zu verarbeitenden Chunks in deren Queue
+            // PERFORMANCE: Spieler aus gemeinsamem Index (bereits auf online/valid gefiltert)
+            List<SeasonWorld> worlds = plugin.getSeasonWorlds().all();
+            World[] loaded = new World[worlds.size()];
+            for (int i = 0; i < loaded.length; i++) {
+                SeasonWorld ctx = worlds.get(i);
+                World w = ctx.getWorld();
+                if (w == null) continue;
+                loaded[i] = w;
+                for (PlayerSpatialIndex.Entry p : plugin.getPlayerIndex().getPlayers(w)) {
+                    queueChunksAroundPlayer(p, w, ctx);
+                    // PREFETCH: Chunks vor schnellen Spielern (Elytra/Boot) vormerken
+                    for (ChunkCoords c : collectPrefetchChunks(p, w, period, budget)) {
+                        if (ctx.prefetchQueue.size() >= MAX_PREFETCH_QUEUE) break;
+                        long packed = WinterBlockJournal.packChunk(c.x, c.z);
+                        if (ctx.prefetchPending.add(packed)) {
+                            ctx.prefetchQueue.offer(packed);
+                        }
+                    }
                 }
             }
 
-            // PHASE 2: Verarbeite Budget aus Queue (verhindert TPS-Spikes!)
-            int budget = Math.max(1, plugin.getConfig().getInt("biome.playerBubble.perTickBudget", 6));
-            processChunksFromQueue(w, budget);
+            // PHASE 2: Budget fair auf die Welten verteilen (verhindert TPS-Spikes!)
+            processWorldQueues(worlds, loaded, budget);
 
         }, 40L, period);
     }
 
+    /**
+     * CHUNK-LOAD: Merkt einen frisch geladenen Chunk zur Konvertierung vor (statt inline im Event)
+     * Login/Teleport laden dutzende Chunks im selben Tick - die Warteschlange verteilt sie
+     * budgetiert; Chunks, die innerhalb der Grace-Zeit wieder entladen werden, kosten nichts.
+     */
+    public void enqueueChunkLoad(Chunk chunk) {
+        if (!plugin.isActive()) return;
+        SeasonWorld ctx = plugin.getSeasonWorlds().get(chunk.getWorld());
+        if (ctx == null) return;
+        if (processedChunks.contains(new ChunkKey(ctx.getName(), chunk.getX(), chunk.getZ()))) return;
+
+        long packed = WinterBlockJournal.packChunk(chunk.getX(), chunk.getZ());
+        long due = System.currentTimeMillis() + plugin.getSettings().chunkLoadGraceTicks * 50L;
+        // Bereits vorgemerkt → frühere Fälligkeit behalten (gehört zum vorhandenen Queue-Eintrag)
+        if (ctx.loadDue.putIfAbsent(packed, due) == null) {
+            ctx.loadQueue.offer(new SeasonWorld.LoadEntry(packed, due));
+        }
+    }
+
+    /** CHUNK-LOAD: Chunk wurde entladen, bevor er an der Reihe war → Eintrag verwerfen */
+    public void cancelChunkLoad(Chunk chunk) {
+        SeasonWorld ctx = plugin.getSeasonWorlds().get(chunk.getWorld());
+        if (ctx == null) return;
+        ctx.loadDue.remove(WinterBlockJournal.packChunk(chunk.getX(), chunk.getZ()));
+    }
+
+    /**
+     * CHUNK-LOAD: Arbeitet die Warteschlangen aller Welten budgetiert ab
+     * Bubble-Chunks haben Vorrang (bereits verarbeitete Chunks werden übersprungen),
+     * Welten kommen reihum dran, damit ein Teleport in Welt A Welt B nicht blockiert.
+     */
+    private void startLoadQueueTask() {
+        int period = plugin.getSettings().chunkLoadIntervalTicks;
+        loadQueueTask = scheduler.runGlobalTaskTimer(() -> {
+            List<SeasonWorld> worlds = plugin.getSeasonWorlds().all();
+            int budget = plugin.getSettings().chunkLoadPerRun;
+            long now = System.currentTimeMillis();
+
+            boolean progress = true;
+            while (budget > 0 && progress) {
+                progress = false;
+                for (SeasonWorld ctx : worlds) {
+                    if (budget <= 0) break;
+                    Long packed = pollDueChunk(ctx, now);
+                    if (packed == null) continue;
+                    progress = true;
+
+                    World w = ctx.getWorld();
+                    int chunkX = (int) (packed >> 32);
+                    int chunkZ = (int) (long) packed;
+                    if (w == null || processedChunks.contains(new ChunkKey(ctx.getName(), chunkX, chunkZ))) continue;
+                    budget--;
+
+                    if (scheduler.isFolia()) {
+                        // FOLIA: Chunk gehört einer Region → gebündelt auf deren Thread
+                        scheduler.runInChunk(w, chunkX, chunkZ, () -> {
+                            if (w.isChunkLoaded(chunkX, chunkZ)) processChunkAt(w, chunkX, chunkZ);
+                        });
+                    } else if (w.isChunkLoaded(chunkX, chunkZ)) {
+                        processChunkAt(w, chunkX, chunkZ);
+                    }
+                }
+            }
+        }, period, period);
+    }
+
+    /** Nächster fälliger, nicht abgebrochener Chunk (null = nichts fällig) */
+    private Long pollDueChunk(SeasonWorld ctx, long now) {
+        while (true) {
+            SeasonWorld.LoadEntry entry = ctx.loadQueue.peek();
+            if (entry == null) return null;
+            // Fälligkeit des Eintrags selbst: ein neu geladener Chunk blockiert mit seiner
+            // späteren Fälligkeit nicht die fälligen Chunks dahinter
+            if (entry.due() > now) return null; // FIFO: alle folgenden sind später fällig
+            ctx.loadQueue.poll();
+            if (ctx.loadDue.remove(entry.chunk(), entry.due())) return entry.chunk();
+            // Abgebrochen (entladen) oder veraltet (neu geladen, eigener Eintrag folgt) → überspringen
+        }
+    }
+
     /**
      * Startet Biome-Tracking für einen Spieler (Entity Scheduler)
      * NUR FÜR FOLIA! Auf Paper/Spigot/Purpur nutzen wir den globalen Timer
      */
     public void startPlayerTracking(org.bukkit.entity.Player player) {
         if (!plugin.isActive()) return;
-        if (!plugin.getConfig().getBoolean("biome.playerBubble.enabled", true)) return;
+        if (!plugin.getSettings().bubbleEnabled) return;
 
         // Auf Paper/Spigot/Purpur läuft der globale Timer - nichts zu tun
         if (!scheduler.isFolia()) return;
@@ -204,7 +348,7 @@ public class BiomeSnowManager {
         if (oldTask != null) oldTask.cancel();
 
         // Starte neuen Task auf Entity Scheduler
-        int period = Math.max(5, plugin.getConfig().getInt("biome.playerBubble.tickIntervalTicks", 40));
+        int period = plugin.getSettings().bubbleTickIntervalTicks;
         WrappedTask task = scheduler.runForEntityTimer(player, () -> {
             if (!player.isOnline() || !player.isValid()) {
                 stopPlayerTracking(player);
@@ -233,29 +377,286 @@ public class BiomeSnowManager {
     /**
      * Stellt sicher, dass ein Chunk winterlich ist
      * FOLIA-KOMPATIBEL: Muss auf Location/Region Scheduler aufgerufen werden!
+     *
+     * @return true wenn der Chunk in diesem Aufruf umgewandelt wurde (false = schon erledigt/inaktiv)
      */
-    public void ensureSnow(Chunk c) {
-        if (!plugin.isActive()) return;
+    public boolean ensureSnow(Chunk c) {
+        if (!plugin.isActive()) return false;
 
         World w = c.getWorld();
-        processChunkAt(w, c.getX(), c.getZ());
+        return processChunkAt(w, c.getX(), c.getZ());
+    }
+
+    /**
+     * Seed-Restore für alle geladenen Chunks der Saison-Welten (/xmas biome restore)
+     * Die Biome werden parallel auf dem Worker-Pool berechnet, nur das Zurückschreiben
+     * läuft auf den Region-Threads - es wird keine Referenzwelt erstellt.
+     *
+     * @return Future mit der Anzahl geänderter Chunks
+     */
+    public CompletableFuture<Integer> restoreSeedForLoaded() {
+        List<CompletableFuture<Boolean>> jobs = new ArrayList<>();
+        for (SeasonWorld ctx : plugin.getSeasonWorlds().all()) {
+            World w = ctx.getWorld();
+            if (w == null) continue;
+            SeedBiomeOracle oracle = seedOracle(w);
+            if (oracle == null) {
+                plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.seed-oracle-unavailable", w.getName()));
+                continue;
+            }
+
+            for (Chunk c : w.getLoadedChunks()) {
+                int chunkX = c.getX(), chunkZ = c.getZ();
+                jobs.add(oracle.chunkBiomes(chunkX, chunkZ).thenCompose(grid -> {
+                    CompletableFuture<Boolean> applied = new CompletableFuture<>();
+                    scheduler.runInChunk(w, chunkX, chunkZ, () -> {
+                        try {
+                            applied.complete(w.isChunkLoaded(chunkX, chunkZ)
+                                    && applySeedBiomes(w, chunkX, chunkZ, oracle, grid));
+                        } catch (Throwable t) {
+                            applied.completeExceptionally(t);
+                        }
+                    });
+                    return applied;
+                }).exceptionally(error -> {
+                    plugin.debug("Seed-Restore fehlgeschlagen für Chunk " + chunkX + "," + chunkZ + ": " + error.getMessage());
+                    return false;
+                }));
+            }
+        }
+
+        return CompletableFuture.allOf(jobs.toArray(new CompletableFuture[0]))
+                .thenApply(v -> (int) jobs.stream().filter(CompletableFuture::join).count());
     }
 
-    /** Seed-Restore für alle geladenen Chunks (entspricht /xmas biome restore) */
-    public int restoreSeedForLoaded() {
-        World target = Bukkit.getWorld(plugin.getConfig().getString("snowWorld", "world"));
-        if (target == null) return 0;
-        World ref = getOrCreateRefWorld();
-        int changed = 0;
-        for (Chunk c : target.getLoadedChunks()) {
-            if (!c.isLoaded()) continue;
-            if (restoreChunkFromRef(target, ref, c)) changed++;
+    /** Seed-Orakel einer Welt (lazy, einmal pro Welt) */
+    private SeedBiomeOracle seedOracle(World w) {
+        SeedBiomeOracle oracle = seedOracles.get(w.getName());
+        if (oracle != null) return oracle;
+        oracle = SeedBiomeOracle.create(w, seedWorkers(), getVerticalStep(), plugin.getSettings().seedOracleCacheChunks);
+        if (oracle != null) seedOracles.put(w.getName(), oracle);
+        return oracle;
+    }
+
+    /**
+     * Worker-Pool für die Seed-Auswertung
+     * Daemon-Threads mit Timeout: im Leerlauf hält der Pool keine Threads.
+     */
+    private synchronized java.util.concurrent.Executor seedWorkers() {
+        if (seedWorkers == null || seedWorkers.isShutdown()) {
+            int threads = plugin.getSettings().seedOracleThreads;
+            if (threads <= 0) threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+            AtomicInteger counter = new AtomicInteger();
+            seedWorkers = new java.util.concurrent.ThreadPoolExecutor(threads, threads, 30, java.util.concurrent.TimeUnit.SECONDS,
+                    new java.util.concurrent.LinkedBlockingQueue<>(), r -> {
+                        Thread t = new Thread(r, "ChristmasSeason-SeedOracle-" + counter.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+            seedWorkers.allowCoreThreadTimeOut(true);
+        }
+        return seedWorkers;
+    }
+
+    private synchronized void shutdownSeedOracles() {
+        if (seedWorkers != null) {
+            seedWorkers.shutdownNow();
+            seedWorkers = null;
+        }
+        // Verworfene Aufgaben vervollständigen nie → offene Futures mit Fehler abschließen,
+        // damit ein laufendes /xmas biome restore fertig wird und berichtet
+        IllegalStateException stopped = new IllegalStateException("Seed-Orakel gestoppt");
+        for (SeedBiomeOracle oracle : seedOracles.values()) {
+            oracle.cancelPending(stopped);
+        }
+        seedOracles.clear();
+    }
+
+    // CRASH-SAFE RESTORE: Job-Zustand (Cursor, Zähler, Startzeit) liegt in der Snapshot-DB
+    private static final String RESTORE_JOB = "restore";
+    private static final int RESTORE_PAGE_SIZE = 256;
+    private volatile RestoreJob currentRestoreJob;
+
+    // LAZY RESTORE: Noch offene Snapshot-Chunks (Welt → gepackte Chunk-Koordinaten)
+    // Ein ChunkLoadEvent "beansprucht" seinen Eintrag, der Sweeper überspringt beanspruchte Chunks.
+    private final Map<String, Set<Long>> lazyPendingChunks = new ConcurrentHashMap<>();
+
+    /**
+     * Laufender Restore-Job
+     * Cursor = höchste rowid, bis zu der ALLE Zeilen abgearbeitet sind.
+     * Zeilen werden beim Lesen in 'pending' eingetragen und erst nach Abschluss
+     * (Erfolg oder Fehler) entfernt - ein Crash verliert also nie Zeilen.
+     * LAZY: Sweeper und ChunkLoadEvent können dieselbe Zeile halten → 'pending' zählt
+     * die Halter, die Zeile bleibt offen, bis der letzte sein Ergebnis committet hat.
+     */
+    private static final class RestoreJob {
+        final long total;
+        final long startedAt;
+        final int perTick;
+        final boolean lazy;                                  // true = Restore beim Chunk-Load + Sweeper
+        final AtomicInteger onLoadFetching = new AtomicInteger(); // Lazy: Snapshot wird gerade gelesen
+        final Set<String> onLoadClaims = ConcurrentHashMap.newKeySet(); // Lazy: beansprucht, Zeile noch nicht gehalten
+        final AtomicInteger processed = new AtomicInteger();
+        final AtomicInteger restored = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        final java.util.concurrent.ConcurrentSkipListMap<Long, Integer> pending = new java.util.concurrent.ConcurrentSkipListMap<>();
+        volatile long fetchedUpTo;
+
+        // PIPELINE: Reader (async) → ready → Apply (Region-Thread) → outcomes → Deleter (async)
+        final java.util.concurrent.ArrayBlockingQueue<RestoreItem> ready;
+        final java.util.concurrent.ConcurrentLinkedQueue<RestoreOutcome> outcomes = new java.util.concurrent.ConcurrentLinkedQueue<>();
+        final AtomicBoolean readerBusy = new AtomicBoolean(false);
+        final AtomicBoolean deleterBusy = new AtomicBoolean(false);
+        final AtomicInteger loading = new AtomicInteger();  // Chunks im async Load/Apply
+        final int maxInFlight;
+        volatile boolean exhausted;
+        volatile boolean finished;
+        WrappedTask readerTask;
+        WrappedTask deleterTask;
+        WrappedTask dispatchTask;
+
+        // Für ETA: Fortschritt seit Start dieser Sitzung (nicht seit Job-Start)
+        final long sessionStart = System.currentTimeMillis();
+        final int processedAtSessionStart;
+
+        RestoreJob(long total, long startedAt, int perTick, boolean lazy, int bufferSize, int maxInFlight,
+                   long cursor, int processed, int restored, int errors) {
+            this.total = total;
+            this.startedAt = startedAt;
+            this.perTick = perTick;
+            this.lazy = lazy;
+            this.maxInFlight = Math.max(perTick, maxInFlight);
+            this.ready = new java.util.concurrent.ArrayBlockingQueue<>(Math.max(perTick, bufferSize));
+            this.fetchedUpTo = cursor;
+            this.processed.set(processed);
+            this.restored.set(restored);
+            this.errors.set(errors);
+            this.processedAtSessionStart = processed;
+        }
+
+        /** Zeile als offen markieren (ein Halter mehr) */
+        void hold(long rowId) {
+            pending.merge(rowId, 1, Integer::sum);
+        }
+
+        /** Ergebnis eines Halters committet - offen bleibt die Zeile, solange andere sie noch halten */
+        void release(long rowId) {
+            pending.computeIfPresent(rowId, (k, holders) -> holders > 1 ? holders - 1 : null);
+        }
+
+        long committedCursor() {
+            Map.Entry<Long, Integer> first = pending.firstEntry();
+            return first != null ? first.getKey() - 1 : fetchedUpTo;
+        }
+
+        Map<String, String> toState() {
+            Map<String, String> state = new HashMap<>();
+            state.put("cursor", String.valueOf(committedCursor()));
+            state.put("total", String.valueOf(total));
+            state.put("restored", String.valueOf(restored.get()));
+            state.put("errors", String.valueOf(errors.get()));
+            state.put("startedAt", String.valueOf(startedAt));
+            state.put("perTick", String.valueOf(perTick));
+            state.put("mode", lazy ? "lazy" : "eager");
+            return state;
+        }
+
+        /** Geschätzte Restzeit in Sekunden, -1 wenn noch keine Rate bekannt */
+        long etaSeconds() {
+            long elapsed = System.currentTimeMillis() - sessionStart;
+            int done = processed.get() - processedAtSessionStart;
+            if (elapsed < 1000 || done <= 0) return -1;
+            double perMs = done / (double) elapsed;
+            return (long) (Math.max(0, total - processed.get()) / perMs / 1000.0);
+        }
+    }
+
+    /** Dekodierter Snapshot, bereit zum Anwenden */
+    private static final class RestoreItem {
+        final BiomeSnapshotDatabase.ChunkRow row;
+        final BiomeSnapshotDatabase.BiomeSnapshot3D snapshot; // null = Dekodierfehler
+        final int[] journal;                                   // null = kein Journal → Oberflächen-Scan
+        final String error;
+
+        RestoreItem(BiomeSnapshotDatabase.ChunkRow row, BiomeSnapshotDatabase.BiomeSnapshot3D snapshot, int[] journal, String error) {
+            this.row = row;
+            this.snapshot = snapshot;
+            this.journal = journal;
+            this.error = error;
+        }
+    }
+
+    /** Ergebnis eines angewendeten Chunks (error == null → erfolgreich, Zeile wird gelöscht) */
+    private static final class RestoreOutcome {
+        final BiomeSnapshotDatabase.ChunkRow row;
+        final String error;
+        final boolean duplicate; // Lazy: Chunk wurde bereits per ChunkLoadEvent restauriert
+
+        RestoreOutcome(BiomeSnapshotDatabase.ChunkRow row, String error) {
+            this(row, error, false);
+        }
+
+        RestoreOutcome(BiomeSnapshotDatabase.ChunkRow row, String error, boolean duplicate) {
+            this.row = row;
+            this.error = error;
+            this.duplicate = duplicate;
+        }
+    }
+
+    /**
+     * Setzt einen unterbrochenen Restore fort (Server-Crash/Neustart während /xmas off)
+     * Wird beim Plugin-Start aufgerufen, wenn das Event NICHT aktiv ist.
+     */
+    public void resumeInterruptedRestore() {
+        if (!plugin.getSettings().enableSnapshot) return;
+        if (!new java.io.File(plugin.getDataFolder(), "biome-snapshot.db").exists()) return;
+
+        boolean openedHere = false;
+        if (db == null) {
+            db = new BiomeSnapshotDatabase(plugin);
+            try {
+                db.open();
+                openedHere = true;
+                openWinterJournal(db);
+            } catch (SQLException e) {
+                plugin.getLogger().severe(plugin.getLanguageManager().getMessage("log.biome.error-opening-database", e.getMessage()));
+                db = null;
+                return;
+            }
+        }
+
+        try {
+            Map<String, String> state = db.loadJobState(RESTORE_JOB);
+            if (state != null) {
+                int perTick = Integer.parseInt(state.getOrDefault("perTick",
+                        String.valueOf(plugin.getSettings().restorePerTick)));
+                restoreALLAsync(perTick, "lazy".equals(state.get("mode")));
+                return;
+            }
+        } catch (SQLException | RuntimeException e) {
+            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.restore-job-error", e.getMessage()));
+        }
+
+        // Kein unterbrochener Restore - DB wieder schließen
+        if (openedHere) {
+            db.close();
+            db = null;
         }
-        return changed;
     }
 
     /** Snapshot vollständig und asynchron zurückspielen (für /xmas off) */
     public void restoreALLAsync(int perTick) {
+        restoreALLAsync(perTick, false);
+    }
+
+    /**
+     * Snapshot zurückspielen
+     *
+     * @param perTick Chunks pro Tick (eager) bzw. pro Sweeper-Lauf (lazy)
+     * @param lazy true = Chunks werden beim natürlichen Laden restauriert, ein Sweeper
+     *             arbeitet den Rest gedrosselt über Stunden/Tage ab
+     */
+    public void restoreALLAsync(int perTick, boolean lazy) {
         // GUARD: Prevent multiple parallel restore tasks! (AtomicBoolean for thread-safety)
         if (!isRestoring.compareAndSet(false, true)) {
             plugin.getLogger().warning("§c§lRestore is already running!");
@@ -281,226 +682,123 @@ public class BiomeSnowManager {
         plugin.debug("Leere Caches vor Restore...");
         processedChunks.clear();
         knownSnapshotChunks.clear();
-        chunkProcessQueue.clear();
+        chunkStates.clear();
+        plugin.getSeasonWorlds().clearQueues();
         chunkRetryCount.clear();
 
         try {
-            int totalChunks = db.getChunkCount();
-            plugin.getLogger().info(plugin.getLanguageManager().get("log.biome.restore-start-header"));
-            plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.chunks-in-database", totalChunks));
-
-            if (totalChunks == 0) {
-                plugin.getLogger().warning(plugin.getLanguageManager().get("log.biome.snapshot-empty"));
-                plugin.getLogger().warning(plugin.getLanguageManager().get("log.biome.snapshot-timing-question"));
-                plugin.getLogger().info(plugin.getLanguageManager().get("log.biome.separator-line"));
-                // FIX: Reset guard variables on empty snapshot (otherwise permanently blocked!)
-                isRestoring.set(false);
-                activeRestoreTask = null;
-                return;
+            final RestoreJob job;
+            Map<String, String> saved = db.loadJobState(RESTORE_JOB);
+
+            if (saved != null) {
+                // RESUME: Unterbrochenen Job ab Cursor fortsetzen
+                long cursor = Long.parseLong(saved.get("cursor"));
+                long total = Long.parseLong(saved.get("total"));
+                int remaining = db.getChunkCountAfter(cursor);
+                int done = (int) Math.max(0, total - remaining);
+                // Modus des gespeicherten Jobs gewinnt (ein Lazy-Job bleibt lazy)
+                lazy = "lazy".equals(saved.get("mode"));
+                job = new RestoreJob(total, Long.parseLong(saved.get("startedAt")), Math.max(1, perTick), lazy, getRestoreBufferSize(),
+                        plugin.getSettings().restoreMaxInFlight, cursor, done,
+                        Integer.parseInt(saved.getOrDefault("restored", "0")), Integer.parseInt(saved.getOrDefault("errors", "0")));
+
+                plugin.getLogger().info(plugin.getLanguageManager().get("log.biome.restore-start-header"));
+                plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.restore-resumed",
+                        done, total, new java.util.Date(job.startedAt)));
+            } else {
+                int totalChunks = db.getChunkCount();
+                plugin.getLogger().info(plugin.getLanguageManager().get("log.biome.restore-start-header"));
+                plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.chunks-in-database", totalChunks));
+
+                if (totalChunks == 0) {
+                    plugin.getLogger().warning(plugin.getLanguageManager().get("log.biome.snapshot-empty"));
+                    plugin.getLogger().warning(plugin.getLanguageManager().get("log.biome.snapshot-timing-question"));
+                    plugin.getLogger().info(plugin.getLanguageManager().get("log.biome.separator-line"));
+                    // FIX: Reset guard variables on empty snapshot (otherwise permanently blocked!)
+                    isRestoring.set(false);
+                    activeRestoreTask = null;
+                    return;
+                }
+
+                job = new RestoreJob(totalChunks, System.currentTimeMillis(), Math.max(1, perTick), lazy, getRestoreBufferSize(),
+                        plugin.getSettings().restoreMaxInFlight, 0L, 0, 0, 0);
+                db.clearRestoreErrors();
+                db.saveJobState(RESTORE_JOB, job.toState());
+                plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.starting-restore", totalChunks));
+            }
+            final int sweepInterval = plugin.getSettings().lazySweepIntervalTicks;
+            if (job.lazy) {
+                plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.restore-lazy-started",
+                        job.perTick, sweepInterval));
+            } else {
+                plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.budget", job.perTick + " Chunks/Tick"));
+            }
+            currentRestoreJob = job;
+
+            final BiomeSnapshotDatabase database = db;
+
+            // JOURNAL: Einmal schreiben und einfrieren, BEVOR der Reader Journale vorausliest.
+            // Neue Positionen bleiben danach im Speicher und werden beim Anwenden entnommen.
+            if (isJournalEnabled()) {
+                try {
+                    winterJournal.freeze(database);
+                } catch (SQLException e) {
+                    plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.journal-error", e.getMessage()));
+                }
             }
 
-            // Alle Chunk-Koordinaten aus der Datenbank abrufen
-            List<BiomeSnapshotDatabase.ChunkCoords> allChunks = db.getAllChunkCoordinates();
-            plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.starting-restore", totalChunks));
-            plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.budget", Math.max(1, perTick) + " Chunks/Tick"));
-            long startTime = System.currentTimeMillis();
+            // LAZY: Index der offenen Chunks async aufbauen, danach greift der ChunkLoadEvent-Pfad
+            if (job.lazy) {
+                lazyPendingChunks.clear();
+                scheduler.runAsync(() -> loadLazyIndex(job, database));
+            }
 
-            final int budget = Math.max(1, perTick);
-            final int[] processed = {0};
-            // FIX: AtomicInteger statt int[] für thread-safe Zugriff aus Location Scheduler Tasks
-            final AtomicInteger restored = new AtomicInteger(0);
-            final AtomicInteger errors = new AtomicInteger(0);
+            // STAGE 1 + 3: Reader und Deleter laufen asynchron (gesamte DB-I/O)
+            job.readerTask = scheduler.runAsyncTimer(() -> runRestoreReader(job, database), 1L, 1L);
+            job.deleterTask = scheduler.runAsyncTimer(() -> runRestoreDeleter(job, database), 10L, 10L);
 
+            // STAGE 2: Global-Tick verteilt nur fertig dekodierte Chunks an die Regionen (keine I/O!)
+            final long[] ticks = {0};
             final WrappedTask[] restoreTask = new WrappedTask[1];
             restoreTask[0] = scheduler.runGlobalTaskTimer(() -> {
                 try {
                     // Store task reference for guard check
                     activeRestoreTask = restoreTask[0];
-
-                    // PERFORMANCE FIX: Sammle bis zu 'budget' Chunks und verarbeite sie als Batch
-                    List<BiomeSnapshotDatabase.ChunkCoords> batchChunks = new java.util.ArrayList<>();
-                    List<BiomeSnapshotDatabase.BiomeSnapshot3D> batchSnapshots = new java.util.ArrayList<>();
-
-                    // Sammle Batch
-                    while (batchChunks.size() < budget && processed[0] < allChunks.size()) {
-                        BiomeSnapshotDatabase.ChunkCoords coords = allChunks.get(processed[0]);
-                        processed[0]++;
-
-                        try {
-                            // Hole World
-                            World world = Bukkit.getWorld(coords.world);
-                            if (world == null) {
-                                plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.world-not-found", coords.world));
-                                errors.incrementAndGet();
-                                continue;
-                            }
-
-                            // Lade 3D Biome-Daten aus Datenbank
-                            BiomeSnapshotDatabase.BiomeSnapshot3D snapshot = db.loadChunk3D(coords.world, coords.x, coords.z);
-                            if (snapshot == null) {
-                                plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.chunk-data-not-in-db", coords.x, coords.z));
-                                errors.incrementAndGet();
+                    ticks[0]++;
+
+                    // PERFORMANCE FIX: Bis zu 'budget' Chunks pro Tick verteilen
+                    // LAZY: Sweeper läuft nur alle 'sweepInterval' Ticks mit niedriger Priorität
+                    if (!job.lazy || ticks[0] % sweepInterval == 0) {
+                        int dispatched = 0;
+                        RestoreItem item;
+                        while (dispatched < job.perTick && job.loading.get() < job.maxInFlight
+                                && (item = job.ready.poll()) != null) {
+                            dispatched++;
+                            if (job.lazy && !claimLazyChunk(item.row.world, item.row.x, item.row.z)) {
+                                // Bereits per ChunkLoadEvent beansprucht - nur den Halter des Sweepers austragen,
+                                // die Zeile bleibt offen, bis der On-Load-Restore committet
+                                job.outcomes.add(new RestoreOutcome(item.row, null, true));
                                 continue;
                             }
-
-                            batchChunks.add(coords);
-                            batchSnapshots.add(snapshot);
-
-                        } catch (Exception chunkError) {
-                            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.chunk-error", coords.x, coords.z, chunkError.getMessage()));
-                            errors.incrementAndGet();
+                            dispatchRestoreChunk(job, item);
                         }
                     }
 
-                    // FOLIA FIX: Jeder Chunk muss auf seinem EIGENEN Location Scheduler laufen!
-                    // Batch-System funktioniert NICHT auf Folia (Cross-Region-Zugriff verboten)
-                    for (int i = 0; i < batchChunks.size(); i++) {
-                        BiomeSnapshotDatabase.ChunkCoords coords = batchChunks.get(i);
-                        BiomeSnapshotDatabase.BiomeSnapshot3D snapshot = batchSnapshots.get(i);
-
-                        World world = Bukkit.getWorld(coords.world);
-                        if (world != null) {
-                            final int chunkX = coords.x;
-                            final int chunkZ = coords.z;
-                            org.bukkit.Location schedulerLoc = new org.bukkit.Location(world,
-                                (chunkX << 4) + 8, 64, (chunkZ << 4) + 8);
-
-                            scheduler.runAtLocation(schedulerLoc, () -> {
-                                try {
-                                    World finalWorld = Bukkit.getWorld(coords.world);
-                                    if (finalWorld == null) {
-                                        plugin.getLogger().fine("Welt nicht gefunden beim Restore: " + coords.world);
-                                        errors.incrementAndGet();
-                                        return;
-                                    }
-
-                                    // ROBUSTNESS FIX: Sichere Chunk-Ladung mit aggressivem Loading
-                                    Chunk chunk = null;
-                                    try {
-                                        // FOLIA: getChunkAt() ist sicher wenn auf Location Scheduler
-                                        chunk = finalWorld.getChunkAt(chunkX, chunkZ);
-
-                                        // Falls nicht geladen: FORCE load (generate=false)
-                                        if (!chunk.isLoaded()) {
-                                            // loadChunk() ist synchron und blockiert bis Chunk geladen
-                                            boolean loaded = finalWorld.loadChunk(chunkX, chunkZ, true);
-                                            if (!loaded) {
-                                                plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.chunk-not-loaded-db", chunkX, chunkZ));
-                                                errors.incrementAndGet();
-                                                return;
-                                            }
-                                            chunk = finalWorld.getChunkAt(chunkX, chunkZ);
-                                        }
-
-                                        // Doppelcheck: Ist Chunk jetzt wirklich geladen?
-                                        if (chunk == null || !chunk.isLoaded()) {
-                                            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.chunk-not-loaded-db", chunkX, chunkZ));
-                                            errors.incrementAndGet();
-                                            return;
-                                        }
-                                    } catch (Exception e) {
-                                        plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.error-loading-chunk", chunkX, chunkZ, e.getMessage()));
-                                        errors.incrementAndGet();
-                                        return;
-                                    }
-
-                                    if (chunk != null && chunk.isLoaded()) {
-                                        boolean success = false;
-                                        try {
-                                            // Biomes wiederherstellen (3D!)
-                                            restoreChunkBiomes3D(finalWorld, chunk, snapshot);
-
-                                            // Schnee und Eis entfernen
-                                            removeWinterBlocks3D(finalWorld, chunk, snapshot);
-
-                                            // Chunk refreshen für Client-Update
-                                            refreshChunkSafe(finalWorld, chunk);
-
-                                            restored.incrementAndGet();
-                                            success = true;
-                                        } catch (Exception e) {
-                                            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.error-restoring-chunk", chunkX, chunkZ, e.getMessage()));
-                                            if (plugin.isDebugMode()) e.printStackTrace();
-                                            errors.incrementAndGet();
-                                        }
-
-                                        // CRITICAL FIX: Nur aus DB löschen wenn ERFOLGREICH restored!
-                                        // Sonst bleiben Chunk-Streifen permanent (werden nie wieder versucht)!
-                                        if (success) {
-                                            final BiomeSnapshotDatabase database = db;
-                                            if (database != null) {
-                                                try {
-                                                    database.deleteChunk(coords.world, chunkX, chunkZ);
-                                                } catch (SQLException e) {
-                                                    plugin.getLogger().fine(plugin.getLanguageManager().getMessage("log.database.delete-chunk-error", e.getMessage()));
-                                                }
-                                            }
-                                        } else {
-                                            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.chunk-not-restored", chunkX, chunkZ));
-                                        }
-                                    } else {
-                                        // Chunk konnte nicht geladen werden - bleibt in DB für nächsten Versuch
-                                        plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.chunk-not-loaded-db", chunkX, chunkZ));
-                                        errors.incrementAndGet();
-                                    }
-
-                                } catch (Exception e) {
-                                    plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.critical-restore-error", e.getMessage()));
-                                    if (plugin.isDebugMode()) e.printStackTrace();
-                                }
-                            });
-                        }
+                    // Fortschritt alle 5 Sekunden (Lazy: alle 5 Minuten, läuft ggf. tagelang)
+                    if (ticks[0] % (job.lazy ? 6000 : 100) == 0) {
+                        long eta = job.etaSeconds();
+                        plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.restore-progress-eta",
+                                job.processed.get(), job.total, job.restored.get(), job.errors.get(),
+                                eta < 0 ? "?" : formatDuration(eta)));
                     }
 
-                    // Fortschritt alle 50 Chunks loggen
-                    if (processed[0] % 50 == 0 && processed[0] < totalChunks) {
-                        plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.restore-progress",
-                                               processed[0], totalChunks, restored.get(), errors.get()));
-                    }
-
-                    if (processed[0] >= totalChunks) {
-                        long duration = System.currentTimeMillis() - startTime;
-                        plugin.getLogger().info(plugin.getLanguageManager().get("log.biome.restore-complete-header"));
-                        plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.processed", totalChunks));
-                        plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.restored-count", restored.get()));
-                        if (errors.get() > 0) {
-                            plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.error-count", errors.get()));
-                        }
-                        plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.duration", (duration / 1000.0)));
-                        plugin.getLogger().info(plugin.getLanguageManager().get("log.biome.separator-footer"));
-
-                        // WICHTIG: Leere ALLE Caches nach Restore!
-                        plugin.debug("Leere alle Caches nach Restore...");
-                        processedChunks.clear();
-                        knownSnapshotChunks.clear();
-                        chunkProcessQueue.clear();
-                        chunkRetryCount.clear();
-
-                        // CRITICAL FIX: Only clear database on error-free restore!
-                        // Otherwise failed chunks remain in DB for next attempt
-                        try {
-                            if (errors.get() == 0) {
-                                db.clearAll();
-                                plugin.getLogger().info("§a✓ Database cleared - all chunks successfully restored!");
-                                plugin.debug("Database cleared and closed after restore");
-                            } else {
-                                plugin.getLogger().warning("§e§l⚠ Warning: " + errors.get() + " errors during restore!");
-                                plugin.getLogger().warning("§eDatabase will NOT be cleared - failed chunks remain stored.");
-                                plugin.getLogger().warning("§eRun '/xmas off' again to restore the missing chunks.");
-                            }
-                            db.close();
-                            db = null;
-                        } catch (Exception e) {
-                            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.error-clearing-db", e.getMessage()));
-                        }
-
-                        // Cleanup: Cancel task and reset guard variables
-                        if (restoreTask[0] != null) {
-                            restoreTask[0].cancel();
-                        }
-                        activeRestoreTask = null;
-                        isRestoring.set(false);
-                        plugin.debug("Restore completed - guard variables reset");
+                    // Fertig erst, wenn alles gelesen, angewendet UND gelöscht ist
+                    // (Deleter-Flag nach pending prüfen: pending wird vor dem Commit geleert)
+                    if (job.exhausted && job.pending.isEmpty() && job.onLoadFetching.get() == 0
+                            && !job.deleterBusy.get() && !job.finished) {
+                        job.finished = true;
+                        if (restoreTask[0] != null) restoreTask[0].cancel();
+                        finishRestore(job, database);
                     }
                 } catch (Exception e) {
                     plugin.getLogger().severe(plugin.getLanguageManager().getMessage("log.biome.fatal-error", e.getMessage()));
@@ -508,14 +806,12 @@ public class BiomeSnowManager {
                     if (restoreTask[0] != null) {
                         restoreTask[0].cancel();
                     }
-                    // CRITICAL: Reset guard variables even on error!
-                    activeRestoreTask = null;
-                    isRestoring.set(false);
-                    plugin.debug("Restore aborted (error) - guard variables reset");
+                    abortRestore(job, database);
                 }
             }, 1L, 1L);
+            job.dispatchTask = restoreTask[0];
 
-        } catch (SQLException e) {
+        } catch (SQLException | RuntimeException e) {
             plugin.getLogger().severe(plugin.getLanguageManager().getMessage("log.biome.error-retrieving-data", e.getMessage()));
             e.printStackTrace();
             // CRITICAL: Reset guard variables even on database error!
@@ -524,6 +820,354 @@ public class BiomeSnowManager {
         }
     }
 
+    private int getRestoreBufferSize() {
+        return plugin.getSettings().restorePrefetchBuffer;
+    }
+
+    private static long packChunk(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /** Beansprucht einen offenen Lazy-Chunk (true = Aufrufer restauriert ihn) */
+    private boolean claimLazyChunk(String world, int x, int z) {
+        Set<Long> keys = lazyPendingChunks.get(world);
+        return keys == null || keys.remove(packChunk(x, z));
+    }
+
+    /**
+     * LAZY (async): Lädt alle noch offenen Snapshot-Chunks in den Index
+     */
+    private void loadLazyIndex(RestoreJob job, BiomeSnapshotDatabase database) {
+        try {
+            Map<String, Set<Long>> index = new HashMap<>();
+            for (BiomeSnapshotDatabase.ChunkCoords c : database.getAllChunkCoordinates()) {
+                index.computeIfAbsent(c.world, k -> ConcurrentHashMap.newKeySet()).add(packChunk(c.x, c.z));
+            }
+            if (currentRestoreJob != job || job.finished) return;
+            lazyPendingChunks.putAll(index);
+            plugin.debug("Lazy-Restore: " + index.values().stream().mapToInt(Set::size).sum() + " Chunks im Index");
+        } catch (SQLException e) {
+            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.error-retrieving-data", e.getMessage()));
+        }
+    }
+
+    /**
+     * LAZY: Restauriert einen Chunk, sobald er natürlich geladen wird (ChunkLoadEvent)
+     * Läuft auf dem Region-Thread des Chunks; DB-Zugriff erfolgt async.
+     */
+    public void restoreOnLoad(Chunk chunk) {
+        RestoreJob job = currentRestoreJob;
+        if (job == null || !job.lazy || job.finished) return;
+
+        String world = chunk.getWorld().getName();
+        Set<Long> keys = lazyPendingChunks.get(world);
+        if (keys == null || !keys.remove(packChunk(chunk.getX(), chunk.getZ()))) return;
+
+        final BiomeSnapshotDatabase database = db;
+        if (database == null) return;
+
+        int x = chunk.getX();
+        int z = chunk.getZ();
+        String claim = world + ":" + packChunk(x, z);
+        job.onLoadClaims.add(claim);
+        job.onLoadFetching.incrementAndGet();
+        scheduler.runAsync(() -> {
+            try {
+                BiomeSnapshotDatabase.ChunkBlob blob = database.getChunkWithData(world, x, z);
+                if (blob == null || job.finished) return; // Bereits vom Sweeper erledigt
+
+                // Wie beim Sweeper: erst pending, dann anwenden → Deleter trägt aus
+                // (eigener Halter: ein Duplikat-Ergebnis des Sweepers gibt die Zeile nicht frei)
+                job.hold(blob.row.rowId);
+                RestoreItem item;
+                try {
+                    item = new RestoreItem(blob.row, database.decodeSnapshot3D(blob.data), decodeJournal(blob), null);
+                } catch (RuntimeException e) {
+                    item = new RestoreItem(blob.row, null, null, e.getMessage());
+                }
+                dispatchRestoreChunk(job, item);
+            } catch (SQLException e) {
+                plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.error-retrieving-data", e.getMessage()));
+            } finally {
+                job.onLoadClaims.remove(claim);
+                job.onLoadFetching.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Beendet einen laufenden Lazy-Restore (z.B. bei /xmas on)
+     * Offene Zeilen bleiben in der DB und gelten als Snapshot der neuen Saison.
+     * Der letzte Deleter-Batch läuft synchron: danach folgen Backup und DB-Neustart.
+     *
+     * @return true wenn ein Lazy-Restore lief
+     */
+    public boolean cancelLazyRestore() {
+        RestoreJob job = currentRestoreJob;
+        if (job == null || !job.lazy) return false;
+
+        job.finished = true;
+        if (job.dispatchTask != null) job.dispatchTask.cancel();
+        if (job.readerTask != null) job.readerTask.cancel();
+        if (job.deleterTask != null) job.deleterTask.cancel();
+        if (db != null) {
+            // Laufenden Timer-Batch abwarten, dann bereits restaurierte Chunks synchron austragen
+            // (createSafeBackup() kopiert die DB-Datei, start() schließt die Verbindung)
+            while (job.deleterBusy.get()) Thread.onSpinWait();
+            runRestoreDeleter(job, db);
+        }
+        lazyPendingChunks.clear();
+        currentRestoreJob = null;
+        activeRestoreTask = null;
+        isRestoring.set(false);
+        plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.restore-lazy-cancelled",
+                Math.max(0, job.total - job.processed.get())));
+        return true;
+    }
+
+    /**
+     * STAGE 1 (async): Liest die nächste Seite inkl. Biome-Daten und dekodiert sie in den Puffer
+     * Die Puffergröße begrenzt den Vorlauf (Backpressure bei langsamem Apply).
+     */
+    private void runRestoreReader(RestoreJob job, BiomeSnapshotDatabase database) {
+        if (job.exhausted || job.finished) return;
+        if (!job.readerBusy.compareAndSet(false, true)) return;
+        try {
+            // Backpressure: erst nachlesen, wenn mindestens eine halbe Seite Platz ist
+            int free = job.ready.remainingCapacity();
+            int capacity = job.ready.size() + free;
+            if (free < Math.min(RESTORE_PAGE_SIZE, capacity) / 2) return;
+
+            List<BiomeSnapshotDatabase.ChunkBlob> page = database.getChunkPageWithData(job.fetchedUpTo, Math.min(free, RESTORE_PAGE_SIZE));
+            if (page.isEmpty()) {
+                job.exhausted = true;
+                if (job.readerTask != null) job.readerTask.cancel();
+                return;
+            }
+            long lastRowId = page.get(page.size() - 1).row.rowId;
+
+            // DISK-LOKALITÄT: Innerhalb der Seite nach Region-Datei sortieren
+            AsyncChunkLoader.sortByRegion(page, b -> b.row.x, b -> b.row.z);
+
+            for (BiomeSnapshotDatabase.ChunkBlob blob : page) {
+                // Erst als pending markieren, dann Cursor verschieben (Crash-Sicherheit!)
+                job.hold(blob.row.rowId);
+                RestoreItem item;
+                try {
+                    item = new RestoreItem(blob.row, database.decodeSnapshot3D(blob.data), decodeJournal(blob), null);
+                } catch (RuntimeException e) {
+                    plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.chunk-error", blob.row.x, blob.row.z, e.getMessage()));
+                    item = new RestoreItem(blob.row, null, null, e.getMessage());
+                }
+                job.ready.offer(item); // Platz ist garantiert (nur der Reader füllt die Queue)
+            }
+            job.fetchedUpTo = lastRowId;
+        } catch (SQLException e) {
+            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.error-retrieving-data", e.getMessage()));
+        } finally {
+            job.readerBusy.set(false);
+        }
+    }
+
+    /**
+     * STAGE 3 (async): Löscht erfolgreich restaurierte Zeilen, vermerkt Fehler und
+     * schreibt den Cursor - alles in EINER Transaktion
+     */
+    private void runRestoreDeleter(RestoreJob job, BiomeSnapshotDatabase database) {
+        if (!job.deleterBusy.compareAndSet(false, true)) return;
+        try {
+            List<RestoreOutcome> batch = new ArrayList<>();
+            List<RestoreOutcome> deferred = new ArrayList<>();
+            RestoreOutcome outcome;
+            while ((outcome = job.outcomes.poll()) != null) {
+                // LAZY: Duplikat erst austragen, wenn der On-Load-Pfad die Zeile selbst hält
+                if (outcome.duplicate && job.onLoadClaims.contains(outcome.row.world + ":" + packChunk(outcome.row.x, outcome.row.z))) {
+                    deferred.add(outcome);
+                } else {
+                    batch.add(outcome);
+                }
+            }
+            job.outcomes.addAll(deferred);
+            if (batch.isEmpty()) return;
+
+            List<BiomeSnapshotDatabase.ChunkRow> restoredRows = new ArrayList<>();
+            Map<BiomeSnapshotDatabase.ChunkRow, String> failedRows = new LinkedHashMap<>();
+            int duplicates = 0;
+            for (RestoreOutcome o : batch) {
+                if (o.duplicate) duplicates++;
+                else if (o.error == null) restoredRows.add(o.row);
+                else failedRows.put(o.row, o.error);
+            }
+
+            // Cursor so berechnen, als wären diese Zeilen bereits erledigt
+            for (RestoreOutcome o : batch) job.release(o.row.rowId);
+            try {
+                database.commitRestoreBatch(restoredRows, failedRows, RESTORE_JOB, job.toState());
+            } catch (SQLException e) {
+                // Transaktion zurückgerollt: Zeilen wieder als offen markieren und später erneut versuchen
+                for (RestoreOutcome o : batch) job.hold(o.row.rowId);
+                job.outcomes.addAll(batch);
+                plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.restore-job-error", e.getMessage()));
+                return;
+            }
+
+            job.restored.addAndGet(restoredRows.size());
+            job.errors.addAndGet(failedRows.size());
+            job.processed.addAndGet(batch.size() - duplicates);
+        } finally {
+            job.deleterBusy.set(false);
+        }
+    }
+
+    /**
+     * STAGE 2: Plant den Restore eines dekodierten Chunks auf dem Region-Thread
+     */
+    private void dispatchRestoreChunk(RestoreJob job, RestoreItem item) {
+        BiomeSnapshotDatabase.ChunkRow row = item.row;
+        if (item.snapshot == null) {
+            job.outcomes.add(new RestoreOutcome(row, item.error != null ? item.error : "no snapshot data"));
+            return;
+        }
+
+        World world = Bukkit.getWorld(row.world);
+        if (world == null) {
+            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.world-not-found", row.world));
+            job.outcomes.add(new RestoreOutcome(row, "world not found"));
+            return;
+        }
+
+        // ASYNC LOAD: Chunk ohne Generierung laden, Ticket nur für die Dauer des Restores halten.
+        // Die Arbeit läuft auf dem EIGENEN Region-Thread des Chunks (Folia).
+        // Nie generierte Chunks haben nichts zum Zurücksetzen → gelten als erledigt.
+        // SURFACE SCAN: Ohne Journal wird die Oberfläche async analysiert, der Region-Thread wendet nur an.
+        job.loading.incrementAndGet();
+        chunkLoader.withChunk(world, row.x, row.z, chunk -> restoreChunkOnRegion(world, chunk, item.snapshot, item.journal), null)
+                .thenCompose(surface -> surface == null
+                        ? CompletableFuture.<Void>completedFuture(null)
+                        : cleanupSurfaceWinterBlocks(world, surface, item.snapshot))
+                .whenComplete((ignored, throwable) -> {
+                    job.loading.decrementAndGet();
+                    if (throwable != null) {
+                        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                                ? throwable.getCause() : throwable;
+                        plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.error-restoring-chunk", row.x, row.z, cause.getMessage()));
+                        if (plugin.isDebugMode()) cause.printStackTrace();
+                        plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.chunk-not-restored", row.x, row.z));
+                        job.outcomes.add(new RestoreOutcome(row, String.valueOf(cause.getMessage())));
+                    } else {
+                        job.outcomes.add(new RestoreOutcome(row, null));
+                    }
+                });
+    }
+
+    /**
+     * Stellt einen geladenen Chunk wieder her (läuft auf dem Region-Thread des Chunks)
+     * Fehler werden geworfen → Chunk bleibt im Snapshot (CRITICAL FIX: nur bei Erfolg löschen)
+     *
+     * @return Oberflächen-Snapshot für die async Schnee/Eis-Analyse, oder null wenn bereits alles erledigt ist
+     */
+    private ChunkSnapshot restoreChunkOnRegion(World world, Chunk chunk, BiomeSnapshotDatabase.BiomeSnapshot3D snapshot, int[] journal) {
+        // Biomes wiederherstellen (3D!)
+        restoreChunkBiomes3D(world, chunk, snapshot);
+
+        // Chunk refreshen für Client-Update (Block-Änderungen werden ohnehin einzeln gesendet)
+        refreshChunkSafe(world, chunk);
+
+        // Schnee und Eis entfernen
+        // JOURNAL: Nur bekannte Positionen prüfen (+ noch nicht gespeicherte)
+        Set<Integer> unsaved = winterJournal.drain(world.getName(), chunk.getX(), chunk.getZ());
+        if (journal != null) {
+            removeJournaledWinterBlocks(world, chunk, snapshot, journal, unsaved);
+            return null;
+        }
+
+        // Ohne Journal: Heightmap-Snapshot ziehen, Analyse läuft async
+        return chunk.getChunkSnapshot(true, false, false);
+    }
+
+    /**
+     * Bricht den Restore nach einem fatalen Fehler ab
+     * Job-Zustand bleibt in der DB → nächster Start / nächstes /xmas off setzt fort
+     */
+    private void abortRestore(RestoreJob job, BiomeSnapshotDatabase database) {
+        job.finished = true;
+        if (job.readerTask != null) job.readerTask.cancel();
+        scheduler.runAsync(() -> {
+            // Offene Ergebnisse noch festschreiben, dann Deleter stoppen
+            runRestoreDeleter(job, database);
+            if (job.deleterTask != null) job.deleterTask.cancel();
+        });
+        currentRestoreJob = null;
+        // CRITICAL: Reset guard variables even on error!
+        activeRestoreTask = null;
+        isRestoring.set(false);
+        plugin.debug("Restore aborted (error) - guard variables reset");
+    }
+
+    private void finishRestore(RestoreJob job, BiomeSnapshotDatabase database) {
+        if (job.readerTask != null) job.readerTask.cancel();
+        if (job.deleterTask != null) job.deleterTask.cancel();
+
+        long duration = System.currentTimeMillis() - job.startedAt;
+        plugin.getLogger().info(plugin.getLanguageManager().get("log.biome.restore-complete-header"));
+        plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.processed", job.total));
+        plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.restored-count", job.restored.get()));
+        if (job.errors.get() > 0) {
+            plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.error-count", job.errors.get()));
+        }
+        plugin.getLogger().info(plugin.getLanguageManager().getMessage("log.biome.duration", (duration / 1000.0)));
+        plugin.getLogger().info(plugin.getLanguageManager().get("log.biome.separator-footer"));
+
+        // WICHTIG: Leere ALLE Caches nach Restore!
+        plugin.debug("Leere alle Caches nach Restore...");
+        processedChunks.clear();
+        knownSnapshotChunks.clear();
+        chunkStates.clear();
+        plugin.getSeasonWorlds().clearQueues();
+        chunkRetryCount.clear();
+        lazyPendingChunks.clear();
+
+        // Abschließende DB-Arbeit (Job löschen, evtl. clearAll/VACUUM) async - nicht auf dem Global-Tick
+        scheduler.runAsync(() -> {
+            // CRITICAL FIX: Only clear database on error-free restore!
+            // Otherwise failed chunks remain in DB for next attempt
+            try {
+                database.deleteJobState(RESTORE_JOB);
+                closeWinterJournal(database, true);
+                // ABSICHERUNG: Nur leeren wenn wirklich keine Zeile mehr offen ist
+                int leftover = database.getChunkCount();
+                if (job.errors.get() == 0 && leftover == 0) {
+                    database.clearAll();
+                    plugin.getLogger().info("§a✓ Database cleared - all chunks successfully restored!");
+                    plugin.debug("Database cleared and closed after restore");
+                } else if (job.errors.get() == 0) {
+                    plugin.getLogger().warning("§e§l⚠ Warning: " + leftover + " chunks were not reached by the restore!");
+                    plugin.getLogger().warning("§eDatabase will NOT be cleared - run '/xmas off' again to restore them.");
+                } else {
+                    plugin.getLogger().warning("§e§l⚠ Warning: " + job.errors.get() + " errors during restore!");
+                    plugin.getLogger().warning("§eDatabase will NOT be cleared - failed chunks remain stored.");
+                    plugin.getLogger().warning("§eRun '/xmas off' again to restore the missing chunks.");
+                }
+                database.close();
+            } catch (Exception e) {
+                plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.error-clearing-db", e.getMessage()));
+            }
+
+            // Guard erst nach DB-Close freigeben (sonst könnte /xmas on die DB parallel öffnen)
+            if (db == database) db = null;
+            activeRestoreTask = null;
+            currentRestoreJob = null;
+            isRestoring.set(false);
+            plugin.debug("Restore completed - guard variables reset");
+        });
+    }
+
+    private static String formatDuration(long seconds) {
+        if (seconds < 60) return seconds + "s";
+        if (seconds < 3600) return (seconds / 60) + "m " + (seconds % 60) + "s";
+        return (seconds / 3600) + "h " + ((seconds % 3600) / 60) + "m";
+    }
+
     /**
      * ABSICHERUNG: Stellt Original-Biome mit exakter 3D-Position wieder her
      */
@@ -543,7 +1187,7 @@ public class BiomeSnowManager {
             for (int layer = 0; layer < snapshot.biomes.length; layer++) {
                 for (int x = 0; x < 16; x++) {
                     for (int z = 0; z < 16; z++) {
-                        uniqueBiomes.add(snapshot.biomes[layer][x][z]);
+                        if (snapshot.biomes[layer][x][z] != null) uniqueBiomes.add(snapshot.biomes[layer][x][z]);
                     }
                 }
             }
@@ -551,6 +1195,7 @@ public class BiomeSnowManager {
         }
 
         // Stelle jedes Biom an seiner EXAKTEN Position wieder her
+        // SPARSE: Nicht gespeicherte Zellen (null) wurden nie geändert → kein Schreibzugriff
         int restored = 0;
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
@@ -569,64 +1214,240 @@ public class BiomeSnowManager {
     }
 
     /**
-     * ABSICHERUNG: Entfernt Schnee/Eis basierend auf 3D-Snapshot
-     * Nur in Bereichen wo das Original-Biom nicht natürlich verschneit ist
+     * JOURNAL: Entfernt Schnee/Eis nur an den während der Saison entstandenen Positionen
+     * Gleiche Regeln wie der Oberflächen-Scan, aber ohne den Chunk zu analysieren.
      */
-    private void removeWinterBlocks3D(World world, Chunk chunk, BiomeSnapshotDatabase.BiomeSnapshot3D snapshot) {
+    private void removeJournaledWinterBlocks(World world, Chunk chunk, BiomeSnapshotDatabase.BiomeSnapshot3D snapshot,
+                                             int[] journal, Set<Integer> unsaved) {
         int bx = chunk.getX() << 4;
         int bz = chunk.getZ() << 4;
 
-        plugin.debug("Prüfe Winter-Blocks (3D) für Chunk " + chunk.getX() + "," + chunk.getZ());
-
-        // PERFORMANCE: Nur relevanten Y-Bereich prüfen (wo Schnee/Eis sein kann)
-        int checkMinY = Math.max(snapshot.yStart, 50);
-        int checkMaxY = Math.min(snapshot.yStart + (snapshot.biomes.length * snapshot.yStep), 200);
+        Set<Integer> positions = new java.util.HashSet<>(journal.length + (unsaved != null ? unsaved.size() : 0));
+        for (int pos : journal) positions.add(pos);
+        if (unsaved != null) positions.addAll(unsaved);
 
+        BiomeClassifier classifier = plugin.getBiomeClassifier();
         int removedSnow = 0;
         int removedIce = 0;
 
-        // Prüfe jeden Block im relevanten Bereich
+        for (int pos : positions) {
+            int x = WinterBlockJournal.unpackX(pos);
+            int y = WinterBlockJournal.unpackY(pos);
+            int z = WinterBlockJournal.unpackZ(pos);
+
+            Biome originalBiome = snapshot.getBiomeAtY(x, z, y);
+            if (originalBiome == null) continue;
+
+            Block block = world.getBlockAt(bx + x, y, bz + z);
+            Material type = block.getType();
+
+            // Block kann inzwischen abgebaut/ersetzt sein → nur noch vorhandenen Schnee/Eis anfassen
+            if (type == Material.SNOW && !classifier.isNaturallySnowy(originalBiome)) {
+                block.setType(Material.AIR);
+                removedSnow++;
+            } else if (type == Material.ICE && !classifier.isNaturallyIcy(originalBiome)) {
+                block.setType(Material.WATER);
+                removedIce++;
+            }
+        }
+
+        if (plugin.isDebugMode() && (removedSnow > 0 || removedIce > 0)) {
+            plugin.debug("  Journal (" + positions.size() + " Positionen): " + removedSnow + " Schnee, " + removedIce + " Eis entfernt");
+        }
+    }
+
+    /** Blöcke unterhalb des höchsten Blocks, die auf Schnee/Eis geprüft werden (Schnee auf Eis, Schneeschicht auf Laub) */
+    private static final int SURFACE_SCAN_DEPTH = 3;
+
+    /** Ergebnis der Oberflächen-Analyse (gepackte Block-Positionen) */
+    private static final class WinterRemovals {
+        final List<Integer> snow = new ArrayList<>();
+        final List<Integer> ice = new ArrayList<>();
+
+        boolean isEmpty() { return snow.isEmpty() && ice.isEmpty(); }
+    }
+
+    /**
+     * SURFACE SCAN: Analysiert die Oberfläche async und entfernt Schnee/Eis auf dem Region-Thread
+     * (Fallback für Chunks ohne Journal)
+     */
+    private CompletableFuture<Void> cleanupSurfaceWinterBlocks(World world, ChunkSnapshot surface,
+                                                               BiomeSnapshotDatabase.BiomeSnapshot3D snapshot) {
+        CompletableFuture<WinterRemovals> analysis = new CompletableFuture<>();
+        scheduler.runAsync(() -> {
+            try {
+                analysis.complete(findSurfaceWinterBlocks(surface, snapshot));
+            } catch (Throwable t) {
+                analysis.completeExceptionally(t);
+            }
+        });
+
+        return analysis.thenCompose(removals -> removals.isEmpty()
+                ? CompletableFuture.<Void>completedFuture(null)
+                : chunkLoader.<Void>withChunk(world, surface.getX(), surface.getZ(), chunk -> {
+                    applyWinterRemovals(world, chunk, removals);
+                    return null;
+                }, null));
+    }
+
+    /**
+     * ABSICHERUNG: Findet Schnee/Eis an der Oberfläche basierend auf 3D-Snapshot (thread-safe, nur ChunkSnapshot)
+     * Schnee und Eis entstehen nur am obersten freien Block einer Säule → Heightmap statt Y 50-200.
+     * Nur in Bereichen wo das Original-Biom nicht natürlich verschneit ist.
+     */
+    private WinterRemovals findSurfaceWinterBlocks(ChunkSnapshot surface, BiomeSnapshotDatabase.BiomeSnapshot3D snapshot) {
+        WinterRemovals removals = new WinterRemovals();
+        BiomeClassifier classifier = plugin.getBiomeClassifier();
+
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                for (int y = checkMinY; y < checkMaxY; y++) {
+                // Heightmap (MOTION_BLOCKING) kennt keine Schneeschichten → die liegen auf top + 1
+                int top = surface.getHighestBlockYAt(x, z);
+                for (int y = top + 1; y >= top - SURFACE_SCAN_DEPTH; y--) {
                     // Hole Original-Biom für diese EXAKTE Position
                     Biome originalBiome = snapshot.getBiomeAtY(x, z, y);
                     if (originalBiome == null) continue;
 
-                    // Prüfe ob Schnee/Eis hier natürlich ist
-                    boolean shouldRemoveSnow = !isNaturallySnowyBiome(originalBiome);
-                    boolean shouldRemoveIce = !isNaturallyIcyBiome(originalBiome);
-
-                    if (!shouldRemoveSnow && !shouldRemoveIce) continue;
-
-                    // Prüfe Block
-                    Block block = world.getBlockAt(bx + x, y, bz + z);
-                    Material type = block.getType();
+                    Material type = surface.getBlockType(x, y, z);
 
                     // ABSICHERUNG: Entferne nur Schneeschichten (SNOW), NICHT Schneeblöcke (SNOW_BLOCK)!
-                    // Schneeblöcke sind platzierbar/natürlich und sollten bleiben
-                    if (shouldRemoveSnow && type == Material.SNOW) {
-                        block.setType(Material.AIR);
-                        removedSnow++;
+                    if (type == Material.SNOW && !classifier.isNaturallySnowy(originalBiome)) {
+                        removals.snow.add(WinterBlockJournal.packBlock(x, y, z));
                     }
-                    // SNOW_BLOCK wird NICHT entfernt - das ist natürlich/gewollt!
-
                     // ABSICHERUNG: Entferne nur normales Eis (ICE), nicht gepacktes (PACKED_ICE, BLUE_ICE)
-                    // Gepacktes/blaues Eis ist meist künstlich platziert
-                    if (shouldRemoveIce && type == Material.ICE) {
-                        block.setType(Material.WATER);
-                        removedIce++;
+                    else if (type == Material.ICE && !classifier.isNaturallyIcy(originalBiome)) {
+                        removals.ice.add(WinterBlockJournal.packBlock(x, y, z));
                     }
-                    // PACKED_ICE und BLUE_ICE werden NICHT entfernt!
                 }
             }
         }
+        return removals;
+    }
+
+    /**
+     * Wendet die Analyse an (Region-Thread) - Blocktyp wird erneut geprüft, da sich der Chunk
+     * seit dem Snapshot geändert haben kann
+     */
+    private void applyWinterRemovals(World world, Chunk chunk, WinterRemovals removals) {
+        int bx = chunk.getX() << 4;
+        int bz = chunk.getZ() << 4;
+
+        int removedSnow = 0;
+        int removedIce = 0;
+        for (int pos : removals.snow) {
+            Block block = world.getBlockAt(bx + WinterBlockJournal.unpackX(pos), WinterBlockJournal.unpackY(pos), bz + WinterBlockJournal.unpackZ(pos));
+            if (block.getType() == Material.SNOW) {
+                block.setType(Material.AIR);
+                removedSnow++;
+            }
+        }
+        for (int pos : removals.ice) {
+            Block block = world.getBlockAt(bx + WinterBlockJournal.unpackX(pos), WinterBlockJournal.unpackY(pos), bz + WinterBlockJournal.unpackZ(pos));
+            if (block.getType() == Material.ICE) {
+                block.setType(Material.WATER);
+                removedIce++;
+            }
+        }
 
         if (plugin.isDebugMode() && (removedSnow > 0 || removedIce > 0)) {
-            plugin.debug("  Entfernt: " + removedSnow + " Schnee, " + removedIce + " Eis");
+            plugin.debug("  Oberfläche " + chunk.getX() + "," + chunk.getZ() + ": " + removedSnow + " Schnee, " + removedIce + " Eis entfernt");
+        }
+    }
+
+    // ===================== Winter-Journal ======================
+
+    private boolean isJournalEnabled() {
+        return plugin.getSettings().journalEnabled;
+    }
+
+    /**
+     * Merkt einen während der Saison entstandenen Schnee-/Eisblock vor (BlockFormEvent)
+     * Läuft auch während eines Restores weiter: Noch nicht restaurierte Chunks können weiter einschneien.
+     */
+    public void recordWinterBlock(Block block) {
+        if (db == null || !isJournalEnabled()) return;
+        if (!plugin.isActive() && !isRestoring()) return;
+        if (plugin.getSeasonWorlds().get(block.getWorld()) == null) return;
+        winterJournal.record(block);
+    }
+
+    /** Gespeichertes Journal eines Chunks (null = keins oder Journal deaktiviert → Oberflächen-Scan) */
+    private int[] decodeJournal(BiomeSnapshotDatabase.ChunkBlob blob) {
+        if (!isJournalEnabled()) return null;
+        return BiomeSnapshotDatabase.decodeWinterJournal(blob.winter);
+    }
+
+    /**
+     * Prüft nach dem Öffnen der DB, ob das Journal sauber geschlossen wurde
+     * Nach einem Absturz fehlen evtl. Positionen → alle Journale verwerfen (Restore scannt komplett)
+     */
+    private void openWinterJournal(BiomeSnapshotDatabase database) {
+        try {
+            Map<String, String> marker = database.loadJobState(WinterBlockJournal.JOURNAL_JOB);
+            if (marker != null && !"true".equals(marker.get("clean"))) {
+                database.invalidateWinterJournals();
+                plugin.getLogger().warning(plugin.getLanguageManager().get("log.biome.journal-invalidated"));
+            }
+            database.saveJobState(WinterBlockJournal.JOURNAL_JOB, Map.of("clean", "false"));
+        } catch (SQLException e) {
+            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.journal-error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Schreibt offene Journal-Einträge und markiert das Journal optional als sauber geschlossen
+     * Hebt ein Einfrieren auf (Restore fertig oder Stop - es wird nichts mehr angewendet).
+     */
+    private void closeWinterJournal(BiomeSnapshotDatabase database, boolean markClean) {
+        try {
+            winterJournal.unfreeze();
+            winterJournal.flush(database);
+            if (markClean) {
+                database.saveJobState(WinterBlockJournal.JOURNAL_JOB, Map.of("clean", "true"));
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.journal-error", e.getMessage()));
+        }
+    }
+
+    /** Periodisches Sichern der Umwandlungs-Zustände (async) */
+    private void startStateFlushTask() {
+        final BiomeSnapshotDatabase database = db;
+        stateFlushTask = scheduler.runAsyncTimer(() -> flushChunkStates(database), STATE_FLUSH_TICKS, STATE_FLUSH_TICKS);
+    }
+
+    private void flushChunkStates(BiomeSnapshotDatabase database) {
+        try {
+            chunkStates.flush(database);
+        } catch (SQLException e) {
+            plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.chunk-state-error", e.getMessage()));
         }
     }
 
+    /**
+     * Hash der Umwandlungs-Konfiguration (Zielbiom + Y-Bereich + Schrittweite)
+     * Ändert sich einer der Werte, gelten gespeicherte Zustände nicht mehr.
+     */
+    private int conversionHash() {
+        Biome target = getTargetBiome();
+        int hash = Objects.hash(target != null ? target.getKey().toString() : "", getMinChangeY(), getMaxChangeY(), getVerticalStep());
+        return hash != 0 ? hash : 1; // 0 = "Snapshot ohne Zustand"
+    }
+
+    /** Periodisches Sichern des Journals (async) */
+    private void startJournalFlushTask() {
+        if (!isJournalEnabled()) return;
+        long period = plugin.getSettings().journalFlushSeconds * 20L;
+        final BiomeSnapshotDatabase database = db;
+        journalFlushTask = scheduler.runAsyncTimer(() -> {
+            try {
+                winterJournal.flush(database);
+            } catch (SQLException e) {
+                plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.journal-error", e.getMessage()));
+            }
+        }, period, period);
+    }
+
     /** Snapshot löschen (nur Datenbank, ohne irgendetwas zu setzen) */
     public void clearSnapshot() {
         if (db != null) {
@@ -644,6 +1465,36 @@ public class BiomeSnowManager {
         return db;
     }
 
+    /**
+     * Fortschritt des laufenden Restores für Status-Anzeigen
+     *
+     * @return z.B. "1200/5000 (Fehler: 3, Restzeit: 2m 10s)" oder null wenn kein Restore läuft
+     */
+    public String getRestoreProgress() {
+        RestoreJob job = currentRestoreJob;
+        if (job == null) return null;
+        long eta = job.etaSeconds();
+        return job.processed.get() + "/" + job.total + " (Fehler: " + job.errors.get()
+                + ", Restzeit: " + (eta < 0 ? "?" : formatDuration(eta)) + ")";
+    }
+
+    /** true wenn der laufende Restore im Lazy-Modus ist */
+    public boolean isLazyRestore() {
+        RestoreJob job = currentRestoreJob;
+        return job != null && job.lazy;
+    }
+
+    /**
+     * Anteil der noch nicht restaurierten Chunks des laufenden Restores
+     *
+     * @return 0-100, oder -1 wenn kein Restore läuft
+     */
+    public double getRestorePendingPercent() {
+        RestoreJob job = currentRestoreJob;
+        if (job == null || job.total <= 0) return -1;
+        return Math.max(0, job.total - job.processed.get()) * 100.0 / job.total;
+    }
+
     /** Check if a restore operation is currently running */
     public boolean isRestoring() {
         return isRestoring.get();
@@ -657,8 +1508,7 @@ public class BiomeSnowManager {
      */
     public void ensureAroundPlayer(Player p) {
         World w = p.getWorld();
-        String snowWorld = plugin.getConfig().getString("snowWorld", "world");
-        if (!w.getName().equals(snowWorld)) return;
+        if (plugin.getSeasonWorlds().get(w) == null) return;
 
         // FOLIA: Nutze Location Scheduler für jeden Chunk
         ensureAroundPlayerFolia(p, w);
@@ -669,8 +1519,10 @@ public class BiomeSnowManager {
      * PERFORMANCE: Respektiert perTickBudget um TPS-Spikes zu vermeiden!
      */
     private void ensureAroundPlayerFolia(Player p, World w) {
-        int r = Math.max(0, plugin.getConfig().getInt("biome.playerBubble.radiusChunks", 3));
-        int budget = Math.max(1, plugin.getConfig().getInt("biome.playerBubble.perTickBudget", 12));
+        SeasonWorld ctx = plugin.getSeasonWorlds().get(w);
+        if (ctx == null) return;
+        int r = plugin.getSettings().bubbleRadiusChunks;
+        int budget = plugin.getSettings().bubblePerTickBudget;
         org.bukkit.Location loc = p.getLocation();
         int baseCX = loc.getBlockX() >> 4;
         int baseCZ = loc.getBlockZ() >> 4;
@@ -687,27 +1539,86 @@ public class BiomeSnowManager {
                 final int chunkZ = baseCZ + dz;
                 ChunkKey key = new ChunkKey(w.getName(), chunkX, chunkZ);
 
-                // Nur unverarbeitete Chunks
-                if (!processedChunks.contains(key)) {
-                    org.bukkit.Location chunkLoc = new org.bukkit.Location(w, (chunkX << 4) + 8, 64, (chunkZ << 4) + 8);
-                    scheduler.runAtLocation(chunkLoc, () -> {
-                        processChunkAt(w, chunkX, chunkZ);
-                    });
+                // Nur unverarbeitete, geladene Chunks (kein Region-Task für nicht geladene Ränder)
+                if (ctx.isChunkLoaded(chunkX, chunkZ) && !processedChunks.contains(key)) {
+                    // BATCHING: Ein Region-Task pro Region-Sektion statt einem pro Chunk
+                    scheduler.runInChunk(w, chunkX, chunkZ, () -> processChunkAt(w, chunkX, chunkZ));
                     scheduled++;
                 }
             }
         }
+
+        // PREFETCH: Rest-Budget für Chunks entlang der Flugbahn (gebündelt auf dem jeweiligen Region-Thread)
+        PlayerSpatialIndex.Entry entry = plugin.getPlayerIndex().getEntry(p);
+        if (entry == null) return;
+        int period = plugin.getSettings().bubbleTickIntervalTicks;
+        for (ChunkCoords c : collectPrefetchChunks(entry, w, period, budget)) {
+            if (scheduled >= budget) return;
+            scheduler.runInChunk(w, c.x, c.z, () -> {
+                if (w.isChunkLoaded(c.x, c.z)) {
+                    processChunkAt(w, c.x, c.z);
+                }
+            });
+            scheduled++;
+        }
+    }
+
+    /**
+     * PREFETCH: Berechnet Chunks entlang der voraussichtlichen Bahn eines Spielers
+     * Startet am Rand der Bubble und geht in Blickrichtung der Bewegung so weit,
+     * wie der Spieler in 'lookaheadSeconds' kommt. Pro Schritt wird ein Band in
+     * Bubble-Breite quer zur Bewegung erfasst (Mitte zuerst).
+     *
+     * Die Anzahl ist durch das Budget begrenzt, das innerhalb des Lookahead-Fensters
+     * überhaupt verarbeitet werden kann - mehr vorzumerken wäre verschwendet.
+     * Liefert nur unverarbeitete, geladene Chunks.
+     */
+    private List<ChunkCoords> collectPrefetchChunks(PlayerSpatialIndex.Entry p, World w, int period, int budget) {
+        if (!plugin.getSettings().prefetchEnabled) return Collections.emptyList();
+        SeasonWorld ctx = plugin.getSeasonWorlds().get(w);
+        if (ctx == null) return Collections.emptyList();
+
+        double speed = p.getSpeed();
+        double minSpeed = plugin.getSettings().prefetchMinSpeed;
+        if (speed < Math.max(0.01, minSpeed)) return Collections.emptyList();
+
+        int r = plugin.getSettings().bubbleRadiusChunks;
+        int lookaheadTicks = plugin.getSettings().prefetchLookaheadTicks;
+        int cycles = Math.max(1, (lookaheadTicks + period - 1) / period);
+        int maxChunks = Math.min(plugin.getSettings().prefetchMaxChunks, budget * cycles);
+        if (maxChunks == 0) return Collections.emptyList();
+
+        double distance = speed * lookaheadTicks;
+        double ux = p.vx / speed, uz = p.vz / speed;
+
+        List<ChunkCoords> result = new ArrayList<>();
+        Set<ChunkKey> seen = new HashSet<>();
+        for (double d = r * 16.0; d <= distance + r * 16.0; d += 16.0) {
+            double cxBlock = p.x + ux * d;
+            double czBlock = p.z + uz * d;
+            for (int i = 0; i <= 2 * r; i++) {
+                int lateral = (i % 2 == 0) ? i / 2 : -(i + 1) / 2; // 0, -1, +1, -2, +2 ...
+                int chunkX = ((int) Math.floor(cxBlock - uz * lateral * 16.0)) >> 4;
+                int chunkZ = ((int) Math.floor(czBlock + ux * lateral * 16.0)) >> 4;
+                ChunkKey key = new ChunkKey(w.getName(), chunkX, chunkZ);
+                if (!seen.add(key) || processedChunks.contains(key)) continue;
+                if (!ctx.isChunkLoaded(chunkX, chunkZ)) continue; // Prefetch lädt nie selbst
+
+                result.add(new ChunkCoords(w, chunkX, chunkZ));
+                if (result.size() >= maxChunks) return result;
+            }
+        }
+        return result;
     }
 
     /**
-     * PAPER/SPIGOT/PURPUR: Füge Chunks um Spieler zur Verarbeitungs-Queue hinzu
+     * PAPER/SPIGOT/PURPUR: Füge Chunks um Spieler zur Verarbeitungs-Queue seiner Welt hinzu
      * PERFORMANCE: Nur neue Chunks werden gequeued, bereits verarbeitete übersprungen
      */
-    private void queueChunksAroundPlayer(Player p, World w) {
-        int r = Math.max(0, plugin.getConfig().getInt("biome.playerBubble.radiusChunks", 3));
-        org.bukkit.Location loc = p.getLocation();
-        int baseCX = loc.getBlockX() >> 4;
-        int baseCZ = loc.getBlockZ() >> 4;
+    private void queueChunksAroundPlayer(PlayerSpatialIndex.Entry p, World w, SeasonWorld ctx) {
+        int r = plugin.getSettings().bubbleRadiusChunks;
+        int baseCX = p.getChunkX();
+        int baseCZ = p.getChunkZ();
 
         // Sammle alle unverarbeiteten Chunks um Spieler
         for (int dx = -r; dx <= r; dx++) {
@@ -716,60 +1627,129 @@ public class BiomeSnowManager {
                 int chunkZ = baseCZ + dz;
                 ChunkKey key = new ChunkKey(w.getName(), chunkX, chunkZ);
 
-                // Nur neue Chunks zur Queue hinzufügen
-                if (!processedChunks.contains(key)) {
-                    Chunk chunk = w.getChunkAt(chunkX, chunkZ);
-                    if (chunk.isLoaded()) {
-                        chunkProcessQueue.offer(new ChunkCoords(w, chunkX, chunkZ));
-                    }
+                // Nur neue, geladene Chunks zur Queue hinzufügen
+                // (Ladezustand aus den Chunk-Events - getChunkAt() würde synchron laden/generieren)
+                if (ctx.isChunkLoaded(chunkX, chunkZ) && !processedChunks.contains(key)) {
+                    ctx.chunkQueue.offer(WinterBlockJournal.packChunk(chunkX, chunkZ));
                 }
             }
         }
     }
 
     /**
-     * PAPER/SPIGOT/PURPUR: Verarbeite Budget aus Chunk-Queue
-     * PERFORMANCE: Max 'budget' Chunks pro Tick → verhindert TPS-Spikes!
+     * PAPER/SPIGOT/PURPUR: Verteilt das Bubble-Budget fair auf die Welten
+     *
+     * FAIR SHARE (Deficit Round Robin):
+     * 1. Jede Welt mit Arbeit bekommt budget * budgetShare / Summe gutgeschrieben und darf so viele
+     *    Chunks verarbeiten (Bruchteile bleiben als Guthaben für den nächsten Lauf)
+     * 2. Budget, das Welten mit wenig Arbeit nicht brauchen, geht reihum an die übrigen
+     * 3. Erst danach: Prefetch (niedrigste Priorität, kein Burst beim Anhalten)
+     *
+     * Eine volle Welt kann so die anderen nie aushungern.
      */
-    private void processChunksFromQueue(World w, int budget) {
-        int processed = 0;
+    private void processWorldQueues(List<SeasonWorld> worlds, World[] loaded, int budget) {
+        int n = worlds.size();
+        int totalShare = 0;
+        for (int i = 0; i < n; i++) {
+            SeasonWorld ctx = worlds.get(i);
+            if (loaded[i] != null && ctx.hasQueuedChunks()) totalShare += ctx.getSettings().budgetShare;
+            else ctx.budgetCredit = 0; // Kein Ansparen im Leerlauf
+        }
 
-        while (processed < budget && !chunkProcessQueue.isEmpty()) {
-            ChunkCoords coords = chunkProcessQueue.poll();
-            if (coords == null) break;
+        int left = budget;
+
+        // Runde 1: Anteil nach Gewicht
+        if (totalShare > 0) {
+            for (int i = 0; i < n; i++) {
+                SeasonWorld ctx = worlds.get(i);
+                if (loaded[i] == null || !ctx.hasQueuedChunks()) continue;
+                ctx.budgetCredit = Math.min(budget, ctx.budgetCredit + (double) budget * ctx.getSettings().budgetShare / totalShare);
+                int done = processChunkQueue(loaded[i], ctx.chunkQueue, null, Math.min((int) ctx.budgetCredit, left));
+                ctx.budgetCredit -= done;
+                left -= done;
+            }
+        }
 
-            // Prüfe ob Chunk noch relevant ist (könnte zwischenzeitlich verarbeitet worden sein)
-            ChunkKey key = new ChunkKey(coords.world.getName(), coords.x, coords.z);
-            if (!processedChunks.contains(key)) {
-                if (coords.world.getChunkAt(coords.x, coords.z).isLoaded()) {
-                    processChunkAt(coords.world, coords.x, coords.z);
-                    processed++;
+        // Runde 2: Rest-Budget reihum (rotierender Start → kein Dauer-Vorrang für die erste Welt)
+        if (n > 0) fairShareOffset = (fairShareOffset + 1) % n;
+        for (int k = 0; k < n && left > 0; k++) {
+            int i = (fairShareOffset + k) % n;
+            if (loaded[i] == null) continue;
+            left -= processChunkQueue(loaded[i], worlds.get(i).chunkQueue, null, left);
+        }
+
+        // Runde 3: PREFETCH nur mit dem übrigen Budget
+        for (int k = 0; k < n && left > 0; k++) {
+            int i = (fairShareOffset + k) % n;
+            if (loaded[i] == null) continue;
+            SeasonWorld ctx = worlds.get(i);
+            left -= processChunkQueue(loaded[i], ctx.prefetchQueue, ctx.prefetchPending, left);
+        }
+
+        // Debug: Queue-Größe loggen wenn groß
+        if (plugin.isDebugMode()) {
+            for (SeasonWorld ctx : worlds) {
+                if (ctx.chunkQueue.size() > 50) {
+                    plugin.debug("Chunk-Queue " + ctx.getName() + ": " + ctx.chunkQueue.size() + " chunks wartend");
                 }
             }
         }
+    }
 
-        // Debug: Queue-Größe loggen wenn groß
-        if (plugin.isDebugMode() && chunkProcessQueue.size() > 50) {
-            plugin.debug("Chunk-Queue: " + chunkProcessQueue.size() + " chunks wartend");
+    /**
+     * Verarbeitet bis zu 'max' Chunks aus einer Queue
+     *
+     * @param pending Prefetch-Markierungen (werden beim Entnehmen entfernt), null für die Bubble-Queue
+     * @return Anzahl verarbeiteter Chunks
+     */
+    private int processChunkQueue(World w, java.util.Queue<Long> queue, Set<Long> pending, int max) {
+        int processed = 0;
+        while (processed < max) {
+            Long packed = queue.poll();
+            if (packed == null) break;
+            if (pending != null) pending.remove(packed);
+            int chunkX = (int) (packed >> 32);
+            int chunkZ = (int) (long) packed;
+
+            // Prüfe ob Chunk noch relevant ist (könnte zwischenzeitlich verarbeitet worden sein)
+            ChunkKey key = new ChunkKey(w.getName(), chunkX, chunkZ);
+            if (!processedChunks.contains(key) && w.isChunkLoaded(chunkX, chunkZ)) {
+                processChunkAt(w, chunkX, chunkZ);
+                processed++;
+            }
         }
+        return processed;
     }
 
     /**
      * Verarbeitet einen einzelnen Chunk (auf Location/Region Scheduler)
      * FOLIA-KOMPATIBEL: Darf nur auf Location/Region Scheduler aufgerufen werden!
      * Exakt wie v1.4.1 - minimale Fehlerbehandlung für Stabilität
+     *
+     * @return true wenn der Chunk umgewandelt wurde (nicht übersprungen)
      */
-    private void processChunkAt(World w, int chunkX, int chunkZ) {
+    private boolean processChunkAt(World w, int chunkX, int chunkZ) {
         ChunkKey key = new ChunkKey(w.getName(), chunkX, chunkZ);
 
         // PERFORMANCE: Überspringe bereits verarbeitete Chunks
         if (processedChunks.contains(key)) {
-            return;
+            return false;
         }
 
-        // Lade Chunk falls nötig (nur im richtigen Scheduler-Kontext!)
-        Chunk chunk = w.getChunkAt(chunkX, chunkZ);
-        if (!chunk.isLoaded()) {
+        // PERSISTENT: In einem früheren Lauf mit gleicher Konfiguration umgewandelt → O(1) überspringen
+        // (keine 9 Biom-Stichproben, keine hasChunk()-Abfrage). Region noch nicht geladen → normal prüfen.
+        int hash = conversionHash();
+        Integer state = chunkStates.get(db, key.world, chunkX, chunkZ);
+        if (state != null) {
+            if (state == hash) {
+                processedChunks.add(key);
+                return false;
+            }
+            knownSnapshotChunks.add(key); // Zeile existiert → snapshotIfAbsent() spart die DB-Abfrage
+        }
+
+        // NIE laden: getChunkAt() würde einen nicht geladenen Chunk synchron laden (oder generieren)
+        if (!w.isChunkLoaded(chunkX, chunkZ)) {
             // RETRY MECHANISM: Tracke nicht-geladene Chunks und versuche sie später nochmal
             int retries = chunkRetryCount.getOrDefault(key, 0);
             retries++;
@@ -782,12 +1762,14 @@ public class BiomeSnowManager {
                 plugin.verboseDebug("Chunk " + chunkX + "," + chunkZ + " nach " + retries + " Versuchen übersprungen (nicht geladen)");
             }
             // Sonst: Chunk NICHT zum processedChunks hinzufügen → wird beim nächsten Mal nochmal versucht!
-            return;
+            return false;
         }
 
         // Chunk ist geladen - verarbeite ihn!
+        Chunk chunk = w.getChunkAt(chunkX, chunkZ);
         Biome target = getTargetBiome();
-        snapshotIfAbsent(w, chunk);
+        // SPARSE: Nur bei bekannt abweichendem Zustand (andere Konfiguration) nachtragen
+        snapshotIfAbsent(w, chunk, target, state != null && state != hash);
         if (applyUniformBiomeColumn(w, chunk, target)) {
             refreshChunkSafe(w, chunk);
         }
@@ -795,6 +1777,7 @@ public class BiomeSnowManager {
         // ERFOLG: Als verarbeitet markieren und Retry-Counter entfernen
         processedChunks.add(key);
         chunkRetryCount.remove(key);
+        if (db != null) chunkStates.markConverted(key.world, chunkX, chunkZ, hash);
 
         // Begrenze Cache-Größe
         if (processedChunks.size() > MAX_PROCESSED_CACHE) {
@@ -814,85 +1797,19 @@ public class BiomeSnowManager {
             // Entferne Chunks die sehr viele Retries haben (wahrscheinlich nie laden werden)
             chunkRetryCount.entrySet().removeIf(entry -> entry.getValue() >= MAX_CHUNK_RETRIES);
         }
+        return true;
     }
 
     // ENTFERNT: ringEnsureSnow() - Ersetzt durch Location Scheduler in ensureAroundPlayer()
 
     // ===================== Helpers ======================
     private Biome getTargetBiome() {
-        String biomeName = plugin.getConfig().getString("biome.target", "SNOWY_PLAINS");
-        try {
-            // Use key-based API instead of deprecated valueOf
-            return org.bukkit.Registry.BIOME.get(org.bukkit.NamespacedKey.minecraft(biomeName.toLowerCase()));
-        } catch (Exception e) {
-            return Biome.SNOWY_PLAINS;
-        }
-    }
-
-    /** Prüft, ob ein Biome natürlich Eis enthält (damit wir es nicht fälschlicherweise entfernen) */
-    private boolean isNaturallyIcyBiome(Biome biome) {
-        if (biome == null) return false;
-        // Use getKey() instead of deprecated name()
-        String name = biome.getKey().getKey().toLowerCase();
-        return name.contains("frozen") ||
-               name.contains("ice") ||
-               name.contains("snowy") ||
-               name.equals("grove") ||
-               name.equals("jagged_peaks");
-    }
-
-    /** Prüft, ob ein Biome natürlich Schnee enthält (damit wir ihn nicht fälschlicherweise entfernen) */
-    private boolean isNaturallySnowyBiome(Biome biome) {
-        if (biome == null) return false;
-        // Use getKey() instead of deprecated name()
-        String name = biome.getKey().getKey().toLowerCase();
-        return name.contains("snowy") ||
-               name.contains("frozen") ||
-               name.contains("ice") ||
-               name.equals("grove") ||
-               name.equals("jagged_peaks") ||
-               name.equals("frozen_peaks");
+        // Einmal beim Laden der Settings über Registry.BIOME aufgelöst
+        return plugin.getSettings().targetBiome;
     }
 
     private int getVerticalStep() {
-        // Korrekt für 1.18+: Biome-Auflösung 4 Blöcke hoch → Schrittweite 4 für volle Abdeckung
-        return Math.max(1, plugin.getConfig().getInt("biome.verticalStep", 4));
-    }
-
-    /**
-     * ABSICHERUNG: Prüft ob ein Biom geändert werden darf
-     * Blockiert Nether, End und Höhlen-Biome komplett!
-     */
-    private boolean isBiomeAllowedToChange(Biome biome) {
-        if (biome == null) return false;
-
-        // Use getKey() instead of deprecated name()
-        String name = biome.getKey().getKey().toUpperCase();
-
-        // BLACKLIST: Diese Biome NIEMALS ändern!
-        // Nether-Biome
-        if (name.contains("NETHER")) return false;
-        if (name.contains("CRIMSON")) return false;
-        if (name.contains("WARPED")) return false;
-        if (name.contains("BASALT")) return false;
-        if (name.contains("SOUL")) return false;
-
-        // End-Biome
-        if (name.contains("END")) return false;
-        if (name.equals("THE_END")) return false;
-        if (name.equals("SMALL_END_ISLANDS")) return false;
-        if (name.equals("END_BARRENS")) return false;
-        if (name.equals("END_HIGHLANDS")) return false;
-        if (name.equals("END_MIDLANDS")) return false;
-
-        // Höhlen-Biome (unterirdisch)
-        if (name.contains("CAVE")) return false;
-        if (name.contains("DEEP_DARK")) return false;
-        if (name.equals("LUSH_CAVES")) return false;
-        if (name.equals("DRIPSTONE_CAVES")) return false;
-
-        // Alles andere ist erlaubt
-        return true;
+        return plugin.getSettings().verticalStep;
     }
 
     /**
@@ -916,23 +1833,24 @@ public class BiomeSnowManager {
      * ABSICHERUNG: Erstelle 3D-Snapshot mit exakten Biom-Positionen
      * Nur für erlaubten Y-Bereich (50-200)
      * PERFORMANCE-OPTIMIERT: Cache für DB-Lookups
+     *
+     * @param applied Biom, das danach tatsächlich angewendet wird (Config-Ziel oder /xmas biome set)
+     * @param staleRow true = eine vorhandene Zeile wurde bekanntermaßen für ein anderes Zielbiom
+     *                 geschrieben → fehlende Sparse-Zellen nachtragen (DB-Lesen, nur dann)
      */
-    private void snapshotIfAbsent(World w, Chunk c) {
+    private void snapshotIfAbsent(World w, Chunk c, Biome applied, boolean staleRow) {
         if (db == null) {
             return; // Kein Debug-Spam
         }
 
         ChunkKey key = new ChunkKey(w.getName(), c.getX(), c.getZ());
 
-        // PERFORMANCE FIX: Prüfe Cache BEVOR wir DB abfragen
-        if (knownSnapshotChunks.contains(key)) {
-            return; // Bereits gesnapshoted (Cache-Hit)
-        }
-
         try {
-            // DB-Abfrage nur wenn nicht im Cache
-            if (db.hasChunk(key.world, key.x, key.z)) {
+            // PERFORMANCE FIX: Prüfe Cache BEVOR wir DB abfragen
+            if (knownSnapshotChunks.contains(key) || db.hasChunk(key.world, key.x, key.z)) {
                 knownSnapshotChunks.add(key); // Zu Cache hinzufügen
+                // SPARSE: Zeile für ein anderes Zielbiom geschrieben → fehlende Zellen nachtragen
+                if (staleRow) mergeSparseSnapshot(w, c, key, applied);
                 return;
             }
 
@@ -951,16 +1869,25 @@ public class BiomeSnowManager {
             int bx = c.getX() << 4;
             int bz = c.getZ() << 4;
 
+            // SPARSE: Nur Zellen merken, die applyUniformBiomeColumn() wirklich umschreibt
+            // (nicht bereits das angewendete Biom, nicht blockiert, unterhalb maxY) - null = bleibt unverändert
+            boolean sparse = plugin.getSettings().sparseSnapshots;
+            BiomeClassifier classifier = plugin.getBiomeClassifier();
+            int cells = 0;
+
             // Sample Biome auf jeder Y-Ebene
             for (int layer = 0; layer < yLayers; layer++) {
                 int y = minY + (layer * yStep);
                 // Stelle sicher wir gehen nicht über Minecraft's Höhenlimit
                 if (y > 319) break; // Minecraft 1.21 max height
+                if (sparse && y >= maxY) break;
 
                 for (int x = 0; x < 16; x++) {
                     for (int z = 0; z < 16; z++) {
                         Biome biome = w.getBiome(bx + x, y, bz + z);
+                        if (sparse && (biome == applied || !classifier.isAllowedToChange(biome))) continue;
                         biomes3D[layer][x][z] = biome;
+                        cells++;
                     }
                 }
             }
@@ -971,7 +1898,7 @@ public class BiomeSnowManager {
             for (int layer = 0; layer < yLayers; layer++) {
                 for (int x = 0; x < 16; x++) {
                     for (int z = 0; z < 16; z++) {
-                        uniqueBiomes.add(biomes3D[layer][x][z]);
+                        if (biomes3D[layer][x][z] != null) uniqueBiomes.add(biomes3D[layer][x][z]);
                     }
                 }
             }
@@ -984,16 +1911,18 @@ public class BiomeSnowManager {
             // WARNUNG: Wenn nur SNOWY_PLAINS gefunden wurde, ist der Chunk möglicherweise bereits geändert!
             // Wir speichern trotzdem einen Snapshot, da sonst bei Restore GAR NICHTS restored wird.
             // Besser SNOWY_PLAINS → SNOWY_PLAINS restoren als GAR NICHT restoren!
-            if (uniqueBiomes.size() == 1 && uniqueBiomes.contains(Biome.SNOWY_PLAINS)) {
+            if (!sparse && uniqueBiomes.size() == 1 && uniqueBiomes.contains(Biome.SNOWY_PLAINS)) {
                 plugin.debug("WARNUNG: Chunk " + key.x + "," + key.z + " ist bereits 100% SNOWY_PLAINS!");
                 plugin.debug("  Snapshot wird trotzdem erstellt (Fallback für Restore).");
                 // Fahre fort mit Snapshot-Erstellung
             }
 
             // Speichere 3D-Snapshot
-            db.saveChunk3D(key.world, key.x, key.z, biomes3D, minY, yStep);
+            // Auch ein leerer Sparse-Snapshot wird gespeichert: markiert den Chunk als erfasst (Journal, Restore-Job)
+            db.saveChunk3D(key.world, key.x, key.z, biomes3D, minY, yStep, sparse);
             knownSnapshotChunks.add(key); // PERFORMANCE FIX: Zu Cache hinzufügen nach Snapshot
-            plugin.verboseDebugLang("log.debug.snapshot.saved", key.x, key.z, yLayers);
+            if (sparse) plugin.verboseDebugLang("log.debug.snapshot.saved-sparse", key.x, key.z, cells);
+            else plugin.verboseDebugLang("log.debug.snapshot.saved", key.x, key.z, yLayers);
 
         } catch (SQLException e) {
             plugin.getLogger().warning(plugin.getLanguageManager().getMessage("log.biome.error-saving-snapshot", e.getMessage()));
@@ -1001,6 +1930,41 @@ public class BiomeSnowManager {
         }
     }
 
+    /**
+     * SPARSE: Trägt Zellen in eine bestehende Sparse-Zeile nach, die das angewendete Biom
+     * jetzt umschreiben würde (Zielbiom geändert, /xmas biome set mit anderem Biom).
+     * Solche Zellen waren beim Snapshot bereits das damalige Zielbiom und wurden nie
+     * geändert - ihr aktuelles Biom ist also noch das Original.
+     * Volle Zeilen (0x3D/0x3E) enthalten ohnehin jede Zelle.
+     */
+    private void mergeSparseSnapshot(World w, Chunk c, ChunkKey key, Biome applied) throws SQLException {
+        BiomeSnapshotDatabase.BiomeSnapshot3D snapshot = db.loadChunk3D(key.world, key.x, key.z);
+        if (snapshot == null || !snapshot.sparse) return;
+
+        int bx = c.getX() << 4;
+        int bz = c.getZ() << 4;
+        int maxY = getMaxChangeY();
+        BiomeClassifier classifier = plugin.getBiomeClassifier();
+        int added = 0;
+        for (int layer = 0; layer < snapshot.biomes.length; layer++) {
+            int y = snapshot.yStart + layer * snapshot.yStep;
+            if (y >= maxY) break;
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    if (snapshot.biomes[layer][x][z] != null) continue; // Original bereits gesichert
+                    Biome biome = w.getBiome(bx + x, y, bz + z);
+                    if (biome == applied || !classifier.isAllowedToChange(biome)) continue;
+                    snapshot.biomes[layer][x][z] = biome;
+                    added++;
+                }
+            }
+        }
+        if (added == 0) return;
+
+        db.updateSparseChunk3D(key.world, key.x, key.z, snapshot.biomes, snapshot.yStart, snapshot.yStep);
+        plugin.verboseDebugLang("log.debug.snapshot.saved-sparse", key.x, key.z, added);
+    }
+
     /**
      * Setzt nur ERLAUBTE Oberflächen-Biome auf das Zielbiom
      * ABSICHERUNG: Nether/End/Höhlen werden NICHT geändert!
@@ -1035,13 +1999,15 @@ public class BiomeSnowManager {
         }
 
         // Chunk muss geändert werden - aber NUR erlaubte Biome!
+        // PERFORMANCE: Vorberechnete Klassifizierung statt String-Vergleichen pro Zelle
+        BiomeClassifier classifier = plugin.getBiomeClassifier();
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
                 for (int y = minY; y < maxY; y += step) {
                     Biome currentBiome = world.getBiome(bx + x, y, bz + z);
 
                     // ABSICHERUNG: Nur ändern wenn erlaubt!
-                    if (currentBiome != target && isBiomeAllowedToChange(currentBiome)) {
+                    if (currentBiome != target && classifier.isAllowedToChange(currentBiome)) {
                         world.setBiome(bx + x, y, bz + z, target);
                         modified = true;
                     }
@@ -1053,7 +2019,7 @@ public class BiomeSnowManager {
 
     private void refreshChunkSafe(World w, Chunk c) {
         // PERFORMANCE FIX: Nur refreshen wenn in Config aktiviert
-        if (!plugin.getConfig().getBoolean("biome.playerBubble.refreshClient", true)) {
+        if (!plugin.getSettings().bubbleRefreshClient) {
             return; // Client-Refresh deaktiviert - Spieler sehen Updates beim Relog
         }
 
@@ -1063,17 +2029,9 @@ public class BiomeSnowManager {
         int centerX = (chunkX << 4) + 8;
         int centerZ = (chunkZ << 4) + 8;
 
-        // Prüfe ob überhaupt ein Spieler in Sichtweite ist
-        boolean hasNearbyPlayers = false;
-        for (Player p : w.getPlayers()) {
-            int px = p.getLocation().getBlockX();
-            int pz = p.getLocation().getBlockZ();
-            int distSq = (px - centerX) * (px - centerX) + (pz - centerZ) * (pz - centerZ);
-            if (distSq < 160 * 160) { // 10 chunks = 160 blocks
-                hasNearbyPlayers = true;
-                break;
-            }
-        }
+        // Prüfe ob überhaupt ein Spieler in Sichtweite ist (10 chunks = 160 blocks)
+        // PERFORMANCE: Zellen-Lookup im Spieler-Index statt linearer Suche
+        boolean hasNearbyPlayers = plugin.getPlayerIndex().hasPlayerWithin(w, centerX, centerZ, 160);
 
         // Wenn keine Spieler in der Nähe, überspringe Refresh komplett
         if (!hasNearbyPlayers) {
@@ -1086,68 +2044,30 @@ public class BiomeSnowManager {
         } catch (Throwable ignored) {}
     }
 
-    /** schreibt Biome eines Chunks anhand der Referenzwelt (Seed) zurück */
-    private boolean restoreChunkFromRef(World targetWorld, World refWorld, Chunk targetChunk) {
+    /**
+     * Schreibt die Seed-Biome eines Chunks zurück (Region-Thread)
+     * Ein setBiome() pro 4x4-Zelle reicht, Minecraft speichert Biome in diesem Raster.
+     */
+    private boolean applySeedBiomes(World w, int chunkX, int chunkZ, SeedBiomeOracle oracle, Biome[] grid) {
         boolean modified = false;
-        int cx = targetChunk.getX(), cz = targetChunk.getZ();
-        refWorld.getChunkAt(cx, cz); // sicherstellen, dass Referenzchunk generiert
-
-        int minY = targetWorld.getMinHeight(), maxY = targetWorld.getMaxHeight();
+        int minY = w.getMinHeight(), maxY = w.getMaxHeight();
         int step = getVerticalStep();
-        int bx = cx << 4, bz = cz << 4;
+        int bx = chunkX << 4, bz = chunkZ << 4;
 
-        // FIX: Lese Referenz-Biom pro Y-Level (nicht nur Y=64), damit Cave-Biomes korrekt restored werden
-        for (int x = 0; x < 16; x++) for (int z = 0; z < 16; z++) {
+        // Pro Y-Level (nicht nur Y=64), damit Cave-Biomes korrekt restored werden
+        for (int x = 0; x < 16; x += 4) for (int z = 0; z < 16; z += 4) {
             for (int y = minY; y < maxY; y += step) {
-                Biome refBiome = refWorld.getBiome(bx + x, y, bz + z);
-                if (targetWorld.getBiome(bx + x, y, bz + z) != refBiome) {
-                    targetWorld.setBiome(bx + x, y, bz + z, refBiome);
+                Biome seedBiome = oracle.get(grid, x, y, z);
+                if (seedBiome != null && w.getBiome(bx + x, y, bz + z) != seedBiome) {
+                    w.setBiome(bx + x, y, bz + z, seedBiome);
                     modified = true;
                 }
             }
         }
-        if (modified) refreshChunkSafe(targetWorld, targetChunk);
+        if (modified) refreshChunkSafe(w, w.getChunkAt(chunkX, chunkZ));
         return modified;
     }
 
-    /** Referenzwelt aus gleichem Seed (Reflection, keine direkte Abhängigkeit) */
-    private World getOrCreateRefWorld() {
-        if (refWorld != null && Bukkit.getWorld(refWorld.getName()) != null) return refWorld;
-
-        String worldName = plugin.getConfig().getString("snowWorld", "world");
-        World main = Bukkit.getWorld(worldName);
-        if (main == null) throw new IllegalStateException("Target world not found: " + worldName);
-
-        String refName = worldName + "_xmas_ref";
-        World existing = Bukkit.getWorld(refName);
-        if (existing != null) { refWorld = existing; return refWorld; }
-
-        try {
-            Class<?> wcClazz = Class.forName("org.bukkit.WorldCreator");
-            Constructor<?> ctor = wcClazz.getConstructor(String.class);
-            Object wc = ctor.newInstance(refName);
-
-            try { wcClazz.getMethod("seed", long.class).invoke(wc, main.getSeed()); } catch (Throwable ignored) {}
-            try { wcClazz.getMethod("environment", World.Environment.class).invoke(wc, main.getEnvironment()); } catch (Throwable ignored) {}
-
-            Method createWorld = Bukkit.getServer().getClass().getMethod("createWorld", wcClazz);
-            refWorld = (World) createWorld.invoke(Bukkit.getServer(), wc);
-
-            try { refWorld.setAutoSave(false); } catch (Throwable ignored) {}
-            try { refWorld.getClass().getMethod("setKeepSpawnLoaded", boolean.class).invoke(refWorld, false); } catch (Throwable ignored) {}
-            try { refWorld.getClass().getMethod("setKeepSpawnInMemory", boolean.class).invoke(refWorld, false); } catch (Throwable ignored) {}
-            return refWorld;
-        } catch (Exception e) {
-            throw new IllegalStateException("Could not create reference world via reflection", e);
-        }
-    }
-
-    private void unloadRefWorld() {
-        if (refWorld == null) return;
-        try { Bukkit.unloadWorld(refWorld, false); } catch (Throwable ignored) {}
-        refWorld = null;
-    }
-
     /**
      * Manueller Set-Befehl für problematische Stellen
      * FOLIA-KOMPATIBEL: Verwendet Location Scheduler für Chunk-Operationen
@@ -1167,8 +2087,7 @@ public class BiomeSnowManager {
         }
 
         World w = p.getWorld();
-        String worldName = plugin.getConfig().getString("snowWorld", "world");
-        if (!w.getName().equals(worldName)) return 0;
+        if (plugin.getSeasonWorlds().get(w) == null) return 0;
 
         // FOLIA FIX: Berechne Chunk-Koordinaten ohne getChunk()
         org.bukkit.Location loc = p.getLocation();
@@ -1194,19 +2113,18 @@ public class BiomeSnowManager {
             }
         }
 
-        // FOLIA FIX: Verarbeite jeden Chunk auf Location Scheduler
+        // FOLIA FIX: Verarbeite jeden Chunk auf seinem Region-Thread (gebündelt pro Region-Sektion)
         for (int dx = -radiusChunks; dx <= radiusChunks; dx++) {
             for (int dz = -radiusChunks; dz <= radiusChunks; dz++) {
                 final int chunkX = baseCX + dx;
                 final int chunkZ = baseCZ + dz;
 
-                org.bukkit.Location chunkLoc = new org.bukkit.Location(w, (chunkX << 4) + 8, 64, (chunkZ << 4) + 8);
-
-                scheduler.runAtLocation(chunkLoc, () -> {
+                scheduler.runInChunk(w, chunkX, chunkZ, () -> {
+                    if (!w.isChunkLoaded(chunkX, chunkZ)) return; // Nicht laden/generieren
                     Chunk chunk = w.getChunkAt(chunkX, chunkZ);
-                    if (!chunk.isLoaded()) return;
 
-                    snapshotIfAbsent(w, chunk);
+                    // SPARSE: Zeilen des Crawlers gelten dem Config-Ziel → nur bei anderem Biom nachtragen
+                    snapshotIfAbsent(w, chunk, target, target != getTargetBiome());
                     if (applyUniformBiomeColumn(w, chunk, target)) {
                         refreshChunkSafe(w, chunk);
                     }
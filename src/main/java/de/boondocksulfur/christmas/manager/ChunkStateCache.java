@@ -0,0 +1,157 @@
+package de.boondocksulfur.christmas.manager;
+
+import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistenter Umwandlungs-Zustand pro Chunk (Spalte 'state' der chunks-Tabelle).
+ *
+ * Der Zustand ist ein Hash aus Zielbiom und Y-Bereich der Umwandlung. Stimmt er
+ * mit der aktuellen Konfiguration überein, wurde der Chunk bereits umgewandelt und
+ * wird nach einem Neustart ohne Biom-Stichproben und ohne hasChunk()-Abfrage
+ * übersprungen. Ändert sich Zielbiom oder Y-Bereich, passt der Hash nicht mehr
+ * und der Chunk wird neu geprüft.
+ *
+ * Zustände werden pro Region (32x32 Chunks) bei Bedarf async aus der DB geladen,
+ * neue Markierungen gesammelt und periodisch geschrieben.
+ * Ein Restore löscht die Snapshot-Zeile und damit auch den Zustand.
+ *
+ * THREAD-SAFE: get()/markConverted() laufen auf Region-Threads, load()/flush() async.
+ */
+public class ChunkStateCache {
+
+    /** 32x32 Chunks = eine Region-Datei (.mca) */
+    private static final int REGION_SHIFT = 5;
+    /** Max. gleichzeitig im Speicher gehaltene Regionen */
+    private static final int MAX_REGIONS = 512;
+    /** Platzhalter während eine Region geladen wird */
+    private static final Region LOADING = new Region();
+
+    /** Geladene Region: Chunk → Zustand, plus letzter Zugriff für die Verdrängung */
+    private static final class Region extends ConcurrentHashMap<Long, Integer> {
+        volatile long lastAccess = System.currentTimeMillis();
+    }
+
+    private final FoliaSchedulerHelper scheduler;
+    // Welt → Region → Chunk → Zustand (0 = Snapshot ohne Zustand)
+    private final Map<String, Map<Long, Region>> regions = new ConcurrentHashMap<>();
+    // Welt → Chunk → Zustand, noch nicht in der DB
+    private final Map<String, Map<Long, Integer>> dirty = new ConcurrentHashMap<>();
+
+    public ChunkStateCache(FoliaSchedulerHelper scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Zustand eines Chunks
+     * Ist die Region noch nicht geladen, wird sie async nachgeladen (der Aufrufer
+     * verarbeitet den Chunk in diesem Fall normal).
+     *
+     * @return Zustand, 0 = Snapshot vorhanden aber nicht markiert, null = keine Zeile oder Region noch nicht geladen
+     */
+    public Integer get(BiomeSnapshotDatabase db, String world, int chunkX, int chunkZ) {
+        if (db == null) return null;
+        Map<Long, Region> worldRegions = regions.computeIfAbsent(world, k -> new ConcurrentHashMap<>());
+        long regionKey = WinterBlockJournal.packChunk(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+
+        Region region = worldRegions.get(regionKey);
+        if (region == null) {
+            if (worldRegions.putIfAbsent(regionKey, LOADING) == null) {
+                load(db, world, worldRegions, regionKey, chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+            }
+            return null;
+        }
+        if (region != LOADING) region.lastAccess = System.currentTimeMillis();
+        return region.get(WinterBlockJournal.packChunk(chunkX, chunkZ));
+    }
+
+    private void load(BiomeSnapshotDatabase db, String world, Map<Long, Region> worldRegions,
+                      long regionKey, int regionX, int regionZ) {
+        scheduler.runAsync(() -> {
+            try {
+                int minX = regionX << REGION_SHIFT, minZ = regionZ << REGION_SHIFT;
+                int size = 1 << REGION_SHIFT;
+                Region states = new Region();
+                states.putAll(db.loadChunkStates(world, minX, minZ, minX + size - 1, minZ + size - 1));
+
+                // Markierungen, die während des Ladens entstanden sind, nicht überschreiben
+                Map<Long, Integer> pending = dirty.get(world);
+                if (pending != null) {
+                    pending.forEach((chunk, state) -> {
+                        if (regionKey == WinterBlockJournal.packChunk((int) (chunk >> 32) >> REGION_SHIFT, (int) (long) chunk >> REGION_SHIFT)) {
+                            states.put(chunk, state);
+                        }
+                    });
+                }
+                worldRegions.replace(regionKey, LOADING, states);
+                evictIfFull(worldRegions);
+            } catch (SQLException e) {
+                // Beim nächsten Zugriff erneut versuchen
+                worldRegions.remove(regionKey, LOADING);
+            }
+        });
+    }
+
+    private void evictIfFull(Map<Long, Region> worldRegions) {
+        if (worldRegions.size() <= MAX_REGIONS) return;
+        // Entferne die 20% am längsten nicht abgefragten Regionen (Spieler-Regionen bleiben warm)
+        // Zugriffszeit einmal festhalten: get() aktualisiert sie während des Sortierens weiter
+        List<long[]> loaded = new ArrayList<>(worldRegions.size());
+        for (Map.Entry<Long, Region> entry : worldRegions.entrySet()) {
+            if (entry.getValue() != LOADING) loaded.add(new long[]{entry.getKey(), entry.getValue().lastAccess});
+        }
+        loaded.sort(Comparator.comparingLong(entry -> entry[1]));
+        int toRemove = Math.min(loaded.size(), MAX_REGIONS / 5);
+        for (int i = 0; i < toRemove; i++) {
+            Region region = worldRegions.get(loaded.get(i)[0]);
+            if (region != null && region != LOADING) worldRegions.remove(loaded.get(i)[0], region);
+        }
+    }
+
+    /**
+     * Merkt einen Chunk als umgewandelt (Schreiben beim nächsten flush())
+     */
+    public void markConverted(String world, int chunkX, int chunkZ, int state) {
+        long chunk = WinterBlockJournal.packChunk(chunkX, chunkZ);
+        dirty.computeIfAbsent(world, k -> new ConcurrentHashMap<>()).put(chunk, state);
+
+        Map<Long, Region> worldRegions = regions.get(world);
+        if (worldRegions == null) return;
+        Region region = worldRegions.get(WinterBlockJournal.packChunk(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT));
+        if (region != null && region != LOADING) region.put(chunk, state);
+    }
+
+    /**
+     * Schreibt alle gesammelten Markierungen in die DB (async oder beim Stop)
+     * Bei einem Fehler bleiben die Markierungen für den nächsten Versuch erhalten.
+     */
+    public void flush(BiomeSnapshotDatabase database) throws SQLException {
+        for (Map.Entry<String, Map<Long, Integer>> world : dirty.entrySet()) {
+            Map<Long, Integer> batch = new java.util.HashMap<>();
+            for (Long key : world.getValue().keySet()) {
+                Integer state = world.getValue().remove(key);
+                if (state != null) batch.put(key, state);
+            }
+            try {
+                database.saveChunkStates(world.getKey(), batch);
+            } catch (SQLException e) {
+                batch.forEach(world.getValue()::putIfAbsent);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Vergisst alle geladenen Regionen (Stop, Restore)
+     * Offene Markierungen bleiben für das abschließende flush() erhalten.
+     */
+    public void clear() {
+        regions.clear();
+    }
+}
@@ -8,10 +8,8 @@ import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
-import com.tcoded.folialib.wrapper.task.WrappedTask;
 import de.boondocksulfur.christmas.ChristmasSeason;
 import de.boondocksulfur.christmas.util.LanguageManager;
-import de.boondocksulfur.christmas.util.SpawnUtil;
 import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
 
 import java.util.List;
@@ -24,9 +22,6 @@ public class DecorationManager {
     private final FoliaSchedulerHelper scheduler;
     private final Random random = new Random();
 
-    // FOLIA FIX: Player-basierte Spawn-Timer (Entity Scheduler)
-    private final java.util.Map<java.util.UUID, WrappedTask> playerSpawnTasks = new java.util.concurrent.ConcurrentHashMap<>();
-
     // FOLIA FIX: Track spawned decorations by UUID for safe cleanup
     private final java.util.Set<java.util.UUID> trackedDecorations = java.util.concurrent.ConcurrentHashMap.newKeySet();
 
@@ -38,60 +33,14 @@ public class DecorationManager {
 
     public void start() {
         stop();
-        // FOLIA FIX: Spawn-Timer sind jetzt Player-basiert (siehe startPlayerSpawning)
-        plugin.debug("DecorationManager gestartet (Folia-kompatibel: Player-basierte Spawns)");
+        // Spawns laufen über den gemeinsamen SpawnDirector (siehe spawnContent)
+        plugin.debug("DecorationManager gestartet (Spawns über SpawnDirector)");
     }
 
     public void stop() {
-        // FOLIA FIX: Stoppe alle Player-basierten Tasks
-        for (WrappedTask task : playerSpawnTasks.values()) {
-            if (task != null) task.cancel();
-        }
-        playerSpawnTasks.clear();
         // Note: trackedDecorations wird NICHT geleert - bleibt für cleanup() erhalten
     }
 
-    /**
-     * Startet Dekorations-Spawning für einen Spieler (Entity Scheduler)
-     * FOLIA-KOMPATIBEL: Läuft auf Entity Scheduler des Players
-     */
-    public void startPlayerSpawning(org.bukkit.entity.Player player) {
-        if (!plugin.getConfig().getBoolean("decoration.enabled", true)) return;
-
-        java.util.UUID uuid = player.getUniqueId();
-        WrappedTask oldTask = playerSpawnTasks.remove(uuid);
-        if (oldTask != null) oldTask.cancel();
-
-        int interval = plugin.getConfig().getInt("decoration.intervalSeconds", 25);
-        double spawnChance = plugin.getConfig().getDouble("decoration.spawnChance", 0.9);
-
-        WrappedTask task = scheduler.runForEntityTimer(player, () -> {
-            if (!player.isOnline() || !player.isValid()) {
-                stopPlayerSpawning(player);
-                return;
-            }
-            if (random.nextDouble() <= spawnChance) {
-                spawnDecorationNearPlayer(player);
-            }
-        }, 40L, interval * 20L);
-
-        if (task != null) {
-            playerSpawnTasks.put(uuid, task);
-            plugin.debug("Dekorations-Spawning gestartet für " + player.getName());
-        }
-    }
-
-    /**
-     * Stoppt Dekorations-Spawning für einen Spieler
-     */
-    public void stopPlayerSpawning(org.bukkit.entity.Player player) {
-        WrappedTask task = playerSpawnTasks.remove(player.getUniqueId());
-        if (task != null) {
-            task.cancel();
-            plugin.debug("Dekorations-Spawning gestoppt für " + player.getName());
-        }
-    }
-
     /**
      * Entfernt alle Dekorations-Items aus der Welt
      * FOLIA-SAFE: Verwendet tracked UUIDs und schedult Entfernung pro Entity
@@ -125,60 +74,69 @@ public class DecorationManager {
     }
 
     /**
-     * Spawnt Dekoration in Nähe eines Spielers
-     * FOLIA-KOMPATIBEL: Wird von Entity Scheduler des Players aufgerufen
+     * Dekoration als Inhalt des SpawnDirectors
+     * FOLIA-KOMPATIBEL: wants() auf dem Entity-Thread des Spielers, spawn() auf dem Region-Thread
      */
-    private void spawnDecorationNearPlayer(Player player) {
-        World w = player.getWorld();
-        String worldName = plugin.getConfig().getString("snowWorld", "world");
-        if (!w.getName().equals(worldName)) return;
+    public SpawnDirector.Content spawnContent() {
+        return new SpawnDirector.Content() {
+            @Override public String name() { return "Decoration"; }
+            @Override public int radius() { return 7; }
+
+            @Override
+            public long intervalTicks() {
+                return plugin.getSettings().decorationEnabled ? plugin.getSettings().decorationIntervalSeconds * 20L : 0;
+            }
 
-        List<String> drops = plugin.getConfig().getStringList("decoration.drops");
-        if (drops.isEmpty()) return;
+            @Override
+            public boolean wants(Player player, SeasonWorld ctx) {
+                if (plugin.getSettings().decorationDrops.isEmpty()) return false;
+                return random.nextDouble() <= plugin.getSettings().decorationSpawnChance;
+            }
 
-        // FOLIA FIX: Spawne auf Location Scheduler (für findSurface und dropItem)
-        Location playerLoc = player.getLocation();
+            @Override
+            public void spawn(World world, Location loc) {
+                spawnDecoration(world, loc);
+            }
+        };
+    }
 
-        scheduler.runAtLocation(playerLoc, () -> {
-            // Safe-Spawn: 5 Versuche (Performance-optimiert, strenge Wasser/Wand-Checks)
-            Location place = SpawnUtil.findSafeSpawnLocation(w, playerLoc, 7, 5);
+    /**
+     * Droppt ein Dekorations-Item
+     * FOLIA-KOMPATIBEL: Läuft auf dem Region-Thread der Location
+     */
+    private void spawnDecoration(World w, Location place) {
+        List<String> drops = plugin.getSettings().decorationDrops;
+        if (drops.isEmpty()) return;
 
-            // Region-Schutz: Kein Spawn in geschützten Bereichen
-            if (plugin.getRegionIntegration() != null && !plugin.getRegionIntegration().canSpawnAt(place)) {
-                plugin.debug("Decoration spawn blocked by region protection at " + place.getBlockX() + "," + place.getBlockZ());
-                return;
+        place = place.clone().add(0, 0.5, 0);
+
+        String entry = drops.get(random.nextInt(drops.size()));
+        String[] split = entry.split(":");
+        Material mat = Material.matchMaterial(split[0]);
+        if (mat == null) return;
+        int amount = 1;
+        if (split.length > 1) try { amount = Integer.parseInt(split[1]); } catch (NumberFormatException ignored) {}
+
+        ItemStack stack = new ItemStack(mat, amount);
+        String name = lang.get("entity.decoration");
+        ItemMeta meta = stack.getItemMeta();
+        if (meta != null) { meta.setDisplayName(name); stack.setItemMeta(meta); }
+
+        Item item = w.dropItem(place, stack);
+        item.setCustomName(name);
+        item.setCustomNameVisible(true);
+        item.setPickupDelay(plugin.getSettings().decorationPickupDelayTicks);
+        try { item.setGlowing(plugin.getSettings().decorationGlow); } catch (Throwable ignored) {}
+
+        // FOLIA FIX: Track spawned decoration
+        trackedDecorations.add(item.getUniqueId());
+
+        int lifetime = plugin.getSettings().decorationLifetimeSeconds;
+        scheduler.runForEntityLater(item, () -> {
+            if (!item.isDead() && item.isValid()) {
+                item.remove();
+                trackedDecorations.remove(item.getUniqueId()); // Remove from tracking
             }
-
-            place = place.add(0, 0.5, 0);
-
-            String entry = drops.get(random.nextInt(drops.size()));
-            String[] split = entry.split(":");
-            Material mat = Material.matchMaterial(split[0]);
-            if (mat == null) return;
-            int amount = 1;
-            if (split.length > 1) try { amount = Integer.parseInt(split[1]); } catch (NumberFormatException ignored) {}
-
-            ItemStack stack = new ItemStack(mat, amount);
-            String name = lang.get("entity.decoration");
-            ItemMeta meta = stack.getItemMeta();
-            if (meta != null) { meta.setDisplayName(name); stack.setItemMeta(meta); }
-
-            Item item = w.dropItem(place, stack);
-            item.setCustomName(name);
-            item.setCustomNameVisible(true);
-            item.setPickupDelay(plugin.getConfig().getInt("decoration.pickupDelayTicks", 0));
-            try { item.setGlowing(plugin.getConfig().getBoolean("decoration.glow", true)); } catch (Throwable ignored) {}
-
-            // FOLIA FIX: Track spawned decoration
-            trackedDecorations.add(item.getUniqueId());
-
-            int lifetime = plugin.getConfig().getInt("decoration.lifetimeSeconds", 180);
-            scheduler.runForEntityLater(item, () -> {
-                if (!item.isDead() && item.isValid()) {
-                    item.remove();
-                    trackedDecorations.remove(item.getUniqueId()); // Remove from tracking
-                }
-            }, lifetime * 20L);
-        });
+        }, lifetime * 20L);
     }
 }
@@ -4,14 +4,12 @@ import org.bukkit.*;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.Chest;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
-import com.tcoded.folialib.wrapper.task.WrappedTask;
 import de.boondocksulfur.christmas.ChristmasSeason;
 import de.boondocksulfur.christmas.util.LanguageManager;
-import de.boondocksulfur.christmas.util.SpawnUtil;
+import de.boondocksulfur.christmas.util.SeasonSettings;
 import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
 
 import java.util.*;
@@ -23,9 +21,6 @@ public class GiftManager {
     private final FoliaSchedulerHelper scheduler;
     private final Random random = new Random();
 
-    // FOLIA FIX: Player-basierte Spawn-Timer (Entity Scheduler)
-    private final Map<UUID, WrappedTask> playerSpawnTasks = new java.util.concurrent.ConcurrentHashMap<>();
-
     // OPTIMIERUNG: Tracke gespawnte Geschenk-Locations statt alle Chunks zu durchsuchen
     // FIX: thread-safe für Folia Location Scheduler
     private final Set<Location> trackedGifts = java.util.concurrent.ConcurrentHashMap.newKeySet();
@@ -38,62 +33,14 @@ public class GiftManager {
 
     public void start() {
         stop();
-        // FOLIA FIX: Spawn-Timer sind jetzt Player-basiert (siehe startPlayerSpawning)
-        plugin.debug("GiftManager gestartet (Folia-kompatibel: Player-basierte Spawns)");
+        // Spawns laufen über den gemeinsamen SpawnDirector (siehe spawnContent)
+        plugin.debug("GiftManager gestartet (Spawns über SpawnDirector)");
     }
 
     public void stop() {
-        // FOLIA FIX: Stoppe alle Player-basierten Tasks
-        for (WrappedTask task : playerSpawnTasks.values()) {
-            if (task != null) task.cancel();
-        }
-        playerSpawnTasks.clear();
         trackedGifts.clear();
     }
 
-    /**
-     * Startet Geschenk-Spawning für einen Spieler (Entity Scheduler)
-     * FOLIA-KOMPATIBEL: Läuft auf Entity Scheduler des Players
-     */
-    public void startPlayerSpawning(Player player) {
-        if (!plugin.getConfig().getBoolean("gifts.enabled", true)) return;
-
-        UUID uuid = player.getUniqueId();
-        WrappedTask oldTask = playerSpawnTasks.remove(uuid);
-        if (oldTask != null) oldTask.cancel();
-
-        int interval = plugin.getConfig().getInt("gifts.globalIntervalSeconds", 160);
-        // FOLIA FIX: Bei Player-basiertem Spawning Chance auf 1.0 für zuverlässiges Timing
-        // (Bei globalem Timer mit mehreren Spielern war die Chance sinnvoll, jetzt nicht mehr)
-        double chance = plugin.getConfig().getDouble("gifts.chancePerInterval", 1.0);
-
-        WrappedTask task = scheduler.runForEntityTimer(player, () -> {
-            if (!player.isOnline() || !player.isValid()) {
-                stopPlayerSpawning(player);
-                return;
-            }
-            if (random.nextDouble() <= chance) {
-                spawnGiftNearPlayer(player);
-            }
-        }, 80L, interval * 20L);
-
-        if (task != null) {
-            playerSpawnTasks.put(uuid, task);
-            plugin.debug("Geschenk-Spawning gestartet für " + player.getName());
-        }
-    }
-
-    /**
-     * Stoppt Geschenk-Spawning für einen Spieler
-     */
-    public void stopPlayerSpawning(Player player) {
-        WrappedTask task = playerSpawnTasks.remove(player.getUniqueId());
-        if (task != null) {
-            task.cancel();
-            plugin.debug("Geschenk-Spawning gestoppt für " + player.getName());
-        }
-    }
-
     /** Entfernt alle Geschenk-Chests aus der Welt */
     public void cleanup() {
         int removed = 0;
@@ -117,29 +64,31 @@ public class GiftManager {
     }
 
     /**
-     * Spawnt Geschenk in Nähe eines Spielers
-     * FOLIA-KOMPATIBEL: Wird von Entity Scheduler des Players aufgerufen
+     * Geschenke als Inhalt des SpawnDirectors
+     * FOLIA-KOMPATIBEL: wants() auf dem Entity-Thread des Spielers, spawn() auf dem Region-Thread
      */
-    private void spawnGiftNearPlayer(Player player) {
-        World w = player.getWorld();
-        String worldName = plugin.getConfig().getString("snowWorld", "world");
-        if (!w.getName().equals(worldName)) return;
-
-        // FOLIA FIX: Spawne auf Location Scheduler (für findSurface und Block-Operationen)
-        Location playerLoc = player.getLocation();
-
-        scheduler.runAtLocation(playerLoc, () -> {
-            // Safe-Spawn: 5 Versuche (Performance-optimiert, strenge Wasser/Wand-Checks)
-            Location loc = SpawnUtil.findSafeSpawnLocation(w, playerLoc, 8, 5);
-
-            // Region-Schutz: Kein Spawn in geschützten Bereichen
-            if (plugin.getRegionIntegration() != null && !plugin.getRegionIntegration().canSpawnAt(loc)) {
-                plugin.debug("Gift spawn blocked by region protection at " + loc.getBlockX() + "," + loc.getBlockZ());
-                return;
+    public SpawnDirector.Content spawnContent() {
+        return new SpawnDirector.Content() {
+            @Override public String name() { return "Gift"; }
+            @Override public long initialDelayTicks() { return 80L; }
+            @Override public int radius() { return 8; }
+
+            @Override
+            public long intervalTicks() {
+                SeasonSettings settings = plugin.getSettings();
+                return settings.giftsEnabled ? settings.giftsGlobalIntervalSeconds * 20L : 0;
+            }
+
+            @Override
+            public boolean wants(Player player, SeasonWorld ctx) {
+                return random.nextDouble() <= plugin.getSettings().giftsChancePerInterval;
             }
 
-            spawnGift(w, loc);
-        });
+            @Override
+            public void spawn(World world, Location loc) {
+                spawnGift(world, loc);
+            }
+        };
     }
 
     public void spawnGift(World w, Location loc) {
@@ -161,7 +110,7 @@ public class GiftManager {
         trackedGifts.add(chestLoc);
 
         final Block placed = b;
-        int lifetime = plugin.getConfig().getInt("gifts.lifetimeSeconds", 300);
+        int lifetime = plugin.getSettings().giftsLifetimeSeconds;
         scheduler.runAtLocationLater(chestLoc, () -> {
             if (placed.getType() == Material.CHEST) {
                 try { placed.setType(Material.AIR, false); } catch (Throwable ignored) { placed.setType(Material.AIR); }
@@ -169,17 +118,17 @@ public class GiftManager {
             }
         }, lifetime * 20L);
 
-        if (plugin.getConfig().getBoolean("gifts.broadcastOnSpawn", true)) {
+        if (plugin.getSettings().giftsBroadcastOnSpawn) {
             Bukkit.broadcastMessage(lang.getMessage("broadcast.gift-spawned",
                     w.getName(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ()));
         }
     }
 
     private void fillGiftInventory(Inventory inv) {
-        FileConfiguration cfg = plugin.getConfig();
-        List<String> common = cfg.getStringList("gifts.lootTables.common");
-        List<String> extra  = cfg.getStringList("gifts.lootTables.extra");
-        List<String> rare   = cfg.getStringList("gifts.lootTables.rare");
+        SeasonSettings settings = plugin.getSettings();
+        List<String> common = settings.giftsLootCommon;
+        List<String> extra  = settings.giftsLootExtra;
+        List<String> rare   = settings.giftsLootRare;
 
         int base = 4 + random.nextInt(4);
         for (int i = 0; i < base; i++) add(inv, common);
@@ -0,0 +1,124 @@
+package de.boondocksulfur.christmas.manager;
+
+import de.boondocksulfur.christmas.ChristmasSeason;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Dichte-Zähler der Saison-Mobs (Schneemänner, Wichtel, Elfen).
+ *
+ * Zählt Mobs pro Zelle (4x4 Chunks, wie der Spieler-Index) und pro Welt, inkrementell
+ * beim Spawn und beim Entfernen - kein Zählen über Tracking-Listen mehr.
+ * Ein Mob zählt für die Zelle seines Spawn-Punkts (Wichtel/Elfen leben kurz,
+ * Schneemänner bewegen sich kaum).
+ *
+ * Spawn-Regel: Welt-Limit (maxPerWorld) bleibt die Obergrenze, zusätzlich gilt im
+ * Umkreis des Spielers ein lokales Limit = perPlayerArea * Spieler im Umkreis.
+ * Ein einzelner Spieler kann so nicht das ganze Welt-Limit für sich belegen,
+ * und volle Hubs bekommen nicht jeden Spawn.
+ *
+ * THREAD-SAFE: Spawn/Entfernen auf Region-Threads, Abfragen auf Entity-Threads.
+ */
+public class SeasonDensity {
+
+    public enum Kind { SNOWMAN, WICHTEL, ELF }
+
+    /** Zellgröße: 64 Blöcke (= 4x4 Chunks) */
+    private static final int CELL_SHIFT = 6;
+
+    private record Home(String world, long cell, Kind kind) {}
+
+    private final ChristmasSeason plugin;
+    // Welt → Zelle → Anzahl pro Kind
+    private final Map<String, Map<Long, AtomicIntegerArray>> cells = new ConcurrentHashMap<>();
+    // Welt → Anzahl pro Kind
+    private final Map<String, AtomicIntegerArray> worlds = new ConcurrentHashMap<>();
+    private final Map<UUID, Home> homes = new ConcurrentHashMap<>();
+
+    public SeasonDensity(ChristmasSeason plugin) {
+        this.plugin = plugin;
+    }
+
+    /** Zählt einen gespawnten Mob (Region-Thread des Spawns) */
+    public void add(UUID id, Kind kind, Location loc) {
+        World world = loc.getWorld();
+        if (world == null) return;
+        Home home = new Home(world.getName(), cell(loc.getBlockX() >> CELL_SHIFT, loc.getBlockZ() >> CELL_SHIFT), kind);
+        if (homes.putIfAbsent(id, home) != null) return;
+
+        cells.computeIfAbsent(home.world(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(home.cell(), k -> new AtomicIntegerArray(Kind.values().length))
+                .incrementAndGet(kind.ordinal());
+        worlds.computeIfAbsent(home.world(), k -> new AtomicIntegerArray(Kind.values().length))
+                .incrementAndGet(kind.ordinal());
+    }
+
+    /** Nimmt einen Mob aus der Zählung (Tod, Ablauf, Cleanup); mehrfacher Aufruf ist harmlos */
+    public void remove(UUID id) {
+        Home home = homes.remove(id);
+        if (home == null) return;
+
+        Map<Long, AtomicIntegerArray> worldCells = cells.get(home.world());
+        if (worldCells != null) {
+            AtomicIntegerArray counts = worldCells.get(home.cell());
+            if (counts != null) counts.decrementAndGet(home.kind().ordinal());
+        }
+        AtomicIntegerArray total = worlds.get(home.world());
+        if (total != null) total.decrementAndGet(home.kind().ordinal());
+    }
+
+    public int countInWorld(World world, Kind kind) {
+        AtomicIntegerArray total = worlds.get(world.getName());
+        return total != null ? total.get(kind.ordinal()) : 0;
+    }
+
+    /** Mobs einer Art in allen Zellen, die den Umkreis berühren */
+    public int countNear(World world, double x, double z, double radius, Kind kind) {
+        Map<Long, AtomicIntegerArray> worldCells = cells.get(world.getName());
+        if (worldCells == null || worldCells.isEmpty()) return 0;
+
+        int minX = (int) Math.floor(x - radius) >> CELL_SHIFT, maxX = (int) Math.floor(x + radius) >> CELL_SHIFT;
+        int minZ = (int) Math.floor(z - radius) >> CELL_SHIFT, maxZ = (int) Math.floor(z + radius) >> CELL_SHIFT;
+        int count = 0;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                AtomicIntegerArray counts = worldCells.get(cell(cx, cz));
+                if (counts != null) count += counts.get(kind.ordinal());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Darf am Ort (Spieler-Position) ein weiterer Mob dieser Art spawnen?
+     *
+     * @param worldMax Welt-Limit (Obergrenze)
+     * @param perPlayerArea Lokales Limit pro Spieler im Umkreis (0 = nur Welt-Limit)
+     */
+    public boolean allows(Location at, Kind kind, int worldMax, int perPlayerArea) {
+        World world = at.getWorld();
+        if (world == null) return false;
+        if (countInWorld(world, kind) >= worldMax) return false;
+        if (perPlayerArea <= 0) return true;
+
+        double radius = plugin.getSettings().densityAreaRadius;
+        // PERFORMANCE: Zellen-Lookup im Spieler-Index (mind. der anfragende Spieler)
+        int players = Math.max(1, plugin.getPlayerIndex().getPlayersWithin(world, at.getX(), at.getZ(), radius).size());
+        return countNear(world, at.getX(), at.getZ(), radius, kind) < perPlayerArea * players;
+    }
+
+    public void clear() {
+        cells.clear();
+        worlds.clear();
+        homes.clear();
+    }
+
+    private static long cell(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,274 @@
+package de.boondocksulfur.christmas.manager;
+
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import de.boondocksulfur.christmas.ChristmasSeason;
+import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * AI-Takt für alle Saison-Mobs (Wichtel, Elfen, Schneemänner).
+ *
+ * Statt eines Timers pro Mob (plus Lifetime-Task) läuft EIN globaler Takt über ein
+ * kompaktes Array aller Mobs:
+ * - Jeder Mob hat eine Periode in Takten und eine versetzte Phase → gleiche Mob-Typen
+ *   laufen nicht alle im selben Tick
+ * - Max. maxPerRun Verhaltens-Aufrufe pro Takt; fällige Mobs darüber hinaus bleiben
+ *   fällig und kommen im nächsten Takt zuerst dran (Round-Robin über einen Cursor)
+ * - Lebensdauer wird beim Takt geprüft (kein eigener Lifetime-Task)
+ *
+ * PAPER: Verhalten läuft direkt im globalen Takt (Main-Thread).
+ * FOLIA: Aufrufe werden nach der zuletzt bekannten Position pro Region-Sektion gebündelt
+ * (ein Region-Task für alle Mobs der Sektion); ist der Mob inzwischen weitergewandert,
+ * läuft er einzeln über seinen Entity-Scheduler.
+ */
+public class SeasonMobDriver {
+
+    /** Verhalten eines Mobs (läuft auf dem Thread, dem die Entity gehört) */
+    @FunctionalInterface
+    public interface Behavior {
+        void tick(LivingEntity entity);
+    }
+
+    /** Nach so vielen Perioden ohne Rückmeldung gilt ein Aufruf als verloren (Entity entladen) */
+    private static final int STALE_PERIODS = 10;
+
+    private static final class Slot {
+        final LivingEntity entity;
+        final UUID id;
+        final Behavior behavior;
+        final Runnable onRemoved;
+        final Predicate<LivingEntity> onExpire;
+        final int period;                 // in Takten
+        final long expiresAt;             // ms, 0 = unbegrenzt
+        final AtomicBoolean inFlight = new AtomicBoolean();
+        volatile World world;
+        volatile int chunkX, chunkZ;
+        volatile boolean removed;
+        long nextRun;                     // Takt (nur Driver-Thread)
+        long dispatchedAt;                // Takt (nur Driver-Thread)
+
+        Slot(LivingEntity entity, Behavior behavior, Runnable onRemoved, Predicate<LivingEntity> onExpire,
+             int period, long expiresAt) {
+            this.entity = entity;
+            this.id = entity.getUniqueId();
+            this.behavior = behavior;
+            this.onRemoved = onRemoved;
+            this.onExpire = onExpire;
+            this.period = period;
+            this.expiresAt = expiresAt;
+            Location loc = entity.getLocation();
+            this.world = loc.getWorld();
+            this.chunkX = loc.getBlockX() >> 4;
+            this.chunkZ = loc.getBlockZ() >> 4;
+        }
+    }
+
+    private final ChristmasSeason plugin;
+    private final FoliaSchedulerHelper scheduler;
+
+    // Kompaktes Array (Swap-Remove), Zugriff unter 'this'
+    private Slot[] slots = new Slot[64];
+    private int size;
+    private int phaseCounter;
+
+    // Nur Driver-Thread (tickCount wird von register() gelesen)
+    private volatile long tickCount;
+    private int cursor;
+    private WrappedTask task;
+
+    public SeasonMobDriver(ChristmasSeason plugin) {
+        this.plugin = plugin;
+        this.scheduler = new FoliaSchedulerHelper(plugin);
+    }
+
+    public void start() {
+        stop();
+        int interval = plugin.getSettings().mobAiIntervalTicks;
+        task = scheduler.runGlobalTaskTimer(this::tick, interval, interval);
+    }
+
+    /** Stoppt den Takt und vergisst alle Mobs (die Entities selbst bleiben, wie bisher beim Task-Cancel) */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        synchronized (this) {
+            for (int i = 0; i < size; i++) slots[i].removed = true;
+            Arrays.fill(slots, 0, size, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * Nimmt einen Mob in den Takt auf
+     *
+     * @param periodTicks Abstand zwischen zwei Verhaltens-Aufrufen (Ticks, wird auf Takte gerundet)
+     * @param lifetimeMillis Lebensdauer, danach wird der Mob entfernt (0 = unbegrenzt)
+     * @param onRemoved Aufräumen beim Tod, Entladen oder Ablauf (z.B. aus dem Tracking nehmen)
+     */
+    public void register(LivingEntity entity, long periodTicks, long lifetimeMillis,
+                         Behavior behavior, Runnable onRemoved) {
+        register(entity, periodTicks, lifetimeMillis, behavior, onRemoved, null);
+    }
+
+    /**
+     * Nimmt einen Mob in den Takt auf, mit eigener Behandlung des Lebensende
+     *
+     * @param onExpire Läuft bei Ablauf der Lebensdauer (Entity-Thread); true = Mob wurde
+     *                 übernommen (z.B. geparkt), sonst wird er entfernt und onRemoved läuft
+     */
+    public synchronized void register(LivingEntity entity, long periodTicks, long lifetimeMillis,
+                                      Behavior behavior, Runnable onRemoved, Predicate<LivingEntity> onExpire) {
+        int interval = plugin.getSettings().mobAiIntervalTicks;
+        int period = (int) Math.max(1, (periodTicks + interval - 1) / interval);
+        long expiresAt = lifetimeMillis > 0 ? System.currentTimeMillis() + lifetimeMillis : 0;
+
+        Slot slot = new Slot(entity, behavior, onRemoved, onExpire, period, expiresAt);
+        // Versetzte Phase: Mobs mit gleicher Periode verteilen sich auf die Takte
+        slot.nextRun = tickCount + 1 + (phaseCounter++ % period);
+
+        if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+        slots[size++] = slot;
+    }
+
+    /** Nimmt einen Mob aus dem Takt (ohne onRemoved) */
+    public synchronized void unregister(UUID id) {
+        for (int i = 0; i < size; i++) {
+            if (slots[i].id.equals(id)) {
+                removeAt(i);
+                return;
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private synchronized boolean remove(Slot slot) {
+        for (int i = 0; i < size; i++) {
+            if (slots[i] == slot) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void removeAt(int i) {
+        slots[i].removed = true;
+        slots[i] = slots[--size];
+        slots[size] = null;
+    }
+
+    /** Ein Takt (globaler Scheduler) */
+    private void tick() {
+        long now = System.currentTimeMillis();
+        long t = ++tickCount;
+        Slot[] snapshot;
+        synchronized (this) {
+            snapshot = Arrays.copyOf(slots, size);
+        }
+        int n = snapshot.length;
+        if (n == 0) return;
+
+        int budget = plugin.getSettings().mobAiMaxPerRun;
+        int start = cursor % n;
+        int ran = 0;
+        int shed = 0;
+        for (int i = 0; i < n; i++) {
+            int index = (start + i) % n;
+            Slot slot = snapshot[index];
+            if (slot.removed || slot.nextRun > t) continue;
+
+            if (slot.inFlight.get()) {
+                // Verlorener Aufruf (Entity entladen, Entity-Scheduler hat ihn verworfen)?
+                if (t - slot.dispatchedAt > (long) slot.period * STALE_PERIODS && !slot.entity.isValid()) {
+                    release(slot);
+                }
+                continue;
+            }
+
+            if (ran >= budget) {
+                // SHEDDING: bleibt fällig, nächster Takt beginnt hier
+                if (shed++ == 0) cursor = index;
+                continue;
+            }
+
+            slot.inFlight.set(true);
+            slot.nextRun = t + slot.period;
+            slot.dispatchedAt = t;
+            ran++;
+            dispatch(slot, now);
+        }
+        if (shed == 0) cursor = start + 1; // Startpunkt rotieren, damit niemand dauerhaft vorne steht
+        else plugin.verboseDebug("Mob-AI: " + shed + " Mobs auf den nächsten Takt verschoben (Budget " + budget + ")");
+    }
+
+    private void dispatch(Slot slot, long now) {
+        if (!scheduler.isFolia()) {
+            run(slot, now);
+            return;
+        }
+
+        // FOLIA: Gebündelt nach zuletzt bekannter Position (ein Region-Task pro Region-Sektion)
+        World world = slot.world;
+        if (world == null) {
+            release(slot);
+            return;
+        }
+        scheduler.runInChunk(world, slot.chunkX, slot.chunkZ, () -> {
+            if (scheduler.isOwnedByCurrentRegion(slot.entity)) {
+                run(slot, now);
+            } else {
+                // Weitergewandert → einzeln auf dem Entity-Scheduler
+                scheduler.runForEntity(slot.entity, () -> run(slot, now));
+            }
+        });
+    }
+
+    /** Läuft auf dem Thread, dem die Entity gehört */
+    private void run(Slot slot, long now) {
+        try {
+            if (slot.removed) return;
+            LivingEntity entity = slot.entity;
+            if (!entity.isValid() || entity.isDead()) {
+                release(slot);
+                return;
+            }
+            if (slot.expiresAt > 0 && now >= slot.expiresAt) {
+                // Lebensdauer abgelaufen
+                if (!remove(slot)) return;
+                // POOL: Handler übernimmt den Mob (parken statt entfernen)
+                if (slot.onExpire != null && slot.onExpire.test(entity)) return;
+                entity.remove();
+                if (slot.onRemoved != null) slot.onRemoved.run();
+                return;
+            }
+
+            slot.behavior.tick(entity);
+
+            Location loc = entity.getLocation();
+            slot.world = loc.getWorld();
+            slot.chunkX = loc.getBlockX() >> 4;
+            slot.chunkZ = loc.getBlockZ() >> 4;
+        } catch (Throwable t) {
+            plugin.debug("Mob-AI Fehler: " + t.getMessage());
+        } finally {
+            slot.inFlight.set(false);
+        }
+    }
+
+    /** Entfernt den Mob aus dem Takt und räumt einmalig auf */
+    private void release(Slot slot) {
+        if (remove(slot) && slot.onRemoved != null) slot.onRemoved.run();
+    }
+}
@@ -0,0 +1,153 @@
+package de.boondocksulfur.christmas.manager;
+
+import de.boondocksulfur.christmas.ChristmasSeason;
+import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Pool abgelaufener Saison-Mobs (mobPool.enabled).
+ *
+ * Statt einen Wichtel/Elfen nach Ablauf der Lebensdauer zu entfernen und beim nächsten
+ * Spawn einen neuen zu erzeugen, wird er geparkt (unsichtbar, ohne AI, nicht persistent)
+ * und beim nächsten Spawn derselben Art in derselben Welt an den neuen Platz teleportiert.
+ * Weniger Entity-Add/Remove-Pakete, weniger AI-Setup und Objekt-Churn.
+ *
+ * Geparkte Mobs zählen nicht zur Dichte (SeasonDensity); wird ein Mob innerhalb von
+ * mobPool.maxIdleSeconds nicht gebraucht, entfernt der SeasonMobDriver ihn endgültig.
+ * Entlädt sein Chunk vorher, verschwindet er mit (nicht persistent).
+ *
+ * Geparkte Mobs sind nicht mehr im Tracking des WichtelManagers (cleanup() fasst sie nicht an);
+ * erst nach dem Umsetzen nimmt der Aufrufer sie wieder auf.
+ *
+ * THREAD-SAFE: park() läuft auf dem Entity-Thread des Mobs, take() auf dem Region-Thread
+ * des Spawn-Platzes; Gültigkeit, Umsetzen und Sichtbarmachen laufen auf dem Entity-Thread.
+ */
+public class SeasonMobPool {
+
+    /** Geparkte Mobs prüfen selten (nur Gültigkeit und Leerlaufzeit) */
+    private static final long IDLE_PERIOD_TICKS = 100L;
+
+    private final ChristmasSeason plugin;
+    private final FoliaSchedulerHelper scheduler;
+    // Welt + Art → geparkte Mobs (älteste zuerst)
+    private final Map<String, Deque<LivingEntity>> idle = new ConcurrentHashMap<>();
+
+    public SeasonMobPool(ChristmasSeason plugin) {
+        this.plugin = plugin;
+        this.scheduler = new FoliaSchedulerHelper(plugin);
+    }
+
+    /**
+     * Parkt einen abgelaufenen Mob (Entity-Thread, aus dem SeasonMobDriver)
+     *
+     * @param untrack Nimmt den Mob aus Tracking und Dichte (läuft beim Parken)
+     * @return false = Pool aus oder voll → Mob wird normal entfernt
+     */
+    public boolean park(LivingEntity mob, SeasonDensity.Kind kind, Runnable untrack) {
+        if (!plugin.getSettings().mobPoolEnabled) return false;
+        World world = mob.getWorld();
+        Deque<LivingEntity> deque = idle.computeIfAbsent(key(world, kind), k -> new ConcurrentLinkedDeque<>());
+        if (deque.size() >= plugin.getSettings().mobPoolMaxIdlePerWorld) return false;
+
+        // Geparkt: kein AI-Tick, keine Pakete für Namen/Geräusche, nicht auf Platte speichern
+        mob.setAI(false);
+        mob.setInvisible(true);
+        mob.setSilent(true);
+        mob.setCustomNameVisible(false);
+        mob.setPersistent(false);
+        // Geparkt = nicht mehr getrackt, sonst entfernen cleanup() und Pool-Ablauf denselben Mob
+        untrack.run();
+
+        long idleMillis = plugin.getSettings().mobPoolMaxIdleSeconds * 1000L;
+        // Nicht mehr gebraucht (Ablauf, Tod, Chunk entladen) → nur aus dem Pool nehmen
+        plugin.getMobDriver().register(mob, IDLE_PERIOD_TICKS, idleMillis, entity -> {}, () -> deque.remove(mob));
+        // Erst nach der Registrierung freigeben: take() muss den Leerlauf-Slot sicher abmelden können
+        deque.addLast(mob);
+        plugin.verboseDebug("Mob-Pool: " + kind + " geparkt (" + deque.size() + " frei in " + world.getName() + ")");
+        return true;
+    }
+
+    /**
+     * Nimmt einen geparkten Mob für einen neuen Spawn (Region-Thread des Spawn-Platzes)
+     * Der Mob wird aus dem Takt genommen; Gültigkeit prüft erst reuse() auf dem Entity-Thread.
+     *
+     * @return Mob, oder null wenn keiner frei ist
+     */
+    public LivingEntity take(World world, SeasonDensity.Kind kind) {
+        Deque<LivingEntity> deque = idle.get(key(world, kind));
+        if (deque == null) return null;
+        LivingEntity mob = deque.pollFirst();
+        if (mob != null) plugin.getMobDriver().unregister(mob.getUniqueId());
+        return mob;
+    }
+
+    /**
+     * Setzt einen Mob aus take() an den neuen Platz und macht ihn wieder sichtbar (Entity-Thread)
+     *
+     * @param onReady Läuft nach dem Teleport auf dem Entity-Thread (Tracking + AI neu registrieren)
+     * @param fallback Mob tot, entladen oder Teleport fehlgeschlagen → läuft auf dem Region-Thread von 'to' (frisch spawnen)
+     */
+    public void reuse(LivingEntity mob, Location to, Runnable onReady, Runnable fallback) {
+        scheduler.runForEntity(mob, () -> {
+            if (!mob.isValid() || mob.isDead()) {
+                scheduler.runAtLocation(to, fallback);
+                return;
+            }
+
+            mob.setAI(true);
+            mob.setInvisible(false);
+            mob.setSilent(false);
+            mob.setCustomNameVisible(true);
+            mob.setPersistent(true);
+            mob.setFallDistance(0f);
+            mob.setTicksLived(1);
+
+            // MULTI-PLATFORM FIX: Unterschiedliche Teleport-APIs
+            if (scheduler.isFolia()) {
+                // FOLIA: MUSS teleportAsync verwenden (Ziel kann in einer anderen Region liegen)
+                // Registrierung erst nach dem Teleport (Slot liest die Position der Entity)
+                mob.teleportAsync(to).thenAccept(ok -> {
+                    if (Boolean.TRUE.equals(ok)) onReady.run();
+                    else discard(mob, to, fallback);
+                });
+            } else if (mob.teleport(to)) {
+                onReady.run();
+            } else {
+                discard(mob, to, fallback);
+            }
+        });
+    }
+
+    /** Teleport fehlgeschlagen: Mob blieb am alten Platz (ungetrackt) → entfernen und frisch spawnen */
+    private void discard(LivingEntity mob, Location to, Runnable fallback) {
+        scheduler.runForEntity(mob, mob::remove);
+        scheduler.runAtLocation(to, fallback);
+    }
+
+    /** Entfernt alle geparkten Mobs (Stop) */
+    public void clear() {
+        for (Deque<LivingEntity> deque : idle.values()) {
+            LivingEntity mob;
+            while ((mob = deque.pollFirst()) != null) {
+                LivingEntity parked = mob;
+                if (scheduler.isFolia()) {
+                    scheduler.runForEntity(parked, () -> { if (parked.isValid()) parked.remove(); });
+                } else if (parked.isValid()) {
+                    parked.remove();
+                }
+            }
+        }
+        idle.clear();
+    }
+
+    private static String key(World world, SeasonDensity.Kind kind) {
+        return world.getName() + ":" + kind;
+    }
+}
@@ -0,0 +1,105 @@
+package de.boondocksulfur.christmas.manager;
+
+import de.boondocksulfur.christmas.util.SeasonSettings;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * MULTI-WORLD: Laufzeit-Zustand einer Saison-Welt.
+ *
+ * - Eigene Chunk-Queue + Prefetch-Queue für die Player-Bubble (gepackte Chunk-Koordinaten)
+ * - Warteschlange für beim Laden zu konvertierende Chunks (Grace-Zeit, Abbruch beim Entladen)
+ * - Menge der geladenen Chunks (aus Chunk-Events) → Bubble prüft ohne getChunkAt(), das synchron laden würde
+ * - Budget-Guthaben für die faire Aufteilung des Bubble-Budgets zwischen den Welten
+ * - Eigener Sturm-Zustand
+ * - Mob-Limits und Schalter aus den Settings (worldOverrides)
+ *
+ * Snapshots liegen weiter in einer DB; jede Zeile ist über die world-Spalte
+ * einer Welt zugeordnet (Restore/Journal arbeiten ohnehin pro Zeile).
+ *
+ * THREAD-SAFE: Queues concurrent, Settings-Referenz volatile (bei /xmas reload ersetzt).
+ */
+public class SeasonWorld {
+
+    private final String name;
+    private volatile SeasonSettings.WorldSettings settings;
+
+    // Bubble: Chunks um Spieler (Vorrang) und entlang der Flugbahn (nur Rest-Budget)
+    final Queue<Long> chunkQueue = new ConcurrentLinkedQueue<>();
+    final Queue<Long> prefetchQueue = new ConcurrentLinkedQueue<>();
+    final Set<Long> prefetchPending = ConcurrentHashMap.newKeySet();
+
+    // Chunk-Load: FIFO (gleiche Grace-Zeit → fällig in Reihenfolge) + Fälligkeit pro Chunk
+    // Entladene Chunks verlieren nur ihren Eintrag in loadDue; ein Queue-Eintrag, dessen Fälligkeit
+    // nicht mehr in loadDue steht (entladen, evtl. neu geladen), wird beim Entnehmen übersprungen
+    record LoadEntry(long chunk, long due) {}
+    final Queue<LoadEntry> loadQueue = new ConcurrentLinkedQueue<>();
+    final Map<Long, Long> loadDue = new ConcurrentHashMap<>();
+
+    // Geladene Chunks, gepflegt über ChunkLoad-/ChunkUnloadEvent (bleibt über Stop/Start erhalten)
+    private final Set<Long> loadedChunks = ConcurrentHashMap.newKeySet();
+
+    // Fair Share: Nicht verbrauchte Bruchteile des Budget-Anteils (nur globaler Timer)
+    double budgetCredit;
+
+    private volatile boolean desiredStorm = true;
+
+    SeasonWorld(SeasonSettings.WorldSettings settings) {
+        this.name = settings.name;
+        this.settings = settings;
+    }
+
+    public String getName() { return name; }
+    public SeasonSettings.WorldSettings getSettings() { return settings; }
+    void setSettings(SeasonSettings.WorldSettings settings) { this.settings = settings; }
+
+    /** Bukkit-Welt (null wenn nicht geladen) */
+    public World getWorld() { return Bukkit.getWorld(name); }
+
+    public boolean isDesiredStorm() { return desiredStorm; }
+    void setDesiredStorm(boolean storm) { this.desiredStorm = storm; }
+
+    /**
+     * Ist der Chunk geladen? (ohne Chunk-Zugriff, löst nie ein Laden aus)
+     * Auf Folia nur ein Hinweis - der Region-Thread prüft vor der Arbeit erneut.
+     */
+    public boolean isChunkLoaded(int chunkX, int chunkZ) {
+        return loadedChunks.contains(WinterBlockJournal.packChunk(chunkX, chunkZ));
+    }
+
+    public void chunkLoaded(int chunkX, int chunkZ) {
+        loadedChunks.add(WinterBlockJournal.packChunk(chunkX, chunkZ));
+    }
+
+    public void chunkUnloaded(int chunkX, int chunkZ) {
+        loadedChunks.remove(WinterBlockJournal.packChunk(chunkX, chunkZ));
+    }
+
+    /** Übernimmt die bereits geladenen Chunks (neuer Kontext, Welt vor dem Plugin geladen) */
+    void seedLoadedChunks() {
+        World w = getWorld();
+        if (w == null) return;
+        for (Chunk c : w.getLoadedChunks()) {
+            loadedChunks.add(WinterBlockJournal.packChunk(c.getX(), c.getZ()));
+        }
+    }
+
+    /** Wartende Bubble-Arbeit (ohne Prefetch) */
+    boolean hasQueuedChunks() { return !chunkQueue.isEmpty(); }
+
+    void clearQueues() {
+        chunkQueue.clear();
+        prefetchQueue.clear();
+        prefetchPending.clear();
+        loadQueue.clear();
+        loadDue.clear();
+        budgetCredit = 0;
+    }
+}
@@ -0,0 +1,60 @@
+package de.boondocksulfur.christmas.manager;
+
+import de.boondocksulfur.christmas.util.SeasonSettings;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MULTI-WORLD: Alle Saison-Welten (snowWorld + 'worlds' aus der Config).
+ *
+ * Wird bei jedem Settings-Reload abgeglichen: Bestehende Kontexte behalten
+ * ihren Zustand (Queues, Sturm), entfernte Welten fallen weg.
+ * Abfragen laufen über eine unveränderliche Map → ein Lookup statt String-Vergleich mit der Config.
+ */
+public class SeasonWorlds {
+
+    private volatile Map<String, SeasonWorld> contexts = Collections.emptyMap();
+    private volatile List<SeasonWorld> ordered = Collections.emptyList();
+
+    /** Gleicht die Kontexte mit den Settings ab (Enable, /xmas reload) */
+    public synchronized void sync(SeasonSettings settings) {
+        Map<String, SeasonWorld> next = new LinkedHashMap<>();
+        for (SeasonSettings.WorldSettings ws : settings.worlds.values()) {
+            SeasonWorld ctx = contexts.get(ws.name);
+            if (ctx == null) {
+                ctx = new SeasonWorld(ws);
+                ctx.seedLoadedChunks();
+            } else {
+                ctx.setSettings(ws);
+            }
+            next.put(ws.name, ctx);
+        }
+        contexts = Collections.unmodifiableMap(next);
+        ordered = Collections.unmodifiableList(new ArrayList<>(next.values()));
+    }
+
+    /** Kontext einer Welt (null = keine Saison-Welt) */
+    public SeasonWorld get(String worldName) {
+        return contexts.get(worldName);
+    }
+
+    /** Kontext einer Welt (null = keine Saison-Welt) */
+    public SeasonWorld get(World world) {
+        return world != null ? contexts.get(world.getName()) : null;
+    }
+
+    /** Alle Saison-Welten (primäre zuerst) */
+    public List<SeasonWorld> all() {
+        return ordered;
+    }
+
+    /** Queues aller Welten leeren (Stop) */
+    public void clearQueues() {
+        for (SeasonWorld ctx : ordered) ctx.clearQueues();
+    }
+}
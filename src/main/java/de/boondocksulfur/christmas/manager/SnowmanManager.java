@@ -4,11 +4,10 @@ import org.bukkit.*;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Snowball;
 import org.bukkit.entity.Snowman;
-import com.tcoded.folialib.wrapper.task.WrappedTask;
 import de.boondocksulfur.christmas.ChristmasSeason;
 import de.boondocksulfur.christmas.util.LanguageManager;
-import de.boondocksulfur.christmas.util.SpawnUtil;
 import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
+import de.boondocksulfur.christmas.util.PlayerSpatialIndex;
 
 import java.util.List;
 import java.util.Random;
@@ -22,13 +21,8 @@ public class SnowmanManager {
     private final FoliaSchedulerHelper scheduler;
     private final Random random = new Random();
 
-    // FOLIA FIX: Player-basierte Spawn-Timer (Entity Scheduler)
-    private final java.util.Map<java.util.UUID, WrappedTask> playerSpawnTasks = new java.util.concurrent.ConcurrentHashMap<>();
-
-    // FOLIA FIX: Entity-basierte Attack-Tasks (Entity Scheduler pro Schneemann)
-    private final java.util.Map<java.util.UUID, WrappedTask> entityAttackTasks = new java.util.concurrent.ConcurrentHashMap<>();
-
-    // FOLIA FIX: Track spawned snowmen by UUID for safe cleanup and counting
+    // FOLIA FIX: Track spawned snowmen by UUID for safe cleanup
+    // Limits (pro Welt und pro Spieler-Umkreis) zählt SeasonDensity
     private final java.util.Set<java.util.UUID> trackedSnowmen = java.util.concurrent.ConcurrentHashMap.newKeySet();
 
     public SnowmanManager(ChristmasSeason plugin) {
@@ -39,65 +33,18 @@ public class SnowmanManager {
 
     public void start() {
         stop();
-        if (!plugin.getConfig().getBoolean("snowmen.enabled", true)) return;
+        if (!plugin.getSettings().snowmenEnabled) return;
 
-        // FOLIA FIX: Spawn-Timer sind jetzt Player-basiert (siehe startPlayerSpawning)
-        // FOLIA FIX: Attack-Tasks sind jetzt Entity-basiert (siehe startEntityAttackTask)
-        plugin.debug("SnowmanManager gestartet (Folia-kompatibel: Player-basierte Spawns + Entity-basierte AI)");
+        // Spawns laufen über den gemeinsamen SpawnDirector (siehe spawnContent)
+        // AI: Angriffe laufen über den gemeinsamen SeasonMobDriver (siehe registerAttackBehavior)
+        plugin.debug("SnowmanManager gestartet (Spawns über SpawnDirector + gemeinsamer AI-Takt)");
     }
 
     public void stop() {
-        // FOLIA FIX: Stoppe alle Player-basierten Tasks
-        for (WrappedTask task : playerSpawnTasks.values()) {
-            if (task != null) task.cancel();
-        }
-        playerSpawnTasks.clear();
-
-        // FOLIA FIX: Stoppe alle Entity-basierten Attack-Tasks
-        for (WrappedTask task : entityAttackTasks.values()) {
-            if (task != null) task.cancel();
-        }
-        entityAttackTasks.clear();
+        // AI-Takt wird vom SeasonMobDriver gestoppt (stopFeatures)
         // Note: trackedSnowmen wird NICHT geleert - bleibt für cleanup() erhalten
     }
 
-    /**
-     * Startet Schneemann-Spawning für einen Spieler (Entity Scheduler)
-     * FOLIA-KOMPATIBEL: Läuft auf Entity Scheduler des Players
-     */
-    public void startPlayerSpawning(Player player) {
-        if (!plugin.getConfig().getBoolean("snowmen.enabled", true)) return;
-
-        java.util.UUID uuid = player.getUniqueId();
-        WrappedTask oldTask = playerSpawnTasks.remove(uuid);
-        if (oldTask != null) oldTask.cancel();
-
-        int interval = plugin.getConfig().getInt("snowmen.spawnIntervalSeconds", 30);
-        WrappedTask task = scheduler.runForEntityTimer(player, () -> {
-            if (!player.isOnline() || !player.isValid()) {
-                stopPlayerSpawning(player);
-                return;
-            }
-            spawnSnowmanNearPlayer(player);
-        }, 40L, interval * 20L);
-
-        if (task != null) {
-            playerSpawnTasks.put(uuid, task);
-            plugin.debug("Schneemann-Spawning gestartet für " + player.getName());
-        }
-    }
-
-    /**
-     * Stoppt Schneemann-Spawning für einen Spieler
-     */
-    public void stopPlayerSpawning(Player player) {
-        WrappedTask task = playerSpawnTasks.remove(player.getUniqueId());
-        if (task != null) {
-            task.cancel();
-            plugin.debug("Schneemann-Spawning gestoppt für " + player.getName());
-        }
-    }
-
     /**
      * Entfernt alle Schneemänner aus der Welt
      * FOLIA-SAFE: Verwendet tracked UUIDs und schedult Entfernung pro Entity
@@ -110,12 +57,12 @@ public class SnowmanManager {
         java.util.Iterator<java.util.UUID> it = trackedSnowmen.iterator();
         while (it.hasNext()) {
             java.util.UUID uuid = it.next();
+            plugin.getSeasonDensity().remove(uuid);
             org.bukkit.entity.Entity entity = Bukkit.getEntity(uuid);
 
             if (entity != null && entity.isValid() && entity instanceof Snowman) {
-                // FOLIA FIX: Cancel attack task if exists
-                WrappedTask attackTask = entityAttackTasks.remove(uuid);
-                if (attackTask != null) attackTask.cancel();
+                // AI: Aus dem gemeinsamen Takt nehmen
+                plugin.getMobDriver().unregister(uuid);
 
                 // FOLIA FIX: Schedule removal auf Entity Scheduler
                 scheduler.runForEntity(entity, () -> {
@@ -135,88 +82,80 @@ public class SnowmanManager {
     }
 
     /**
-     * Spawnt Schneemann in Nähe eines Spielers
-     * FOLIA-KOMPATIBEL: Wird von Entity Scheduler des Players aufgerufen
+     * Schneemänner als Inhalt des SpawnDirectors
+     * FOLIA-KOMPATIBEL: wants() auf dem Entity-Thread des Spielers, spawn() auf dem Region-Thread
      */
-    private void spawnSnowmanNearPlayer(Player player) {
-        World w = player.getWorld();
-        String worldName = plugin.getConfig().getString("snowWorld", "world");
-        if (!w.getName().equals(worldName)) return;
-
-        // FOLIA FIX: Zähle tracked Schneemänner (global limit) - thread-safe!
-        int current = trackedSnowmen.size();
-        int max = plugin.getConfig().getInt("snowmen.maxPerWorld", 6);
-        if (current >= max) return;
-
-        // FOLIA FIX: Spawne auf Location Scheduler (für getHighestBlockAt)
-        Location playerLoc = player.getLocation();
-
-        scheduler.runAtLocation(playerLoc, () -> {
-            // Safe-Spawn: 5 Versuche mit STRENGEM Wasser-Check (noWater=true für Schneemänner!)
+    public SpawnDirector.Content spawnContent() {
+        return new SpawnDirector.Content() {
+            @Override public String name() { return "Snowman"; }
+            @Override public int radius() { return 10; }
             // Schneemänner dürfen NICHT in Wasser spawnen (schmelzen sofort)
-            Location loc = SpawnUtil.findSafeSpawnLocation(w, playerLoc, 10, 5, true);
+            @Override public boolean noWater() { return true; }
 
-            // Region-Schutz: Kein Spawn in geschützten Bereichen
-            if (plugin.getRegionIntegration() != null && !plugin.getRegionIntegration().canSpawnAt(loc)) {
-                plugin.debug("Snowman spawn blocked by region protection at " + loc.getBlockX() + "," + loc.getBlockZ());
-                return;
+            @Override
+            public long intervalTicks() {
+                return plugin.getSettings().snowmenEnabled ? plugin.getSettings().snowmenSpawnIntervalSeconds * 20L : 0;
             }
 
-            Snowman sm = w.spawn(loc, Snowman.class);
-            sm.setCustomName(lang.get("entity.snowman"));
-            sm.setCustomNameVisible(true);
-            sm.getScoreboardTags().add(TAG);
-            sm.setDerp(false);
+            @Override
+            public boolean wants(Player player, SeasonWorld ctx) {
+                // DENSITY: Welt-Limit als Obergrenze + lokales Limit pro Spieler im Umkreis
+                return plugin.getSeasonDensity().allows(player.getLocation(), SeasonDensity.Kind.SNOWMAN,
+                        ctx.getSettings().snowmenMax, plugin.getSettings().snowmenPerPlayerArea);
+            }
 
-            // FOLIA FIX: Track spawned snowman
-            trackedSnowmen.add(sm.getUniqueId());
+            @Override
+            public void spawn(World world, Location loc) {
+                spawnSnowman(world, loc);
+            }
+        };
+    }
 
-            // FOLIA FIX: Starte Entity Scheduler Task für Attack-Logik
-            startEntityAttackTask(sm);
-        });
+    /**
+     * Spawnt einen Schneemann
+     * FOLIA-KOMPATIBEL: Läuft auf dem Region-Thread der Location
+     */
+    private void spawnSnowman(World w, Location loc) {
+        Snowman sm = w.spawn(loc, Snowman.class);
+        sm.setCustomName(lang.get("entity.snowman"));
+        sm.setCustomNameVisible(true);
+        sm.getScoreboardTags().add(TAG);
+        sm.setDerp(false);
+
+        // FOLIA FIX: Track spawned snowman
+        trackedSnowmen.add(sm.getUniqueId());
+        plugin.getSeasonDensity().add(sm.getUniqueId(), SeasonDensity.Kind.SNOWMAN, loc);
+
+        // AI: Attack-Logik im gemeinsamen Takt (kein Task pro Schneemann)
+        registerAttackBehavior(sm);
     }
 
     /**
-     * Startet einen Entity Scheduler Task für Attack-Logik
-     * FOLIA-KOMPATIBEL: Läuft auf Entity Scheduler der Schneemann-Entity
+     * Registriert die Attack-Logik im gemeinsamen AI-Takt
+     * FOLIA-KOMPATIBEL: Der Driver ruft das Verhalten auf dem Thread der Entity auf
      */
-    private void startEntityAttackTask(Snowman snowman) {
+    private void registerAttackBehavior(Snowman snowman) {
         java.util.UUID snowmanId = snowman.getUniqueId();
-        double range = plugin.getConfig().getDouble("snowmen.range", 12.0);
-        double chance = plugin.getConfig().getDouble("snowmen.attackChance", 0.35);
-        int attackInterval = plugin.getConfig().getInt("snowmen.attackIntervalSeconds", 5);
-
-        // FOLIA FIX: Entity Scheduler Task für diesen spezifischen Schneemann
-        WrappedTask task = scheduler.runForEntityTimer(snowman, () -> {
-            // Entity-State-Zugriff ist sicher, weil wir auf Entity Scheduler laufen!
-            if (!snowman.isValid() || snowman.isDead()) {
-                WrappedTask oldTask = entityAttackTasks.remove(snowmanId);
-                if (oldTask != null) oldTask.cancel();
-                trackedSnowmen.remove(snowmanId); // Remove from tracking when dead
-                return;
-            }
+        long attackInterval = plugin.getSettings().snowmenAttackIntervalSeconds * 20L;
+
+        plugin.getMobDriver().register(snowman, attackInterval, 0, entity -> {
+            // Settings bei jedem Aufruf lesen (/xmas reload wirkt sofort)
+            double range = plugin.getSettings().snowmenRange;
+            double chance = plugin.getSettings().snowmenAttackChance;
 
             // Attack-Chance prüfen
             if (random.nextDouble() > chance) return;
 
-            // Finde nächsten Spieler in Range
-            Player target = null;
-            double bestDistSq = Double.MAX_VALUE;
-            World w = snowman.getWorld();
-
-            for (Player p : w.getPlayers()) {
-                double distSq = p.getLocation().distanceSquared(snowman.getLocation());
-                if (distSq <= range * range && distSq < bestDistSq) {
-                    bestDistSq = distSq;
-                    target = p;
-                }
-            }
+            // Finde nächsten Spieler in Range (PERFORMANCE: Zellen-Lookup im Spieler-Index)
+            Location snowLoc = entity.getLocation();
+            PlayerSpatialIndex.Entry target = plugin.getPlayerIndex().getNearest(
+                    entity.getWorld(), snowLoc.getX(), snowLoc.getY(), snowLoc.getZ(), range);
 
             if (target == null) return;
 
             // Richtungsvektor berechnen und auf NaN prüfen (falls Schneemann und Spieler auf gleicher Position)
-            org.bukkit.util.Vector direction = target.getLocation().toVector()
-                    .subtract(snowman.getLocation().toVector());
+            org.bukkit.util.Vector direction = new org.bukkit.util.Vector(target.x, target.y, target.z)
+                    .subtract(snowLoc.toVector());
 
             // Wenn die Entfernung zu klein ist, überspringe den Angriff
             if (direction.lengthSquared() < 0.01) return;
@@ -224,14 +163,13 @@ public class SnowmanManager {
             direction.normalize().multiply(1.1);
 
             // Schneeball abfeuern
-            Snowball ball = snowman.launchProjectile(Snowball.class);
+            Snowball ball = entity.launchProjectile(Snowball.class);
             ball.setCustomName("XMAS_SNOWBALL");
             ball.setVelocity(direction);
 
-        }, 60L, attackInterval * 20L);
-
-        if (task != null) {
-            entityAttackTasks.put(snowmanId, task);
-        }
+        }, () -> { // Remove from tracking when dead
+            trackedSnowmen.remove(snowmanId);
+            plugin.getSeasonDensity().remove(snowmanId);
+        });
     }
 }
@@ -1,18 +1,20 @@
 package de.boondocksulfur.christmas.manager;
 
-import org.bukkit.Bukkit;
 import org.bukkit.World;
 import com.tcoded.folialib.wrapper.task.WrappedTask;
 import de.boondocksulfur.christmas.ChristmasSeason;
 import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
 
+/**
+ * Schneesturm pro Saison-Welt (MULTI-WORLD: Sturm-Zustand liegt im SeasonWorld-Kontext).
+ * Welten mit worldOverrides.<welt>.snowstorm: false werden nie angefasst.
+ */
 public class SnowstormManager {
 
     private final ChristmasSeason plugin;
     private final FoliaSchedulerHelper scheduler;
     private WrappedTask enforceTask, autoTask;
     private volatile boolean autoRunning = false;
-    private boolean desiredStorm = true;
 
     public SnowstormManager(ChristmasSeason plugin) {
         this.plugin = plugin;
@@ -23,17 +25,17 @@ public class SnowstormManager {
         stop();
 
         // Prüfe ob Schneesturm in Config aktiviert ist
-        if (!plugin.getConfig().getBoolean("snowstorm.enabled", true)) {
+        if (!plugin.getSettings().snowstormEnabled) {
             plugin.debug("Schneesturm ist in der Config deaktiviert (snowstorm.enabled: false)");
             return;
         }
 
-        desiredStorm = true;
+        setDesired(true);
 
-        int interval = plugin.getConfig().getInt("snowstorm.forceWeatherTicks", 200);
+        int interval = plugin.getSettings().snowstormForceWeatherTicks;
         enforceTask = scheduler.runGlobalTaskTimer(this::enforce, 20L, interval);
 
-        if ("auto".equalsIgnoreCase(plugin.getConfig().getString("snowstorm.mode", "manual"))) startAuto();
+        if ("auto".equalsIgnoreCase(plugin.getSettings().snowstormMode)) startAuto();
     }
 
     public void stop() {
@@ -43,8 +45,8 @@ public class SnowstormManager {
     }
 
     private void startAuto() {
-        final int onSec  = Math.max(5, plugin.getConfig().getInt("snowstorm.auto.onSeconds", 150));
-        final int offSec = Math.max(5, plugin.getConfig().getInt("snowstorm.auto.offSeconds", 45));
+        final int onSec  = plugin.getSettings().snowstormOnSeconds;
+        final int offSec = plugin.getSettings().snowstormOffSeconds;
 
         // OPTIMIERT: Verwende runTaskLater statt runTaskTimer - vermeidet jeden-Tick-Overhead!
         autoRunning = true;
@@ -56,7 +58,7 @@ public class SnowstormManager {
         if (!autoRunning) return;
 
         // Setze aktuellen State und enforce (WICHTIG: über Global Scheduler wegen Folia!)
-        desiredStorm = currentState;
+        setDesired(currentState);
         scheduler.runGlobalTask(this::enforce);
 
         // Plane nächsten Toggle (kein Task läuft dauerhaft!)
@@ -68,22 +70,43 @@ public class SnowstormManager {
     }
 
     private void enforce() {
-        World w = Bukkit.getWorld(plugin.getConfig().getString("snowWorld", "world"));
-        if (w == null) return;
-        if (desiredStorm) {
-            if (!w.hasStorm()) { w.setStorm(true); w.setThundering(false); }
-            try { w.setClearWeatherDuration(0); } catch (Throwable ignored) {}
-            w.setWeatherDuration(20*60*10);
-        } else {
-            if (w.hasStorm() || w.isThundering()) forceClearShort(w);
+        for (SeasonWorld ctx : plugin.getSeasonWorlds().all()) {
+            if (!ctx.getSettings().snowstorm) continue;
+            World w = ctx.getWorld();
+            if (w == null) continue;
+            if (ctx.isDesiredStorm()) {
+                if (!w.hasStorm()) { w.setStorm(true); w.setThundering(false); }
+                try { w.setClearWeatherDuration(0); } catch (Throwable ignored) {}
+                w.setWeatherDuration(20*60*10);
+            } else {
+                if (w.hasStorm() || w.isThundering()) forceClearShort(w);
+            }
         }
     }
 
+    private void setDesired(boolean on) {
+        for (SeasonWorld ctx : plugin.getSeasonWorlds().all()) ctx.setDesiredStorm(on);
+    }
+
     // ===== Public controls =====
     // WICHTIG: Alle World-Operationen müssen auf Folia über Global Scheduler laufen!
-    public void setStorm(boolean on) { desiredStorm = on; scheduler.runGlobalTask(this::enforce); }
-    public boolean toggleStorm() { setStorm(!desiredStorm); return desiredStorm; }
-    public boolean isStorm() { return desiredStorm; }
+    public void setStorm(boolean on) { setDesired(on); scheduler.runGlobalTask(this::enforce); }
+    public boolean toggleStorm() { boolean on = !isStorm(); setStorm(on); return on; }
+    /** true wenn in mindestens einer Saison-Welt Sturm gewünscht ist */
+    public boolean isStorm() {
+        for (SeasonWorld ctx : plugin.getSeasonWorlds().all()) {
+            if (ctx.getSettings().snowstorm && ctx.isDesiredStorm()) return true;
+        }
+        return false;
+    }
+    /** true wenn es in mindestens einer geladenen Saison-Welt gerade stürmt */
+    public boolean isStormingAnywhere() {
+        for (SeasonWorld ctx : plugin.getSeasonWorlds().all()) {
+            World w = ctx.getWorld();
+            if (w != null && w.hasStorm()) return true;
+        }
+        return false;
+    }
     public void pulse(int seconds) { setStorm(true); scheduler.runGlobalTaskLater(() -> setStorm(false), seconds*20L); }
 
     // ===== Clear helpers =====
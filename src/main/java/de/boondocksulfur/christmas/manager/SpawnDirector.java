@@ -0,0 +1,245 @@
+package de.boondocksulfur.christmas.manager;
+
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import de.boondocksulfur.christmas.ChristmasSeason;
+import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
+import de.boondocksulfur.christmas.util.SpawnCandidateCache;
+import de.boondocksulfur.christmas.util.SpawnSnapshotArea;
+import de.boondocksulfur.christmas.util.SpawnUtil;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gemeinsamer Spawn-Takt für Wichtel, Elfen, Schneemänner, Geschenke und Dekoration.
+ *
+ * Statt fünf Timern pro Spieler (einer pro Manager) läuft EIN Timer pro Spieler:
+ * - Jeder Inhalt behält sein eigenes Intervall, der Director prüft nur, was fällig ist
+ * - Globales Spawn-Budget pro Server-Tick (spawnDirector.maxPerTick) über alle Spieler;
+ *   ist es erschöpft, bleibt der Inhalt fällig und kommt beim nächsten Lauf dran
+ * - Alle fälligen Inhalte eines Spielers teilen sich EINE Platzsuche
+ *   (SpawnCandidateCache) und EINEN Region-Task
+ *
+ * FOLIA-KOMPATIBEL: Timer auf dem Entity Scheduler des Spielers, Platzsuche und
+ * Spawn auf dem Region-Thread der Spieler-Position. Fehlen geprüfte Spalten, läuft
+ * die Suche async auf ChunkSnapshots (spawnDirector.asyncSearch).
+ */
+public class SpawnDirector {
+
+    /** Ein Inhalt, den der Director spawnen kann */
+    public interface Content {
+        /** Name für Debug-Ausgaben */
+        String name();
+
+        /** Aktuelles Spawn-Intervall in Ticks (Settings), 0 = deaktiviert */
+        long intervalTicks();
+
+        /** Verzögerung des ersten Spawns nach dem Start (Ticks) */
+        default long initialDelayTicks() { return 40L; }
+
+        /** Max. horizontaler Abstand zum Spieler */
+        int radius();
+
+        /** true = kein Wasser in der Nähe (Schneemänner) */
+        default boolean noWater() { return false; }
+
+        /** Chance und Limits (Entity-Thread des Spielers) */
+        boolean wants(Player player, SeasonWorld ctx);
+
+        /** Spawnt an einem geprüften Platz (Region-Thread, Region-Schutz bereits geprüft) */
+        void spawn(World world, Location loc);
+    }
+
+    /** Takt der Spieler-Timer (1 Sekunde) */
+    private static final long PERIOD_TICKS = 20L;
+    /** Versuche der Platzsuche pro fälligem Inhalt (wie bisher pro Manager) */
+    private static final int ATTEMPTS_PER_CONTENT = 5;
+
+    private static final class PlayerState {
+        final long[] nextDue;
+        long elapsed;
+        WrappedTask task;
+
+        PlayerState(List<Content> contents) {
+            nextDue = new long[contents.size()];
+            for (int i = 0; i < nextDue.length; i++) nextDue[i] = contents.get(i).initialDelayTicks();
+        }
+    }
+
+    private final ChristmasSeason plugin;
+    private final FoliaSchedulerHelper scheduler;
+    private final List<Content> contents = new ArrayList<>();
+    private final Map<UUID, PlayerState> players = new ConcurrentHashMap<>();
+    private final AtomicInteger phaseCounter = new AtomicInteger();
+
+    // Budget-Fenster = ein Server-Tick (50ms), gilt für alle Region-Threads gemeinsam
+    private final AtomicLong budgetWindow = new AtomicLong();
+    private final AtomicInteger budgetUsed = new AtomicInteger();
+
+    public SpawnDirector(ChristmasSeason plugin) {
+        this.plugin = plugin;
+        this.scheduler = new FoliaSchedulerHelper(plugin);
+    }
+
+    /** Registriert einen Inhalt (beim Plugin-Start, vor dem ersten Spieler) */
+    public void register(Content content) {
+        contents.add(content);
+    }
+
+    public void stop() {
+        for (PlayerState state : players.values()) {
+            if (state.task != null) state.task.cancel();
+        }
+        players.clear();
+    }
+
+    /**
+     * Startet den Spawn-Takt für einen Spieler (Entity Scheduler)
+     * FOLIA-KOMPATIBEL: Läuft auf Entity Scheduler des Players
+     */
+    public void startPlayer(Player player) {
+        stopPlayer(player);
+
+        PlayerState state = new PlayerState(contents);
+        // Versetzte Phase: Spieler-Timer laufen nicht alle im selben Tick
+        long delay = 1 + (phaseCounter.getAndIncrement() % PERIOD_TICKS);
+        state.task = scheduler.runForEntityTimer(player, () -> {
+            if (!player.isOnline() || !player.isValid()) {
+                stopPlayer(player);
+                return;
+            }
+            state.elapsed += PERIOD_TICKS;
+            run(player, state);
+        }, delay, PERIOD_TICKS);
+
+        if (state.task != null) {
+            players.put(player.getUniqueId(), state);
+            plugin.debug("Spawn-Takt gestartet für " + player.getName());
+        }
+    }
+
+    public void stopPlayer(Player player) {
+        PlayerState state = players.remove(player.getUniqueId());
+        if (state != null && state.task != null) {
+            state.task.cancel();
+            plugin.debug("Spawn-Takt gestoppt für " + player.getName());
+        }
+    }
+
+    /** Ein Lauf für einen Spieler (Entity-Thread) */
+    private void run(Player player, PlayerState state) {
+        World w = player.getWorld();
+        SeasonWorld ctx = plugin.getSeasonWorlds().get(w);
+
+        List<Content> due = null;
+        for (int i = 0; i < contents.size(); i++) {
+            Content content = contents.get(i);
+            long interval = content.intervalTicks();
+            if (interval <= 0 || state.elapsed < state.nextDue[i]) continue;
+
+            if (ctx == null || !content.wants(player, ctx)) {
+                // Nicht gewollt (Chance, Limit, keine Saison-Welt) → nächstes Intervall
+                state.nextDue[i] = state.elapsed + interval;
+                continue;
+            }
+            if (!tryAcquireBudget()) {
+                // BUDGET: bleibt fällig, nächster Lauf versucht es erneut
+                plugin.verboseDebug("Spawn-Budget erschöpft, " + content.name() + " verschoben (" + player.getName() + ")");
+                continue;
+            }
+            state.nextDue[i] = state.elapsed + interval;
+            if (due == null) due = new ArrayList<>(contents.size());
+            due.add(content);
+        }
+        if (due == null) return;
+
+        // FOLIA FIX: Platzsuche + Spawn auf Location Scheduler (für getHighestBlockAt und Block-Operationen)
+        Location playerLoc = player.getLocation();
+        List<Content> batch = due;
+        scheduler.runAtLocation(playerLoc, () -> place(w, playerLoc, batch));
+    }
+
+    /** Gemeinsame Platzsuche für alle fälligen Inhalte (Region-Thread) */
+    private void place(World w, Location center, List<Content> batch) {
+        int radius = 0;
+        boolean needDry = false;
+        for (Content content : batch) {
+            radius = Math.max(radius, content.radius());
+            needDry |= content.noWater();
+        }
+        int attempts = ATTEMPTS_PER_CONTENT * batch.size();
+        SpawnCandidateCache cache = plugin.getSpawnCandidates();
+
+        // ASYNC: Zu wenig geprüfte Spalten → Suche auf Snapshots, der Tick zahlt nur die Aufnahme
+        if (plugin.getSettings().spawnAsyncSearch && cache.countSafe(w, center, radius) < batch.size()) {
+            SpawnSnapshotArea area = SpawnSnapshotArea.capture(w, center.getBlockX(), center.getBlockZ(), radius, scheduler);
+            if (!area.isEmpty()) {
+                int searchRadius = radius;
+                boolean searchDry = needDry;
+                scheduler.runAsync(() -> {
+                    List<SpawnSnapshotArea.Probe> probes = area.probe(center.getBlockX(), center.getBlockZ(), searchRadius, attempts, searchDry);
+                    scheduler.runAtLocation(center, () -> {
+                        cache.store(w, probes);
+                        // Nur noch Griff + Luft-Prüfung auf dem Region-Thread
+                        spawnBatch(w, center, batch, cache.find(w, center, searchRadius, 0, batch.size()));
+                    });
+                });
+                return;
+            }
+        }
+
+        // Safe-Spawn: Zufallsgriff aus geprüften Spalten, sonst 5 Proben pro Inhalt (strenge Wasser/Wand-Checks)
+        spawnBatch(w, center, batch, cache.find(w, center, radius, attempts, batch.size()));
+    }
+
+    /** Verteilt die gefundenen Plätze auf die Inhalte und spawnt (Region-Thread) */
+    private void spawnBatch(World w, Location center, List<Content> batch, List<Location> candidates) {
+        for (Content content : batch) {
+            Location loc = pick(candidates, center, content);
+
+            // Region-Schutz: Kein Spawn in geschützten Bereichen
+            if (plugin.getRegionIntegration() != null && !plugin.getRegionIntegration().canSpawnAt(loc)) {
+                plugin.debug(content.name() + " spawn blocked by region protection at " + loc.getBlockX() + "," + loc.getBlockZ());
+                continue;
+            }
+
+            try {
+                content.spawn(w, loc);
+            } catch (Throwable t) {
+                plugin.debug(content.name() + " spawn failed: " + t.getMessage());
+            }
+        }
+    }
+
+    /** Erster passender Kandidat (Radius, ggf. Wasser-Check), sonst Oberfläche beim Spieler */
+    private Location pick(List<Location> candidates, Location center, Content content) {
+        for (int i = 0; i < candidates.size(); i++) {
+            Location loc = candidates.get(i);
+            if (Math.abs(loc.getBlockX() - center.getBlockX()) > content.radius()
+                    || Math.abs(loc.getBlockZ() - center.getBlockZ()) > content.radius()) continue;
+            // Schneemänner dürfen NICHT in Wasser spawnen (schmelzen sofort)
+            if (content.noWater() && !plugin.getSpawnCandidates().isDry(loc)) continue;
+            return candidates.remove(i);
+        }
+        // Fallback: Verwende alte Logik
+        return SpawnUtil.findSurface(center.getWorld(), center);
+    }
+
+    /** Ein Spawn aus dem globalen Budget des aktuellen Server-Ticks */
+    private boolean tryAcquireBudget() {
+        long window = System.currentTimeMillis() / 50;
+        long current = budgetWindow.get();
+        if (current != window && budgetWindow.compareAndSet(current, window)) {
+            budgetUsed.set(0);
+        }
+        return budgetUsed.incrementAndGet() <= plugin.getSettings().spawnMaxPerTick;
+    }
+}
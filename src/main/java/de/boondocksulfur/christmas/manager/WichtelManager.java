@@ -5,10 +5,8 @@ import org.bukkit.Location;
 import org.bukkit.Sound;
 import org.bukkit.World;
 import org.bukkit.entity.*;
-import com.tcoded.folialib.wrapper.task.WrappedTask;
 import de.boondocksulfur.christmas.ChristmasSeason;
 import de.boondocksulfur.christmas.util.LanguageManager;
-import de.boondocksulfur.christmas.util.SpawnUtil;
 import de.boondocksulfur.christmas.util.FoliaSchedulerHelper;
 
 import java.util.*;
@@ -23,14 +21,8 @@ public class WichtelManager {
     private final FoliaSchedulerHelper scheduler;
     private final Random random = new Random();
 
-    // FOLIA FIX: Player-basierte Spawn-Timer (Entity Scheduler)
-    private final Map<UUID, WrappedTask> playerWichtelTasks = new java.util.concurrent.ConcurrentHashMap<>();
-    private final Map<UUID, WrappedTask> playerElfTasks = new java.util.concurrent.ConcurrentHashMap<>();
-
-    // FOLIA FIX: Entity-basierte Steal-Tasks (Entity Scheduler pro Mob)
-    private final Map<UUID, WrappedTask> entityStealTasks = new java.util.concurrent.ConcurrentHashMap<>();
-
     // Tracker statt globale Scans (FIX: thread-safe für Folia Location/Entity Scheduler)
+    // Limits (pro Welt und pro Spieler-Umkreis) zählt SeasonDensity
     private final Set<UUID> trackedWichtel = java.util.concurrent.ConcurrentHashMap.newKeySet();
     private final Set<UUID> trackedElfen   = java.util.concurrent.ConcurrentHashMap.newKeySet();
 
@@ -42,86 +34,20 @@ public class WichtelManager {
 
     public void start() {
         stop();
-        // FOLIA FIX: Spawn-Timer sind jetzt Player-basiert (siehe startPlayerSpawning)
-        // FOLIA FIX: Steal-Tasks sind jetzt Entity-basiert (siehe startEntityStealTask)
-        plugin.debug("WichtelManager gestartet (Folia-kompatibel: Player-basierte Spawns + Entity-basierte AI)");
+        // Spawns laufen über den gemeinsamen SpawnDirector (siehe wichtelContent/elfContent)
+        // AI: Steal/TP und Lebensdauer laufen über den gemeinsamen SeasonMobDriver (siehe registerStealBehavior)
+        plugin.debug("WichtelManager gestartet (Spawns über SpawnDirector + gemeinsamer AI-Takt)");
     }
 
     public void stop() {
-        // FOLIA FIX: Stoppe alle Player-basierten Tasks
-        for (WrappedTask task : playerWichtelTasks.values()) {
-            if (task != null) task.cancel();
-        }
-        for (WrappedTask task : playerElfTasks.values()) {
-            if (task != null) task.cancel();
-        }
-        playerWichtelTasks.clear();
-        playerElfTasks.clear();
-
-        // FOLIA FIX: Stoppe alle Entity-basierten Steal-Tasks
-        for (WrappedTask task : entityStealTasks.values()) {
-            if (task != null) task.cancel();
-        }
-        entityStealTasks.clear();
+        // AI-Takt wird vom SeasonMobDriver gestoppt (stopFeatures)
 
+        trackedWichtel.forEach(plugin.getSeasonDensity()::remove);
+        trackedElfen.forEach(plugin.getSeasonDensity()::remove);
         trackedWichtel.clear();
         trackedElfen.clear();
     }
 
-    /**
-     * Startet Wichtel/Elfen-Spawning für einen Spieler (Entity Scheduler)
-     * FOLIA-KOMPATIBEL: Läuft auf Entity Scheduler des Players
-     */
-    public void startPlayerSpawning(Player player) {
-        UUID uuid = player.getUniqueId();
-
-        // Stoppe alte Tasks falls vorhanden
-        WrappedTask oldWichtel = playerWichtelTasks.remove(uuid);
-        if (oldWichtel != null) oldWichtel.cancel();
-        WrappedTask oldElf = playerElfTasks.remove(uuid);
-        if (oldElf != null) oldElf.cancel();
-
-        // Starte Wichtel-Spawner auf Entity Scheduler
-        if (plugin.getConfig().getBoolean("wichtel.enabled", true)) {
-            int interval = plugin.getConfig().getInt("wichtel.spawnIntervalSeconds", 45);
-            WrappedTask task = scheduler.runForEntityTimer(player, () -> {
-                if (!player.isOnline() || !player.isValid()) {
-                    stopPlayerSpawning(player);
-                    return;
-                }
-                spawnWichtelNearPlayer(player);
-            }, 40L, interval * 20L);
-            if (task != null) playerWichtelTasks.put(uuid, task);
-        }
-
-        // Starte Elfen-Spawner auf Entity Scheduler
-        if (plugin.getConfig().getBoolean("elves.enabled", true)) {
-            int interval = plugin.getConfig().getInt("elves.spawnIntervalSeconds", 60);
-            WrappedTask task = scheduler.runForEntityTimer(player, () -> {
-                if (!player.isOnline() || !player.isValid()) {
-                    stopPlayerSpawning(player);
-                    return;
-                }
-                spawnElfNearPlayer(player);
-            }, 60L, interval * 20L);
-            if (task != null) playerElfTasks.put(uuid, task);
-        }
-
-        plugin.debug("Wichtel/Elfen-Spawning gestartet für " + player.getName());
-    }
-
-    /**
-     * Stoppt Wichtel/Elfen-Spawning für einen Spieler
-     */
-    public void stopPlayerSpawning(Player player) {
-        UUID uuid = player.getUniqueId();
-        WrappedTask wichtelTask = playerWichtelTasks.remove(uuid);
-        if (wichtelTask != null) wichtelTask.cancel();
-        WrappedTask elfTask = playerElfTasks.remove(uuid);
-        if (elfTask != null) elfTask.cancel();
-        plugin.debug("Wichtel/Elfen-Spawning gestoppt für " + player.getName());
-    }
-
     /** Entfernt alle Wichtel und Elfen aus der Welt */
     public void cleanup() {
         int removed = 0;
@@ -132,11 +58,11 @@ public class WichtelManager {
         Iterator<UUID> wit = trackedWichtel.iterator();
         while (wit.hasNext()) {
             UUID uuid = wit.next();
+            plugin.getSeasonDensity().remove(uuid);
             Entity e = Bukkit.getEntity(uuid);
             if (e != null && e.isValid()) {
-                // FOLIA FIX: Cancel steal task if exists
-                WrappedTask stealTask = entityStealTasks.remove(uuid);
-                if (stealTask != null) stealTask.cancel();
+                // AI: Aus dem gemeinsamen Takt nehmen
+                plugin.getMobDriver().unregister(uuid);
 
                 // FOLIA FIX: Schedule removal on entity's thread
                 scheduler.runForEntity(e, () -> {
@@ -153,11 +79,11 @@ public class WichtelManager {
         Iterator<UUID> eit = trackedElfen.iterator();
         while (eit.hasNext()) {
             UUID uuid = eit.next();
+            plugin.getSeasonDensity().remove(uuid);
             Entity e = Bukkit.getEntity(uuid);
             if (e != null && e.isValid()) {
-                // FOLIA FIX: Cancel steal task if exists
-                WrappedTask stealTask = entityStealTasks.remove(uuid);
-                if (stealTask != null) stealTask.cancel();
+                // AI: Aus dem gemeinsamen Takt nehmen
+                plugin.getMobDriver().unregister(uuid);
 
                 // FOLIA FIX: Schedule removal on entity's thread
                 scheduler.runForEntity(e, () -> {
@@ -174,135 +100,157 @@ public class WichtelManager {
     }
 
     /**
-     * Spawnt Wichtel in Nähe eines Spielers
-     * FOLIA-KOMPATIBEL: Wird von Entity Scheduler des Players aufgerufen
+     * Wichtel als Inhalt des SpawnDirectors
+     * FOLIA-KOMPATIBEL: wants() auf dem Entity-Thread des Spielers, spawn() auf dem Region-Thread
      */
-    private void spawnWichtelNearPlayer(Player player) {
-        World w = player.getWorld();
-        String worldName = plugin.getConfig().getString("wichtel.world",
-                plugin.getConfig().getString("snowWorld", "world"));
-        if (!w.getName().equals(worldName)) return;
-
-        // Verwende getrackte Liste statt Entity-Iteration
-        int current = trackedWichtel.size();
-        if (current >= plugin.getConfig().getInt("wichtel.maxPerWorld", 6)) return;
-
-        // FOLIA FIX: Spawne auf Location Scheduler (für getHighestBlockAt)
-        Location playerLoc = player.getLocation();
-
-        scheduler.runAtLocation(playerLoc, () -> {
-            // Safe-Spawn: 5 Versuche (Performance-optimiert, strenge Wasser/Wand-Checks)
-            Location spawn = SpawnUtil.findSafeSpawnLocation(w, playerLoc, 10, 5);
-
-            // Region-Schutz: Kein Spawn in geschützten Bereichen
-            if (plugin.getRegionIntegration() != null && !plugin.getRegionIntegration().canSpawnAt(spawn)) {
-                plugin.debug("Wichtel spawn blocked by region protection at " + spawn.getBlockX() + "," + spawn.getBlockZ());
-                return;
+    public SpawnDirector.Content wichtelContent() {
+        return new SpawnDirector.Content() {
+            @Override public String name() { return "Wichtel"; }
+            @Override public int radius() { return 10; }
+
+            @Override
+            public long intervalTicks() {
+                return plugin.getSettings().wichtelEnabled ? plugin.getSettings().wichtelSpawnIntervalSeconds * 20L : 0;
             }
 
-            Zombie z = (Zombie) w.spawnEntity(spawn, EntityType.ZOMBIE);
-            z.setBaby(true);
-            z.setCustomName(lang.get("entity.wichtel"));
-            z.setCustomNameVisible(true);
-            z.setRemoveWhenFarAway(false);
-            z.getScoreboardTags().add(TAG_WICHTEL);
-            if (z.getEquipment()!=null) z.getEquipment().clear();
-            z.setTarget(null);
-            trackedWichtel.add(z.getUniqueId());
-
-            // FOLIA FIX: Starte Entity Scheduler Task für Steal-Logik
-            startEntityStealTask(z);
-
-            // FIX: Lifetime Enforcement - entferne nach konfigurierter Zeit
-            int lifetime = Math.max(10, plugin.getConfig().getInt("wichtel.lifetimeSeconds", 240));
-            UUID wichtelId = z.getUniqueId();
-            scheduler.runForEntityLater(z, () -> {
-                Entity e = Bukkit.getEntity(wichtelId);
-                if (e != null && e.isValid()) {
-                    e.remove();
-                }
-                trackedWichtel.remove(wichtelId);
-                entityStealTasks.remove(wichtelId); // Cleanup Task
-            }, lifetime * 20L);
-        });
+            @Override
+            public boolean wants(Player player, SeasonWorld ctx) {
+                // DENSITY: Welt-Limit als Obergrenze + lokales Limit pro Spieler im Umkreis
+                return ctx.getSettings().wichtel
+                        && plugin.getSeasonDensity().allows(player.getLocation(), SeasonDensity.Kind.WICHTEL,
+                                ctx.getSettings().wichtelMax, plugin.getSettings().wichtelPerPlayerArea);
+            }
+
+            @Override
+            public void spawn(World world, Location loc) {
+                spawnWichtel(world, loc);
+            }
+        };
     }
 
     /**
-     * Spawnt Elfen in Nähe eines Spielers
-     * FOLIA-KOMPATIBEL: Wird von Entity Scheduler des Players aufgerufen
+     * Elfen als Inhalt des SpawnDirectors
+     * FOLIA-KOMPATIBEL: wants() auf dem Entity-Thread des Spielers, spawn() auf dem Region-Thread
      */
-    private void spawnElfNearPlayer(Player player) {
-        World w = player.getWorld();
-        String worldName = plugin.getConfig().getString("wichtel.world",
-                plugin.getConfig().getString("snowWorld", "world"));
-        if (!w.getName().equals(worldName)) return;
-
-        // Verwende getrackte Liste statt Entity-Iteration
-        int current = trackedElfen.size();
-        if (current >= plugin.getConfig().getInt("elves.maxPerWorld", 4)) return;
-
-        // FOLIA FIX: Spawne auf Location Scheduler (für getHighestBlockAt)
-        Location playerLoc = player.getLocation();
-
-        scheduler.runAtLocation(playerLoc, () -> {
-            // Safe-Spawn: 5 Versuche (Performance-optimiert, strenge Wasser/Wand-Checks)
-            Location spawn = SpawnUtil.findSafeSpawnLocation(w, playerLoc, 10, 5);
-
-            // Region-Schutz: Kein Spawn in geschützten Bereichen
-            if (plugin.getRegionIntegration() != null && !plugin.getRegionIntegration().canSpawnAt(spawn)) {
-                plugin.debug("Elf spawn blocked by region protection at " + spawn.getBlockX() + "," + spawn.getBlockZ());
-                return;
+    public SpawnDirector.Content elfContent() {
+        return new SpawnDirector.Content() {
+            @Override public String name() { return "Elf"; }
+            @Override public long initialDelayTicks() { return 60L; }
+            @Override public int radius() { return 10; }
+
+            @Override
+            public long intervalTicks() {
+                return plugin.getSettings().elvesEnabled ? plugin.getSettings().elvesSpawnIntervalSeconds * 20L : 0;
             }
 
-            Allay a = (Allay) w.spawnEntity(spawn, EntityType.ALLAY);
-            a.setCustomName(lang.get("entity.elf"));
-            a.setCustomNameVisible(true);
-            a.setRemoveWhenFarAway(false);
-            a.setCanPickupItems(true);
-            a.getScoreboardTags().add(TAG_ELF);
-            trackedElfen.add(a.getUniqueId());
-
-            // FOLIA FIX: Starte Entity Scheduler Task für Steal-Logik
-            startEntityStealTask(a);
-
-            // FIX: Lifetime Enforcement - entferne nach konfigurierter Zeit
-            int lifetime = Math.max(10, plugin.getConfig().getInt("wichtel.lifetimeSeconds", 240));
-            UUID elfId = a.getUniqueId();
-            scheduler.runForEntityLater(a, () -> {
-                Entity e = Bukkit.getEntity(elfId);
-                if (e != null && e.isValid()) {
-                    e.remove();
-                }
-                trackedElfen.remove(elfId);
-                entityStealTasks.remove(elfId); // Cleanup Task
-            }, lifetime * 20L);
-        });
+            @Override
+            public boolean wants(Player player, SeasonWorld ctx) {
+                // DENSITY: Welt-Limit als Obergrenze + lokales Limit pro Spieler im Umkreis
+                return ctx.getSettings().wichtel
+                        && plugin.getSeasonDensity().allows(player.getLocation(), SeasonDensity.Kind.ELF,
+                                ctx.getSettings().elvesMax, plugin.getSettings().elvesPerPlayerArea);
+            }
+
+            @Override
+            public void spawn(World world, Location loc) {
+                spawnElf(world, loc);
+            }
+        };
     }
 
     /**
-     * Startet einen Entity Scheduler Task für Steal/TP-Logik
-     * FOLIA-KOMPATIBEL: Läuft auf Entity Scheduler der Mob-Entity
+     * Spawnt einen Wichtel
+     * FOLIA-KOMPATIBEL: Läuft auf dem Region-Thread der Location
      */
-    private void startEntityStealTask(LivingEntity entity) {
-        UUID entityId = entity.getUniqueId();
-        double radius = plugin.getConfig().getDouble("wichtel.stealRadius", 3.2);
+    private void spawnWichtel(World w, Location spawn) {
+        // POOL: Geparkten Wichtel umsetzen statt neu zu erzeugen
+        LivingEntity pooled = plugin.getMobPool().take(w, SeasonDensity.Kind.WICHTEL);
+        if (pooled != null) {
+            plugin.getMobPool().reuse(pooled, spawn,
+                    () -> track(pooled, SeasonDensity.Kind.WICHTEL, trackedWichtel, spawn),
+                    () -> spawnNewWichtel(w, spawn));
+            return;
+        }
+        spawnNewWichtel(w, spawn);
+    }
+
+    private void spawnNewWichtel(World w, Location spawn) {
+        Zombie z = (Zombie) w.spawnEntity(spawn, EntityType.ZOMBIE);
+        z.setBaby(true);
+        z.setCustomName(lang.get("entity.wichtel"));
+        z.setCustomNameVisible(true);
+        z.setRemoveWhenFarAway(false);
+        z.getScoreboardTags().add(TAG_WICHTEL);
+        if (z.getEquipment()!=null) z.getEquipment().clear();
+        z.setTarget(null);
+        track(z, SeasonDensity.Kind.WICHTEL, trackedWichtel, spawn);
+    }
+
+    /**
+     * Spawnt einen Elfen
+     * FOLIA-KOMPATIBEL: Läuft auf dem Region-Thread der Location
+     */
+    private void spawnElf(World w, Location spawn) {
+        // POOL: Geparkten Elfen umsetzen statt neu zu erzeugen
+        LivingEntity pooled = plugin.getMobPool().take(w, SeasonDensity.Kind.ELF);
+        if (pooled != null) {
+            plugin.getMobPool().reuse(pooled, spawn,
+                    () -> track(pooled, SeasonDensity.Kind.ELF, trackedElfen, spawn),
+                    () -> spawnNewElf(w, spawn));
+            return;
+        }
+        spawnNewElf(w, spawn);
+    }
+
+    private void spawnNewElf(World w, Location spawn) {
+        Allay a = (Allay) w.spawnEntity(spawn, EntityType.ALLAY);
+        a.setCustomName(lang.get("entity.elf"));
+        a.setCustomNameVisible(true);
+        a.setRemoveWhenFarAway(false);
+        a.setCanPickupItems(true);
+        a.getScoreboardTags().add(TAG_ELF);
+        track(a, SeasonDensity.Kind.ELF, trackedElfen, spawn);
+    }
+
+    /**
+     * Tracking, Dichte und AI für einen neuen oder wiederverwendeten Mob (Thread der Entity)
+     * Bei Ablauf der Lebensdauer wird der Mob geparkt, falls der Pool aktiv ist;
+     * geparkt verlässt er das Tracking und kommt beim Wiederverwenden hierüber zurück.
+     */
+    private void track(LivingEntity mob, SeasonDensity.Kind kind, Set<UUID> tracked, Location spawn) {
+        UUID id = mob.getUniqueId();
+        tracked.add(id);
+        plugin.getSeasonDensity().add(id, kind, spawn);
+
+        Runnable untrack = () -> {
+            tracked.remove(id);
+            plugin.getSeasonDensity().remove(id);
+        };
+        // AI: Steal-Logik + Lifetime Enforcement im gemeinsamen Takt
+        registerStealBehavior(mob, untrack, expired -> plugin.getMobPool().park(expired, kind, untrack));
+    }
+
+    /**
+     * Registriert Steal/TP-Logik und Lebensdauer im gemeinsamen AI-Takt
+     * FOLIA-KOMPATIBEL: Der Driver ruft das Verhalten auf dem Thread der Entity auf
+     *
+     * @param untrack Aufräumen beim Tod oder Ablauf der Lebensdauer
+     * @param onExpire Ablauf der Lebensdauer (true = Mob geparkt statt entfernt)
+     */
+    private void registerStealBehavior(LivingEntity mob, Runnable untrack, java.util.function.Predicate<LivingEntity> onExpire) {
         double tpChance = 0.3;
+        long lifetimeMillis = plugin.getSettings().wichtelLifetimeSeconds * 1000L;
 
-        // FOLIA FIX: Entity Scheduler Task für diese spezifische Entity
-        WrappedTask task = scheduler.runForEntityTimer(entity, () -> {
-            // Entity-State-Zugriff ist sicher, weil wir auf Entity Scheduler laufen!
-            if (!entity.isValid() || entity.isDead()) {
-                WrappedTask oldTask = entityStealTasks.remove(entityId);
-                if (oldTask != null) oldTask.cancel();
-                return;
-            }
+        // Alle 2 Sekunden (40 Ticks), Lebensdauer prüft der Driver
+        plugin.getMobDriver().register(mob, 40L, lifetimeMillis, entity -> {
+            double radius = plugin.getSettings().wichtelStealRadius;
 
             // Steal-Logik: Items in Nähe einsammeln
-            for (Entity near : entity.getNearbyEntities(radius, radius, radius)) {
-                if (near instanceof Item item) {
-                    item.remove();
-                    entity.getWorld().playSound(entity.getLocation(), Sound.ENTITY_ITEM_PICKUP, 0.5f, 1.2f);
-                }
+            // PERFORMANCE: Item-Index statt getNearbyEntities() (skaliert mit Items, nicht mit Mob-Dichte)
+            for (Item item : plugin.getItemIndex().near(entity.getLocation(), radius)) {
+                item.remove();
+                plugin.getItemIndex().remove(item);
+                entity.getWorld().playSound(entity.getLocation(), Sound.ENTITY_ITEM_PICKUP, 0.5f, 1.2f);
             }
 
             // Teleport-Logik: Zufälliges Herumspringen
@@ -321,10 +269,6 @@ public class WichtelManager {
                     entity.teleport(newLoc);
                 }
             }
-        }, 40L, 40L); // Alle 2 Sekunden (40 Ticks)
-
-        if (task != null) {
-            entityStealTasks.put(entityId, task);
-        }
+        }, untrack, onExpire);
     }
 }
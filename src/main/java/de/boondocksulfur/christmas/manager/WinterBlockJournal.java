@@ -0,0 +1,119 @@
+package de.boondocksulfur.christmas.manager;
+
+import org.bukkit.block.Block;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Journal für Schnee und Eis, die während der Saison entstanden sind.
+ *
+ * Neue Positionen werden im Speicher gesammelt (Welt → Chunk → Block) und
+ * periodisch in die Snapshot-DB übernommen (Spalte 'winter' der chunks-Tabelle).
+ * Beim Restore werden nur diese Positionen geprüft statt Y 50-200 des ganzen
+ * Chunks zu scannen.
+ *
+ * Während eines Restores ist das Journal eingefroren: Der Reader liest das gespeicherte
+ * Journal im Voraus, ein periodischer flush() dazwischen würde neue Positionen in eine
+ * bereits gelesene Zeile schreiben. Eingefroren bleiben sie im Speicher, bis der Chunk
+ * angewendet wird (drain()).
+ *
+ * THREAD-SAFE: record() läuft auf Region-Threads, flush() async.
+ */
+public class WinterBlockJournal {
+
+    /** Job-Name des Clean-Shutdown-Markers in der jobs-Tabelle */
+    static final String JOURNAL_JOB = "winter-journal";
+
+    private final Map<String, Map<Long, Set<Integer>>> deltas = new ConcurrentHashMap<>();
+    private volatile boolean frozen;
+
+    /** Block-Position innerhalb eines Chunks: Y (mit Offset) | X | Z */
+    static int packBlock(int localX, int y, int localZ) {
+        return ((y + 2048) << 8) | ((localX & 15) << 4) | (localZ & 15);
+    }
+
+    static int unpackX(int packed) { return (packed >> 4) & 15; }
+    static int unpackZ(int packed) { return packed & 15; }
+    static int unpackY(int packed) { return (packed >>> 8) - 2048; }
+
+    static long packChunk(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Merkt einen neu entstandenen Schnee-/Eisblock vor
+     */
+    public void record(Block block) {
+        int x = block.getX();
+        int z = block.getZ();
+        int pos = packBlock(x & 15, block.getY(), z & 15);
+        // compute() sperrt den Eintrag → kein Verlust, wenn flush() ihn gleichzeitig entnimmt
+        deltas.computeIfAbsent(block.getWorld().getName(), k -> new ConcurrentHashMap<>())
+              .compute(packChunk(x >> 4, z >> 4), (k, set) -> {
+                  if (set == null) set = new java.util.HashSet<>();
+                  set.add(pos);
+                  return set;
+              });
+    }
+
+    /**
+     * Entnimmt die noch nicht gespeicherten Positionen eines Chunks (beim Restore)
+     *
+     * @return gepackte Positionen, oder null wenn keine vorliegen
+     */
+    public Set<Integer> drain(String world, int chunkX, int chunkZ) {
+        Map<Long, Set<Integer>> chunks = deltas.get(world);
+        return chunks != null ? chunks.remove(packChunk(chunkX, chunkZ)) : null;
+    }
+
+    /**
+     * Schreibt ein letztes Mal und friert das Journal ein (vor dem Start des Restore-Readers)
+     * Danach ist flush() wirkungslos, bis unfreeze() aufgerufen wird.
+     */
+    public void freeze(BiomeSnapshotDatabase database) throws SQLException {
+        frozen = false;
+        try {
+            flush(database);
+        } finally {
+            // Auch bei einem Fehler: nicht geschriebene Positionen bleiben im Speicher → drain()
+            frozen = true;
+        }
+    }
+
+    /** Hebt das Einfrieren auf (Restore beendet oder Plugin-Stop) */
+    public void unfreeze() {
+        frozen = false;
+    }
+
+    /**
+     * Schreibt alle gesammelten Positionen in die DB (async oder beim Stop)
+     * Bei einem Fehler bleiben die Positionen für den nächsten Versuch erhalten.
+     * Eingefroren (Restore läuft) passiert nichts.
+     */
+    public void flush(BiomeSnapshotDatabase database) throws SQLException {
+        if (frozen) return;
+        for (Map.Entry<String, Map<Long, Set<Integer>>> world : deltas.entrySet()) {
+            Map<Long, Set<Integer>> batch = new java.util.HashMap<>();
+            for (Long key : world.getValue().keySet()) {
+                Set<Integer> positions = world.getValue().remove(key);
+                if (positions != null && !positions.isEmpty()) batch.put(key, positions);
+            }
+            try {
+                database.mergeWinterJournal(world.getKey(), batch);
+            } catch (SQLException e) {
+                batch.forEach((key, positions) -> world.getValue().merge(key, positions, (a, b) -> {
+                    a.addAll(b);
+                    return a;
+                }));
+                throw e;
+            }
+        }
+    }
+
+    public void clear() {
+        deltas.clear();
+    }
+}
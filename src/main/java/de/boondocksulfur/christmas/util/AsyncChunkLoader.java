@@ -0,0 +1,159 @@
+package de.boondocksulfur.christmas.util;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Asynchrones Laden von Chunks für Wartungs-Jobs (Restore, Compare, Fix-Diff).
+ *
+ * - Lädt über getChunkAtAsync() OHNE Generierung (fehlende Chunks werden nie erzeugt)
+ * - Hält ein Plugin-Ticket nur solange die Arbeit läuft, danach darf der Chunk entladen werden
+ *   (mit Zähler: überlappende Jobs auf demselben Chunk teilen sich das Ticket)
+ * - Die Arbeit läuft immer auf dem Region-Thread des Chunks (Location Scheduler)
+ *
+ * FOLIA-KOMPATIBEL: Kein synchrones loadChunk() mehr auf Region-Threads.
+ */
+public class AsyncChunkLoader {
+
+    /** Sicherheitsnetz: Hängende Loads (z.B. beim Shutdown) blockieren Jobs nicht ewig */
+    private static final long TIMEOUT_SECONDS = 120;
+
+    // Plugin-Tickets sind nicht gezählt → Welt → Chunk → Anzahl laufender Arbeiten (über alle Loader)
+    private static final Map<UUID, Map<Long, Integer>> TICKETS = new ConcurrentHashMap<>();
+
+    private final Plugin plugin;
+    private final FoliaSchedulerHelper scheduler;
+
+    public AsyncChunkLoader(Plugin plugin) {
+        this.plugin = plugin;
+        this.scheduler = new FoliaSchedulerHelper(plugin);
+    }
+
+    /**
+     * Lädt einen Chunk asynchron und führt 'work' auf seinem Region-Thread aus
+     *
+     * @param world Welt
+     * @param chunkX Chunk X
+     * @param chunkZ Chunk Z
+     * @param work Arbeit auf dem geladenen Chunk (Region-Thread)
+     * @param ifMissing Ergebnis, wenn der Chunk nie generiert wurde
+     * @return Future mit dem Ergebnis von 'work' (oder ifMissing)
+     */
+    public <T> CompletableFuture<T> withChunk(World world, int chunkX, int chunkZ, Function<Chunk, T> work, T ifMissing) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        world.getChunkAtAsync(chunkX, chunkZ, false).whenComplete((chunk, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (chunk == null) {
+                result.complete(ifMissing);
+                return;
+            }
+
+            if (result.isDone()) return; // Zeitüberschreitung
+
+            // Ticket hält den Chunk geladen, bis die Arbeit auf dem Region-Thread gelaufen ist
+            // (der Callback kann auf einem anderen Thread fertig werden, z.B. bei bereits geladenen Chunks)
+            // BATCHING: Chunks derselben Region-Sektion laufen in einem gemeinsamen Region-Task
+            boolean ticket = acquireTicket(world, chunkX, chunkZ);
+            scheduler.runInChunk(world, chunkX, chunkZ, () -> {
+                try {
+                    // Nach Zeitüberschreitung wartet niemand mehr auf das Ergebnis → Arbeit nicht ausführen
+                    if (result.isDone()) return;
+                    // NIE getChunkAt(): würde einen inzwischen entladenen Chunk synchron laden
+                    if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                        result.completeExceptionally(new IllegalStateException(
+                                "Chunk " + chunkX + "," + chunkZ + " wurde vor der Arbeit entladen"));
+                        return;
+                    }
+                    result.complete(work.apply(chunk));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    if (ticket) releaseTicket(world, chunkX, chunkZ);
+                }
+            });
+        });
+
+        return result.orTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sortiert Chunk-Koordinaten nach Region-Datei (32x32 Chunks pro .mca)
+     * Aufeinanderfolgende Loads treffen so dieselbe Datei → bessere Disk-Lokalität.
+     */
+    public static <T> void sortByRegion(List<T> chunks, ToIntFunction<T> chunkX, ToIntFunction<T> chunkZ) {
+        chunks.sort(Comparator
+                .<T>comparingInt(c -> chunkX.applyAsInt(c) >> 5)
+                .thenComparingInt(c -> chunkZ.applyAsInt(c) >> 5)
+                .thenComparingInt(chunkZ)
+                .thenComparingInt(chunkX));
+    }
+
+    /**
+     * Nimmt das Plugin-Ticket für einen Chunk (gezählt)
+     *
+     * @return true wenn dieser Aufruf releaseTicket() aufrufen muss
+     */
+    private boolean acquireTicket(World world, int chunkX, int chunkZ) {
+        Map<Long, Integer> chunks = TICKETS.computeIfAbsent(world.getUID(), k -> new ConcurrentHashMap<>());
+        boolean[] held = {false};
+        chunks.compute(pack(chunkX, chunkZ), (k, count) -> {
+            if (count != null) {
+                held[0] = true;
+                return count + 1;
+            }
+            // false = Ticket gehört schon jemand anderem im Plugin → nicht zählen, nicht entfernen
+            if (addTicket(world, chunkX, chunkZ)) {
+                held[0] = true;
+                return 1;
+            }
+            return null;
+        });
+        return held[0];
+    }
+
+    /** Gibt das Ticket frei; entfernt wird es erst, wenn keine Arbeit den Chunk mehr braucht */
+    private void releaseTicket(World world, int chunkX, int chunkZ) {
+        Map<Long, Integer> chunks = TICKETS.get(world.getUID());
+        if (chunks == null) return;
+        chunks.computeIfPresent(pack(chunkX, chunkZ), (k, count) -> {
+            if (count > 1) return count - 1;
+            removeTicket(world, chunkX, chunkZ);
+            return null;
+        });
+    }
+
+    private static long pack(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private boolean addTicket(World world, int chunkX, int chunkZ) {
+        try {
+            return world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    private void removeTicket(World world, int chunkX, int chunkZ) {
+        try {
+            world.removePluginChunkTicket(chunkX, chunkZ, plugin);
+        } catch (Throwable ignored) {
+            // Ticket wird spätestens beim Plugin-Disable von Bukkit entfernt
+        }
+    }
+}
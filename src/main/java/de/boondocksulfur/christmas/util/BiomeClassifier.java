@@ -0,0 +1,139 @@
+package de.boondocksulfur.christmas.util;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.block.Biome;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Vorberechnete Biom-Klassifizierung (einmal beim Start und bei /xmas reload).
+ *
+ * Jedes Biom aus Registry.BIOME bekommt ein Flag-Byte:
+ * - BLOCKED: Höhlen/Nether/End - wird nie geändert
+ * - SNOWY:   Schnee ist hier natürlich - wird beim Restore nicht entfernt
+ * - ICY:     Eis ist hier natürlich - wird beim Restore nicht entfernt
+ *
+ * Die Regeln stehen in config.yml (biome.classification) als include/exclude-Muster
+ * auf den Biom-Key ("snowy_plains", "minecraft:grove", "*frozen*").
+ *
+ * PERFORMANCE: Die Abfragen pro Zelle sind ein einziger Identity-Lookup statt
+ * getKey().toLowerCase() + bis zu 15 contains()-Vergleichen.
+ * (Biome ist seit 1.21.3 ein Registry-Interface ohne stabile Ordinalzahl → IdentityHashMap statt Array.)
+ *
+ * THREAD-SAFE: Die Tabelle wird als unveränderlicher Snapshot veröffentlicht.
+ */
+public class BiomeClassifier {
+
+    private static final byte BLOCKED = 1;
+    private static final byte SNOWY = 1 << 1;
+    private static final byte ICY = 1 << 2;
+
+    // Standardregeln = bisherige String-Prüfungen
+    private static final List<String> DEFAULT_BLOCKED = List.of(
+            "*nether*", "*crimson*", "*warped*", "*basalt*", "*soul*", "*end*", "*cave*", "*deep_dark*");
+    private static final List<String> DEFAULT_SNOWY = List.of(
+            "*snowy*", "*frozen*", "*ice*", "grove", "jagged_peaks");
+    private static final List<String> DEFAULT_ICY = List.of(
+            "*frozen*", "*ice*", "*snowy*", "grove", "jagged_peaks");
+
+    private volatile Map<Biome, Byte> flags = new IdentityHashMap<>();
+    private volatile Rules rules = new Rules(null);
+
+    /** Kompilierte include/exclude-Muster aller drei Klassen */
+    private static final class Rules {
+        final List<Pattern> blockedInclude, blockedExclude;
+        final List<Pattern> snowyInclude, snowyExclude;
+        final List<Pattern> icyInclude, icyExclude;
+
+        Rules(ConfigurationSection section) {
+            blockedInclude = patterns(section, "blocked.include", DEFAULT_BLOCKED);
+            blockedExclude = patterns(section, "blocked.exclude", List.of());
+            snowyInclude = patterns(section, "snowy.include", DEFAULT_SNOWY);
+            snowyExclude = patterns(section, "snowy.exclude", List.of());
+            icyInclude = patterns(section, "icy.include", DEFAULT_ICY);
+            icyExclude = patterns(section, "icy.exclude", List.of());
+        }
+
+        byte classify(Biome biome) {
+            NamespacedKey key = biome.getKey();
+            String path = key.getKey().toLowerCase();
+            String full = key.getNamespace().toLowerCase() + ":" + path;
+
+            byte f = 0;
+            if (matches(blockedInclude, path, full) && !matches(blockedExclude, path, full)) f |= BLOCKED;
+            if (matches(snowyInclude, path, full) && !matches(snowyExclude, path, full)) f |= SNOWY;
+            if (matches(icyInclude, path, full) && !matches(icyExclude, path, full)) f |= ICY;
+            return f;
+        }
+    }
+
+    /**
+     * Baut die Tabelle aus der Konfiguration neu auf
+     *
+     * @return Anzahl klassifizierter Biome
+     */
+    public int rebuild(FileConfiguration config) {
+        Rules newRules = new Rules(config.getConfigurationSection("biome.classification"));
+        Map<Biome, Byte> table = new IdentityHashMap<>();
+        for (Biome biome : Registry.BIOME) {
+            table.put(biome, newRules.classify(biome));
+        }
+        rules = newRules;
+        flags = table;
+        return table.size();
+    }
+
+    /** Darf das Biom in Schnee verwandelt werden? (blockiert Höhlen, Nether, End) */
+    public boolean isAllowedToChange(Biome biome) {
+        return biome != null && (flagsOf(biome) & BLOCKED) == 0;
+    }
+
+    /** Ist Schnee in diesem Biom natürlich? */
+    public boolean isNaturallySnowy(Biome biome) {
+        return biome != null && (flagsOf(biome) & SNOWY) != 0;
+    }
+
+    /** Ist Eis in diesem Biom natürlich? */
+    public boolean isNaturallyIcy(Biome biome) {
+        return biome != null && (flagsOf(biome) & ICY) != 0;
+    }
+
+    private byte flagsOf(Biome biome) {
+        Byte f = flags.get(biome);
+        // Nicht in der Registry (z.B. CUSTOM) → direkt klassifizieren
+        return f != null ? f : rules.classify(biome);
+    }
+
+    // ===================== Muster ======================
+
+    private static List<Pattern> patterns(ConfigurationSection section, String path, List<String> defaults) {
+        List<String> raw = section != null && section.isList(path) ? section.getStringList(path) : defaults;
+        List<Pattern> result = new ArrayList<>(raw.size());
+        for (String glob : raw) {
+            if (glob == null || glob.isBlank()) continue;
+            StringBuilder regex = new StringBuilder();
+            for (String part : glob.trim().toLowerCase().split("\\*", -1)) {
+                if (regex.length() > 0) regex.append(".*");
+                regex.append(Pattern.quote(part));
+            }
+            result.add(Pattern.compile(regex.toString()));
+        }
+        return result;
+    }
+
+    /** Muster mit Namespace ("minecraft:grove") prüfen den vollen Key, sonst nur den Pfad */
+    private static boolean matches(List<Pattern> patterns, String path, String full) {
+        for (Pattern p : patterns) {
+            String target = p.pattern().contains(":") ? full : path;
+            if (p.matcher(target).matches()) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,155 @@
+package de.boondocksulfur.christmas.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Item;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index aller gedroppten Items, nach Chunk gebündelt.
+ *
+ * Wird über Events gepflegt (Spawn, Aufheben, Despawn, Merge, Entities laden/entladen,
+ * siehe DroppedItemListener). Die Steal-Logik der Wichtel fragt nur diesen Index ab,
+ * statt getNearbyEntities() über alle Entities der Umgebung laufen zu lassen -
+ * die Kosten hängen so von der Zahl der Items ab, nicht von der Mob-Dichte (Farmen).
+ *
+ * Items, die ohne Event verschwinden (Lava, Kaktus, Plugins), werden bei der
+ * nächsten Abfrage ihres Chunks verworfen. Weggerollte Items wandern dabei in
+ * ihren aktuellen Chunk. Leere Buckets werden sofort entfernt.
+ *
+ * THREAD-SAFE: Events und Abfragen laufen auf beliebigen Region-Threads.
+ */
+public class DroppedItemIndex {
+
+    /** Items rollen/fließen etwas → einen Chunk Rand mit abfragen */
+    private static final int MARGIN_CHUNKS = 1;
+
+    /** Items eines Chunks (Welt + Chunk-Key, um den Bucket beim Leerwerden zu entfernen) */
+    private record Bucket(String world, long chunk, Set<Item> items) {}
+
+    private final FoliaSchedulerHelper scheduler;
+    // Welt → Chunk → Items
+    private final Map<String, Map<Long, Bucket>> buckets = new ConcurrentHashMap<>();
+    // Item → aktueller Bucket (für O(1)-Entfernen ohne Position)
+    private final Map<UUID, Bucket> owners = new ConcurrentHashMap<>();
+
+    public DroppedItemIndex(Plugin plugin) {
+        this.scheduler = new FoliaSchedulerHelper(plugin);
+    }
+
+    public void add(Item item) {
+        Location loc = item.getLocation();
+        World world = loc.getWorld();
+        if (world == null) return;
+        put(item, world.getName(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+    }
+
+    private void put(Item item, String world, int chunkX, int chunkZ) {
+        // Hinzufügen unter dem Lock des Eintrags → detach() kann den Bucket nicht gleichzeitig verwerfen
+        Bucket bucket = buckets.computeIfAbsent(world, k -> new ConcurrentHashMap<>())
+                .compute(pack(chunkX, chunkZ), (key, current) -> {
+                    if (current == null) current = new Bucket(world, key, ConcurrentHashMap.newKeySet());
+                    current.items().add(item);
+                    return current;
+                });
+        Bucket previous = owners.put(item.getUniqueId(), bucket);
+        if (previous != null && previous != bucket) detach(previous, item);
+    }
+
+    public void remove(Item item) {
+        Bucket bucket = owners.remove(item.getUniqueId());
+        if (bucket != null) detach(bucket, item);
+    }
+
+    /** Nimmt ein Item aus seinem Bucket und entfernt den Bucket, wenn er leer ist */
+    private void detach(Bucket bucket, Item item) {
+        bucket.items().remove(item);
+        Map<Long, Bucket> worldBuckets = buckets.get(bucket.world());
+        if (worldBuckets != null) {
+            worldBuckets.computeIfPresent(bucket.chunk(), (key, current) -> current.items().isEmpty() ? null : current);
+        }
+    }
+
+    /** Verwirft alle Items eines Chunks (Entities entladen) */
+    public void removeChunk(World world, int chunkX, int chunkZ) {
+        Map<Long, Bucket> worldBuckets = buckets.get(world.getName());
+        if (worldBuckets == null) return;
+        Bucket bucket = worldBuckets.remove(pack(chunkX, chunkZ));
+        if (bucket == null) return;
+        for (Item item : bucket.items()) owners.remove(item.getUniqueId(), bucket);
+    }
+
+    /** Verwirft alle Items einer Welt (Welt entladen) */
+    public void removeWorld(World world) {
+        Map<Long, Bucket> worldBuckets = buckets.remove(world.getName());
+        if (worldBuckets == null) return;
+        for (Bucket bucket : worldBuckets.values()) {
+            for (Item item : bucket.items()) owners.remove(item.getUniqueId(), bucket);
+        }
+    }
+
+    /**
+     * Items im Würfel mit Kantenlänge 2*radius um center (wie getNearbyEntities)
+     * FOLIA: Liefert nur Items, die dem aktuellen Region-Thread gehören.
+     */
+    public List<Item> near(Location center, double radius) {
+        World world = center.getWorld();
+        if (world == null) return Collections.emptyList();
+        Map<Long, Bucket> worldBuckets = buckets.get(world.getName());
+        if (worldBuckets == null || worldBuckets.isEmpty()) return Collections.emptyList();
+
+        double cx = center.getX(), cy = center.getY(), cz = center.getZ();
+        int minX = ((int) Math.floor(cx - radius) >> 4) - MARGIN_CHUNKS;
+        int maxX = ((int) Math.floor(cx + radius) >> 4) + MARGIN_CHUNKS;
+        int minZ = ((int) Math.floor(cz - radius) >> 4) - MARGIN_CHUNKS;
+        int maxZ = ((int) Math.floor(cz + radius) >> 4) + MARGIN_CHUNKS;
+
+        List<Item> result = new ArrayList<>();
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                Bucket bucket = worldBuckets.get(pack(x, z));
+                if (bucket == null) continue;
+                for (Item item : bucket.items()) {
+                    if (!scheduler.isOwnedByCurrentRegion(item)) continue;
+                    if (!item.isValid()) {
+                        // Ohne Event verschwunden
+                        if (owners.remove(item.getUniqueId(), bucket)) detach(bucket, item);
+                        else bucket.items().remove(item);
+                        continue;
+                    }
+                    Location loc = item.getLocation();
+                    int chunkX = loc.getBlockX() >> 4, chunkZ = loc.getBlockZ() >> 4;
+                    if (chunkX != x || chunkZ != z) put(item, world.getName(), chunkX, chunkZ);
+
+                    if (Math.abs(loc.getX() - cx) <= radius
+                            && Math.abs(loc.getY() - cy) <= radius
+                            && Math.abs(loc.getZ() - cz) <= radius) {
+                        result.add(item);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return owners.size();
+    }
+
+    public void clear() {
+        buckets.clear();
+        owners.clear();
+    }
+
+    private static long pack(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
@@ -8,6 +8,13 @@ import org.bukkit.World;
 import org.bukkit.entity.Entity;
 import org.bukkit.plugin.Plugin;
 
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Helper class for multi-platform scheduling using FoliaLib.
  * Provides abstraction that works on Spigot, Paper, Purpur, and Folia.
@@ -16,6 +23,25 @@ public class FoliaSchedulerHelper {
 
     private final FoliaLib foliaLib;
 
+    /**
+     * Chunk jobs are grouped by region section of 2^REGION_SHIFT x 2^REGION_SHIFT chunks.
+     * Folia assigns whole sections (16x16 chunks by default) to one region, so all chunks of a
+     * batch are owned by the thread the batch runs on. Chunks that are not (custom section size)
+     * fall back to their own task.
+     */
+    private static final int REGION_SHIFT = 4;
+
+    // World UUID -> packed section coordinates -> pending batch
+    private final Map<UUID, Map<Long, RegionBatch>> regionBatches = new ConcurrentHashMap<>();
+
+    /** Pending chunk jobs of one region section */
+    private static final class RegionBatch {
+        final Queue<ChunkJob> jobs = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean(false);
+    }
+
+    private record ChunkJob(int chunkX, int chunkZ, Runnable task) {}
+
     public FoliaSchedulerHelper(Plugin plugin) {
         this.foliaLib = new FoliaLib(plugin);
     }
@@ -66,6 +92,81 @@ public class FoliaSchedulerHelper {
         foliaLib.getScheduler().runAtLocation(location, wrappedTask -> task.run());
     }
 
+    /**
+     * Runs a task on the region owning a chunk, batched per region section.
+     * All jobs queued for the same section before the batch runs are executed by ONE
+     * region task (one Location, one cross-thread handoff, neighbouring chunks on a warm thread).
+     *
+     * @param world  The world of the chunk
+     * @param chunkX Chunk X
+     * @param chunkZ Chunk Z
+     * @param task   The task to run on the owning region thread
+     */
+    public void runInChunk(World world, int chunkX, int chunkZ, Runnable task) {
+        int sectionX = chunkX >> REGION_SHIFT;
+        int sectionZ = chunkZ >> REGION_SHIFT;
+        long key = ((long) sectionX << 32) | (sectionZ & 0xFFFFFFFFL);
+        Map<Long, RegionBatch> batches = regionBatches.computeIfAbsent(world.getUID(), k -> new ConcurrentHashMap<>());
+        RegionBatch batch = batches.computeIfAbsent(key, k -> new RegionBatch());
+
+        batch.jobs.offer(new ChunkJob(chunkX, chunkZ, task));
+
+        // Only the first job since the last run submits a region task, later ones join the batch
+        if (batch.scheduled.compareAndSet(false, true)) {
+            Location anchor = new Location(world, (sectionX << (REGION_SHIFT + 4)) + 8, 64, (sectionZ << (REGION_SHIFT + 4)) + 8);
+            runAtLocation(anchor, () -> drainBatch(world, batches, key, batch));
+        }
+    }
+
+    private void drainBatch(World world, Map<Long, RegionBatch> batches, long key, RegionBatch batch) {
+        // Reset first: jobs queued while draining either run now or trigger the next batch
+        batch.scheduled.set(false);
+        ChunkJob job;
+        while ((job = batch.jobs.poll()) != null) {
+            if (isOwnedByCurrentRegion(world, job.chunkX(), job.chunkZ())) {
+                job.task().run();
+            } else {
+                runAtLocation(new Location(world, (job.chunkX() << 4) + 8, 64, (job.chunkZ() << 4) + 8), job.task());
+            }
+        }
+        // Drop the empty batch so sections visited once do not stay in the map forever.
+        // A job offered to it after this check still runs: 'scheduled' is false, so its
+        // producer submits a drain for this batch even though it is no longer mapped.
+        if (batch.jobs.isEmpty()) batches.remove(key, batch);
+    }
+
+    /**
+     * Checks if the current thread owns the entity (always true on Spigot/Paper).
+     *
+     * @param entity The entity to check
+     * @return true if the entity may be accessed from the current thread
+     */
+    public boolean isOwnedByCurrentRegion(Entity entity) {
+        if (!isFolia()) return true;
+        try {
+            return foliaLib.getScheduler().isOwnedByCurrentRegion(entity);
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the current thread owns the chunk (always true on Spigot/Paper).
+     *
+     * @param world  The world of the chunk
+     * @param chunkX Chunk X
+     * @param chunkZ Chunk Z
+     * @return true if the chunk may be accessed from the current thread
+     */
+    public boolean isOwnedByCurrentRegion(World world, int chunkX, int chunkZ) {
+        if (!isFolia()) return true;
+        try {
+            return foliaLib.getScheduler().isOwnedByCurrentRegion(world, chunkX, chunkZ);
+        } catch (Throwable t) {
+            return true;
+        }
+    }
+
     /**
      * Runs a delayed task on the region scheduler for a specific location.
      *
@@ -171,15 +272,15 @@ public class FoliaSchedulerHelper {
 
     /**
      * Executes a task for each loaded chunk in a world.
-     * This distributes the work across regions automatically on Folia.
+     * This distributes the work across regions automatically on Folia
+     * (one task per region section, see {@link #runInChunk}).
      *
      * @param world The world to iterate chunks in
      * @param task  The task to run for each chunk
      */
     public void forEachLoadedChunk(World world, ChunkTask task) {
         for (Chunk chunk : world.getLoadedChunks()) {
-            Location chunkLoc = chunk.getBlock(8, 64, 8).getLocation();
-            runAtLocation(chunkLoc, () -> task.accept(chunk));
+            runInChunk(world, chunk.getX(), chunk.getZ(), () -> task.accept(chunk));
         }
     }
 
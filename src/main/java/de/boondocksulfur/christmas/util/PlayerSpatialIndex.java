@@ -0,0 +1,296 @@
+package de.boondocksulfur.christmas.util;
+
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gemeinsamer räumlicher Index aller Online-Spieler (Chunk-Raster).
+ *
+ * Jeder Spieler veröffentlicht seine Position einmal pro Tick über seinen
+ * Entity Scheduler; der Global Scheduler setzt daraus nur noch den
+ * unveränderlichen Snapshot zusammen. Alle Manager fragen
+ * "Spieler im Umkreis R um Punkt P" hier ab, statt World.getPlayers()
+ * linear zu durchsuchen.
+ *
+ * THREAD-SAFE: Lesezugriffe sind lock-frei (volatile Snapshot) und
+ * können von Region-, Entity- und Async-Threads erfolgen.
+ */
+public class PlayerSpatialIndex {
+
+    /** Zellgröße: 64 Blöcke (= 4x4 Chunks) */
+    private static final int CELL_SHIFT = 6;
+
+    /** Größere Sprünge pro Tick sind Teleports, keine Bewegung (Elytra+Rakete ≈ 3 Blöcke/Tick) */
+    private static final double MAX_SPEED_PER_TICK = 8.0;
+
+    private final FoliaSchedulerHelper scheduler;
+    private WrappedTask updateTask;
+
+    // FOLIA FIX: Positionen werden auf dem Entity-Thread des Spielers gelesen, nicht global
+    private final Map<UUID, Position> published = new ConcurrentHashMap<>();
+    private final Map<UUID, WrappedTask> publishers = new ConcurrentHashMap<>();
+
+    private volatile Snapshot current = Snapshot.EMPTY;
+
+    public PlayerSpatialIndex(Plugin plugin) {
+        this.scheduler = new FoliaSchedulerHelper(plugin);
+    }
+
+    /**
+     * Position eines Spielers zum Zeitpunkt des letzten Index-Updates
+     */
+    public static final class Entry {
+        public final Player player;
+        public final String world;
+        public final double x;
+        public final double y;
+        public final double z;
+        /** Horizontale Geschwindigkeit in Blöcken pro Tick (aus Positions-Delta seit letztem Update) */
+        public final double vx;
+        public final double vz;
+
+        Entry(Player player, String world, double x, double y, double z, double vx, double vz) {
+            this.player = player;
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.vx = vx;
+            this.vz = vz;
+        }
+
+        public int getChunkX() { return ((int) Math.floor(x)) >> 4; }
+        public int getChunkZ() { return ((int) Math.floor(z)) >> 4; }
+
+        /** Horizontale Geschwindigkeit in Blöcken pro Tick */
+        public double getSpeed() { return Math.sqrt(vx * vx + vz * vz); }
+    }
+
+    /** Zuletzt veröffentlichte Position eines Spielers (Entity-Thread) */
+    private record Position(String world, double x, double y, double z, double vx, double vz) {}
+
+    /** Unveränderlicher Index-Stand: Welt → Zelle → Spieler */
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+        final Map<String, Map<Long, List<Entry>>> cellsByWorld;
+        final Map<String, List<Entry>> playersByWorld;
+        final Map<UUID, Entry> playersById;
+
+        Snapshot(Map<String, Map<Long, List<Entry>>> cellsByWorld, Map<String, List<Entry>> playersByWorld,
+                 Map<UUID, Entry> playersById) {
+            this.cellsByWorld = cellsByWorld;
+            this.playersByWorld = playersByWorld;
+            this.playersById = playersById;
+        }
+    }
+
+    // ===================== Lifecycle ======================
+
+    public void start() {
+        stop();
+        rebuild();
+        updateTask = scheduler.runGlobalTaskTimer(this::rebuild, 1L, 1L);
+    }
+
+    public void stop() {
+        if (updateTask != null) {
+            updateTask.cancel();
+            updateTask = null;
+        }
+        for (WrappedTask task : publishers.values()) task.cancel();
+        publishers.clear();
+        published.clear();
+        current = Snapshot.EMPTY;
+    }
+
+    /**
+     * Startet den Positions-Takt eines Spielers (Entity Scheduler)
+     * FOLIA-KOMPATIBEL: getLocation() nur auf dem Thread, dem der Spieler gehört
+     */
+    private void startPublisher(Player player) {
+        UUID id = player.getUniqueId();
+        WrappedTask task = scheduler.runForEntityTimer(player, () -> publish(player), 1L, 1L);
+        if (task != null) publishers.put(id, task);
+    }
+
+    /** Veröffentlicht die aktuelle Position eines Spielers (Entity-Thread) */
+    private void publish(Player player) {
+        Location loc = player.getLocation();
+        World w = loc.getWorld();
+        if (w == null) return;
+
+        // Geschwindigkeit aus Positions-Delta (Player.getVelocity() ist serverseitig unzuverlässig)
+        double vx = 0, vz = 0;
+        Position prev = published.get(player.getUniqueId());
+        if (prev != null && prev.world().equals(w.getName())) {
+            vx = loc.getX() - prev.x();
+            vz = loc.getZ() - prev.z();
+            if (vx * vx + vz * vz > MAX_SPEED_PER_TICK * MAX_SPEED_PER_TICK) {
+                vx = 0;
+                vz = 0;
+            }
+        }
+        published.put(player.getUniqueId(), new Position(w.getName(), loc.getX(), loc.getY(), loc.getZ(), vx, vz));
+    }
+
+    /**
+     * Setzt den Index aus den veröffentlichten Positionen zusammen (Global Scheduler)
+     * Liest selbst keine Spieler-Positionen.
+     */
+    private void rebuild() {
+        Map<String, Map<Long, List<Entry>>> cells = new HashMap<>();
+        Map<String, List<Entry>> players = new HashMap<>();
+        Map<UUID, Entry> byId = new HashMap<>();
+        Set<UUID> online = new HashSet<>();
+
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            if (!p.isOnline()) continue;
+            UUID id = p.getUniqueId();
+            online.add(id);
+            if (!publishers.containsKey(id)) startPublisher(p);
+
+            Position pos = published.get(id);
+            if (pos == null) continue; // erster Takt steht noch aus
+
+            Entry entry = new Entry(p, pos.world(), pos.x(), pos.y(), pos.z(), pos.vx(), pos.vz());
+            byId.put(id, entry);
+            long cell = cellKey(((int) Math.floor(pos.x())) >> CELL_SHIFT, ((int) Math.floor(pos.z())) >> CELL_SHIFT);
+
+            cells.computeIfAbsent(entry.world, k -> new HashMap<>())
+                 .computeIfAbsent(cell, k -> new ArrayList<>(2))
+                 .add(entry);
+            players.computeIfAbsent(entry.world, k -> new ArrayList<>()).add(entry);
+        }
+
+        // Offline-Spieler: Takt beenden, Position verwerfen
+        publishers.entrySet().removeIf(e -> {
+            if (online.contains(e.getKey())) return false;
+            e.getValue().cancel();
+            published.remove(e.getKey());
+            return true;
+        });
+
+        current = new Snapshot(cells, players, byId);
+    }
+
+    // ===================== Queries ======================
+
+    /** Alle Spieler in einer Welt (Stand: letzter Tick) */
+    public List<Entry> getPlayers(World world) {
+        List<Entry> list = current.playersByWorld.get(world.getName());
+        return list != null ? list : Collections.emptyList();
+    }
+
+    /** Index-Eintrag eines Spielers, oder null wenn (noch) nicht erfasst */
+    public Entry getEntry(Player player) {
+        return current.playersById.get(player.getUniqueId());
+    }
+
+    /** Anzahl Spieler in einer Welt */
+    public int getPlayerCount(World world) {
+        return getPlayers(world).size();
+    }
+
+    /**
+     * Prüft ob mindestens ein Spieler horizontal im Umkreis liegt (X/Z-Distanz)
+     */
+    public boolean hasPlayerWithin(World world, double x, double z, double radius) {
+        Map<Long, List<Entry>> cells = current.cellsByWorld.get(world.getName());
+        if (cells == null) return false;
+
+        double radiusSq = radius * radius;
+        int minCX = ((int) Math.floor(x - radius)) >> CELL_SHIFT;
+        int maxCX = ((int) Math.floor(x + radius)) >> CELL_SHIFT;
+        int minCZ = ((int) Math.floor(z - radius)) >> CELL_SHIFT;
+        int maxCZ = ((int) Math.floor(z + radius)) >> CELL_SHIFT;
+
+        for (int cx = minCX; cx <= maxCX; cx++) {
+            for (int cz = minCZ; cz <= maxCZ; cz++) {
+                List<Entry> bucket = cells.get(cellKey(cx, cz));
+                if (bucket == null) continue;
+                for (Entry e : bucket) {
+                    double dx = e.x - x, dz = e.z - z;
+                    if (dx * dx + dz * dz <= radiusSq) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Alle Spieler horizontal im Umkreis (X/Z-Distanz)
+     */
+    public List<Entry> getPlayersWithin(World world, double x, double z, double radius) {
+        Map<Long, List<Entry>> cells = current.cellsByWorld.get(world.getName());
+        if (cells == null) return Collections.emptyList();
+
+        List<Entry> result = new ArrayList<>();
+        double radiusSq = radius * radius;
+        int minCX = ((int) Math.floor(x - radius)) >> CELL_SHIFT;
+        int maxCX = ((int) Math.floor(x + radius)) >> CELL_SHIFT;
+        int minCZ = ((int) Math.floor(z - radius)) >> CELL_SHIFT;
+        int maxCZ = ((int) Math.floor(z + radius)) >> CELL_SHIFT;
+
+        for (int cx = minCX; cx <= maxCX; cx++) {
+            for (int cz = minCZ; cz <= maxCZ; cz++) {
+                List<Entry> bucket = cells.get(cellKey(cx, cz));
+                if (bucket == null) continue;
+                for (Entry e : bucket) {
+                    double dx = e.x - x, dz = e.z - z;
+                    if (dx * dx + dz * dz <= radiusSq) result.add(e);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Nächster Spieler im Umkreis (3D-Distanz), oder null
+     */
+    public Entry getNearest(World world, double x, double y, double z, double radius) {
+        Map<Long, List<Entry>> cells = current.cellsByWorld.get(world.getName());
+        if (cells == null) return null;
+
+        Entry best = null;
+        double bestDistSq = radius * radius;
+        int minCX = ((int) Math.floor(x - radius)) >> CELL_SHIFT;
+        int maxCX = ((int) Math.floor(x + radius)) >> CELL_SHIFT;
+        int minCZ = ((int) Math.floor(z - radius)) >> CELL_SHIFT;
+        int maxCZ = ((int) Math.floor(z + radius)) >> CELL_SHIFT;
+
+        for (int cx = minCX; cx <= maxCX; cx++) {
+            for (int cz = minCZ; cz <= maxCZ; cz++) {
+                List<Entry> bucket = cells.get(cellKey(cx, cz));
+                if (bucket == null) continue;
+                for (Entry e : bucket) {
+                    double dx = e.x - x, dy = e.y - y, dz = e.z - z;
+                    double distSq = dx * dx + dy * dy + dz * dz;
+                    if (distSq <= bestDistSq) {
+                        bestDistSq = distSq;
+                        best = e;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private static long cellKey(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+}
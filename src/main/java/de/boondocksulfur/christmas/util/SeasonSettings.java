@@ -0,0 +1,312 @@
+package de.boondocksulfur.christmas.util;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.block.Biome;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typisierter, unveränderlicher Stand der config.yml.
+ *
+ * Wird beim Enable und bei /xmas reload einmal gebaut und über eine volatile
+ * Referenz im Plugin veröffentlicht (plugin.getSettings()). Timer und Listener
+ * lesen nur noch Felder statt bei jedem Tick den YAML-MemorySection-Baum zu durchlaufen.
+ *
+ * Grenzen (Math.max etc.) werden hier EINMAL angewendet.
+ * Ausnahme: 'active' ist Laufzeit-Zustand (/xmas on|off) und bleibt in der Config.
+ *
+ * THREAD-SAFE: Nur final-Felder, unveränderliche Listen.
+ */
+public final class SeasonSettings {
+
+    // ---------- Allgemein ----------
+    /** Primäre Saison-Welt (Backups, Compare, Seed-Restore) */
+    public final String snowWorld;
+    /** MULTI-WORLD: Alle Saison-Welten (Reihenfolge wie in der Config, primäre zuerst) */
+    public final Map<String, WorldSettings> worlds;
+
+    // ---------- Biome ----------
+    public final boolean biomeEnabled;
+    public final boolean enableSnapshot;
+    public final boolean sparseSnapshots;
+    public final Biome targetBiome;
+    public final int verticalStep;
+
+    // ---------- Player-Bubble ----------
+    public final boolean bubbleEnabled;
+    public final int bubbleRadiusChunks;
+    public final boolean bubbleRefreshClient;
+    public final int bubbleTickIntervalTicks;
+    public final int bubblePerTickBudget;
+    public final boolean prefetchEnabled;
+    public final double prefetchMinSpeed;
+    public final int prefetchLookaheadTicks;
+    public final int prefetchMaxChunks;
+
+    // ---------- Chunk-Load-Warteschlange ----------
+    public final int chunkLoadGraceTicks;
+    public final int chunkLoadIntervalTicks;
+    public final int chunkLoadPerRun;
+
+    // ---------- Seed-Orakel ----------
+    public final int seedOracleThreads;
+    public final int seedOracleCacheChunks;
+
+    // ---------- Restore ----------
+    public final int restorePerTick;
+    public final int restorePrefetchBuffer;
+    public final int restoreMaxInFlight;
+    public final boolean restoreLazy;
+    public final int lazySweepPerRun;
+    public final int lazySweepIntervalTicks;
+
+    // ---------- Winter-Journal ----------
+    public final boolean journalEnabled;
+    public final int journalFlushSeconds;
+
+    // ---------- Prewarm ----------
+    public final double prewarmMsPerTick;
+    public final int prewarmMaxPerTick;
+    public final int prewarmMaxInFlight;
+    public final int prewarmCheckpointSeconds;
+
+    // ---------- Schneesturm ----------
+    public final boolean snowstormEnabled;
+    public final String snowstormMode;
+    public final int snowstormForceWeatherTicks;
+    public final int snowstormOnSeconds;
+    public final int snowstormOffSeconds;
+
+    // ---------- Dekoration ----------
+    public final boolean decorationEnabled;
+    public final int decorationIntervalSeconds;
+    public final double decorationSpawnChance;
+    public final List<String> decorationDrops;
+    public final int decorationPickupDelayTicks;
+    public final boolean decorationGlow;
+    public final int decorationLifetimeSeconds;
+
+    // ---------- Geschenke ----------
+    public final boolean giftsEnabled;
+    public final int giftsGlobalIntervalSeconds;
+    public final double giftsChancePerInterval;
+    public final int giftsLifetimeSeconds;
+    public final boolean giftsBroadcastOnSpawn;
+    public final List<String> giftsLootCommon;
+    public final List<String> giftsLootExtra;
+    public final List<String> giftsLootRare;
+
+    // ---------- Schneemänner ----------
+    public final boolean snowmenEnabled;
+    public final int snowmenSpawnIntervalSeconds;
+    public final int snowmenMaxPerWorld;
+    public final double snowmenRange;
+    public final double snowmenAttackChance;
+    public final int snowmenAttackIntervalSeconds;
+
+    // ---------- Mob-AI (gemeinsamer Takt) ----------
+    public final int mobAiIntervalTicks;
+    public final int mobAiMaxPerRun;
+
+    // ---------- Spawn-Director ----------
+    public final int spawnMaxPerTick;
+    public final boolean spawnAsyncSearch;
+
+    // ---------- Dichte-Limits (pro Spieler im Umkreis, 0 = nur maxPerWorld) ----------
+    public final double densityAreaRadius;
+    public final int snowmenPerPlayerArea;
+    public final int wichtelPerPlayerArea;
+    public final int elvesPerPlayerArea;
+
+    // ---------- Mob-Pool (Wichtel/Elfen wiederverwenden) ----------
+    public final boolean mobPoolEnabled;
+    public final int mobPoolMaxIdlePerWorld;
+    public final int mobPoolMaxIdleSeconds;
+
+    // ---------- Wichtel & Elfen ----------
+    public final boolean wichtelEnabled;
+    /** Veraltet (vor Multi-World): einzige Wichtel-Welt, null = nicht gesetzt */
+    public final String legacyWichtelWorld;
+    public final int wichtelSpawnIntervalSeconds;
+    public final int wichtelMaxPerWorld;
+    public final int wichtelLifetimeSeconds;
+    public final double wichtelStealRadius;
+    public final boolean elvesEnabled;
+    public final int elvesSpawnIntervalSeconds;
+    public final int elvesMaxPerWorld;
+
+    // ---------- Region-Schutz ----------
+    public final boolean regionIntegrationEnabled;
+    public final boolean worldGuardAllowInProtected;
+    public final boolean griefPreventionAllowInClaims;
+    public final boolean griefPreventionAllowInAdminClaims;
+
+    /**
+     * Werte einer einzelnen Saison-Welt (globale Werte, optional überschrieben
+     * unter worldOverrides.<welt>)
+     */
+    public static final class WorldSettings {
+        public final String name;
+        public final int budgetShare;      // Gewicht am Bubble-Budget (fair share zwischen Welten)
+        public final boolean snowstorm;
+        public final boolean wichtel;      // Wichtel & Elfen in dieser Welt
+        public final int snowmenMax;
+        public final int wichtelMax;
+        public final int elvesMax;
+
+        WorldSettings(String name, ConfigurationSection o, boolean wichtel,
+                      boolean snowstorm, int snowmenMax, int wichtelMax, int elvesMax) {
+            this.name = name;
+            this.budgetShare = Math.max(1, o != null ? o.getInt("budgetShare", 1) : 1);
+            this.snowstorm = o != null ? o.getBoolean("snowstorm", snowstorm) : snowstorm;
+            this.wichtel = o != null ? o.getBoolean("wichtel", wichtel) : wichtel;
+            this.snowmenMax = o != null ? o.getInt("snowmenMaxPerWorld", snowmenMax) : snowmenMax;
+            this.wichtelMax = o != null ? o.getInt("wichtelMaxPerWorld", wichtelMax) : wichtelMax;
+            this.elvesMax = o != null ? o.getInt("elvesMaxPerWorld", elvesMax) : elvesMax;
+        }
+    }
+
+    public SeasonSettings(FileConfiguration cfg) {
+        snowWorld = cfg.getString("snowWorld", "world");
+
+        biomeEnabled = cfg.getBoolean("biome.enabled", true);
+        enableSnapshot = cfg.getBoolean("biome.enableSnapshot", true);
+        sparseSnapshots = cfg.getBoolean("biome.sparseSnapshots", true);
+        targetBiome = resolveBiome(cfg.getString("biome.target", "SNOWY_PLAINS"));
+        // Korrekt für 1.18+: Biome-Auflösung 4 Blöcke hoch → Schrittweite 4 für volle Abdeckung
+        verticalStep = Math.max(1, cfg.getInt("biome.verticalStep", 4));
+
+        bubbleEnabled = cfg.getBoolean("biome.playerBubble.enabled", true);
+        bubbleRadiusChunks = Math.max(0, cfg.getInt("biome.playerBubble.radiusChunks", 3));
+        bubbleRefreshClient = cfg.getBoolean("biome.playerBubble.refreshClient", true);
+        bubbleTickIntervalTicks = Math.max(5, cfg.getInt("biome.playerBubble.tickIntervalTicks", 40));
+        bubblePerTickBudget = Math.max(1, cfg.getInt("biome.playerBubble.perTickBudget", 12));
+        prefetchEnabled = cfg.getBoolean("biome.playerBubble.prefetch.enabled", true);
+        prefetchMinSpeed = cfg.getDouble("biome.playerBubble.prefetch.minSpeed", 0.4);
+        prefetchLookaheadTicks = (int) (Math.max(0.0, cfg.getDouble("biome.playerBubble.prefetch.lookaheadSeconds", 3.0)) * 20);
+        prefetchMaxChunks = Math.max(0, cfg.getInt("biome.playerBubble.prefetch.maxChunks", 16));
+
+        chunkLoadGraceTicks = Math.max(0, cfg.getInt("biome.chunkLoad.graceTicks", 20));
+        chunkLoadIntervalTicks = Math.max(1, cfg.getInt("biome.chunkLoad.intervalTicks", 5));
+        chunkLoadPerRun = Math.max(1, cfg.getInt("biome.chunkLoad.perRun", 8));
+
+        seedOracleThreads = Math.max(0, cfg.getInt("biome.seedOracle.threads", 0));
+        seedOracleCacheChunks = Math.max(1, cfg.getInt("biome.seedOracle.cacheChunks", 256));
+
+        restorePerTick = Math.max(1, cfg.getInt("biome.restore.perTick", 4));
+        restorePrefetchBuffer = Math.max(16, cfg.getInt("biome.restore.prefetchBuffer", 512));
+        restoreMaxInFlight = cfg.getInt("biome.restore.maxInFlight", 64);
+        restoreLazy = "lazy".equalsIgnoreCase(cfg.getString("biome.restore.mode", "eager"));
+        lazySweepPerRun = Math.max(1, cfg.getInt("biome.restore.lazy.sweepPerRun", 2));
+        lazySweepIntervalTicks = Math.max(1, cfg.getInt("biome.restore.lazy.sweepIntervalTicks", 20));
+
+        journalEnabled = cfg.getBoolean("biome.journal.enabled", true);
+        journalFlushSeconds = Math.max(5, cfg.getInt("biome.journal.flushSeconds", 30));
+
+        prewarmMsPerTick = Math.max(1.0, cfg.getDouble("biome.prewarm.msPerTick", 10.0));
+        prewarmMaxPerTick = Math.max(1, cfg.getInt("biome.prewarm.maxPerTick", 16));
+        prewarmMaxInFlight = Math.max(1, cfg.getInt("biome.prewarm.maxInFlight", 32));
+        prewarmCheckpointSeconds = Math.max(1, cfg.getInt("biome.prewarm.checkpointSeconds", 10));
+
+        snowstormEnabled = cfg.getBoolean("snowstorm.enabled", true);
+        snowstormMode = cfg.getString("snowstorm.mode", "manual");
+        snowstormForceWeatherTicks = cfg.getInt("snowstorm.forceWeatherTicks", 200);
+        snowstormOnSeconds = Math.max(5, cfg.getInt("snowstorm.auto.onSeconds", 150));
+        snowstormOffSeconds = Math.max(5, cfg.getInt("snowstorm.auto.offSeconds", 45));
+
+        decorationEnabled = cfg.getBoolean("decoration.enabled", true);
+        decorationIntervalSeconds = cfg.getInt("decoration.intervalSeconds", 25);
+        decorationSpawnChance = cfg.getDouble("decoration.spawnChance", 0.9);
+        decorationDrops = List.copyOf(cfg.getStringList("decoration.drops"));
+        decorationPickupDelayTicks = cfg.getInt("decoration.pickupDelayTicks", 0);
+        decorationGlow = cfg.getBoolean("decoration.glow", true);
+        decorationLifetimeSeconds = cfg.getInt("decoration.lifetimeSeconds", 180);
+
+        giftsEnabled = cfg.getBoolean("gifts.enabled", true);
+        giftsGlobalIntervalSeconds = cfg.getInt("gifts.globalIntervalSeconds", 160);
+        giftsChancePerInterval = cfg.getDouble("gifts.chancePerInterval", 1.0);
+        giftsLifetimeSeconds = cfg.getInt("gifts.lifetimeSeconds", 300);
+        giftsBroadcastOnSpawn = cfg.getBoolean("gifts.broadcastOnSpawn", true);
+        giftsLootCommon = List.copyOf(cfg.getStringList("gifts.lootTables.common"));
+        giftsLootExtra = List.copyOf(cfg.getStringList("gifts.lootTables.extra"));
+        giftsLootRare = List.copyOf(cfg.getStringList("gifts.lootTables.rare"));
+
+        snowmenEnabled = cfg.getBoolean("snowmen.enabled", true);
+        snowmenSpawnIntervalSeconds = cfg.getInt("snowmen.spawnIntervalSeconds", 30);
+        snowmenMaxPerWorld = cfg.getInt("snowmen.maxPerWorld", 6);
+        snowmenRange = cfg.getDouble("snowmen.range", 12.0);
+        snowmenAttackChance = cfg.getDouble("snowmen.attackChance", 0.35);
+        snowmenAttackIntervalSeconds = cfg.getInt("snowmen.attackIntervalSeconds", 5);
+
+        mobAiIntervalTicks = Math.max(1, cfg.getInt("mobAi.intervalTicks", 5));
+        mobAiMaxPerRun = Math.max(1, cfg.getInt("mobAi.maxPerRun", 32));
+
+        spawnMaxPerTick = Math.max(1, cfg.getInt("spawnDirector.maxPerTick", 4));
+        spawnAsyncSearch = cfg.getBoolean("spawnDirector.asyncSearch", true);
+
+        densityAreaRadius = Math.max(16.0, cfg.getDouble("density.areaRadius", 64.0));
+        snowmenPerPlayerArea = Math.max(0, cfg.getInt("density.perPlayerArea.snowmen", 2));
+        wichtelPerPlayerArea = Math.max(0, cfg.getInt("density.perPlayerArea.wichtel", 2));
+        elvesPerPlayerArea = Math.max(0, cfg.getInt("density.perPlayerArea.elves", 2));
+
+        mobPoolEnabled = cfg.getBoolean("mobPool.enabled", false);
+        mobPoolMaxIdlePerWorld = Math.max(0, cfg.getInt("mobPool.maxIdlePerWorld", 4));
+        mobPoolMaxIdleSeconds = Math.max(5, cfg.getInt("mobPool.maxIdleSeconds", 120));
+
+        wichtelEnabled = cfg.getBoolean("wichtel.enabled", true);
+        legacyWichtelWorld = cfg.getString("wichtel.world", null);
+        wichtelSpawnIntervalSeconds = cfg.getInt("wichtel.spawnIntervalSeconds", 45);
+        wichtelMaxPerWorld = cfg.getInt("wichtel.maxPerWorld", 6);
+        wichtelLifetimeSeconds = Math.max(10, cfg.getInt("wichtel.lifetimeSeconds", 240));
+        wichtelStealRadius = cfg.getDouble("wichtel.stealRadius", 3.2);
+        elvesEnabled = cfg.getBoolean("elves.enabled", true);
+        elvesSpawnIntervalSeconds = cfg.getInt("elves.spawnIntervalSeconds", 60);
+        elvesMaxPerWorld = cfg.getInt("elves.maxPerWorld", 4);
+
+        regionIntegrationEnabled = cfg.getBoolean("regionIntegration.enabled", true);
+        worldGuardAllowInProtected = cfg.getBoolean("regionIntegration.worldGuard.allowInProtected", false);
+        griefPreventionAllowInClaims = cfg.getBoolean("regionIntegration.griefPrevention.allowInClaims", false);
+        griefPreventionAllowInAdminClaims = cfg.getBoolean("regionIntegration.griefPrevention.allowInAdminClaims", false);
+
+        // MULTI-WORLD: snowWorld + 'worlds'-Liste (Duplikate entfernt, snowWorld immer zuerst)
+        List<String> names = new ArrayList<>();
+        names.add(snowWorld);
+        for (String name : cfg.getStringList("worlds")) {
+            if (name != null && !name.isBlank() && !names.contains(name.trim())) names.add(name.trim());
+        }
+        Map<String, WorldSettings> map = new LinkedHashMap<>();
+        for (String name : names) {
+            // MIGRATION: Altes wichtel.world gilt als Standard für den Welt-Schalter (worldOverrides gewinnt)
+            boolean wichtel = legacyWichtelWorld == null || legacyWichtelWorld.equals(name);
+            map.put(name, new WorldSettings(name, cfg.getConfigurationSection("worldOverrides." + name),
+                    wichtel, snowstormEnabled, snowmenMaxPerWorld, wichtelMaxPerWorld, elvesMaxPerWorld));
+        }
+        worlds = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Werte einer Saison-Welt
+     *
+     * @return null wenn die Welt nicht zur Saison gehört
+     */
+    public WorldSettings world(String name) {
+        return worlds.get(name);
+    }
+
+    /** Ziel-Biom einmal über Registry.BIOME auflösen (Fallback SNOWY_PLAINS) */
+    private static Biome resolveBiome(String name) {
+        try {
+            Biome biome = Registry.BIOME.get(NamespacedKey.minecraft(name.toLowerCase()));
+            return biome != null ? biome : Biome.SNOWY_PLAINS;
+        } catch (Exception e) {
+            return Biome.SNOWY_PLAINS;
+        }
+    }
+}
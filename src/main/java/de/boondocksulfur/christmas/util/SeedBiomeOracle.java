@@ -0,0 +1,143 @@
+package de.boondocksulfur.christmas.util;
+
+import org.bukkit.World;
+import org.bukkit.block.Biome;
+import org.bukkit.generator.BiomeProvider;
+import org.bukkit.generator.WorldInfo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Original-Biome aus dem Seed, ohne Referenzwelt.
+ *
+ * Fragt den BiomeProvider der Welt direkt ab (eigener Generator oder
+ * Paper-WorldInfo#vanillaBiomeProvider()) - es wird keine Welt erstellt,
+ * kein Chunk generiert und nichts auf die Platte geschrieben.
+ *
+ * Biome liegen in Minecraft auf einem 4x4x4-Raster; pro Chunk werden daher nur
+ * 4x4 Spalten mal (Höhe / Schrittweite) Punkte ausgewertet.
+ *
+ * THREAD-SAFE: BiomeProvider werden auch von den Worldgen-Threads genutzt,
+ * die Auswertung läuft deshalb auf einem Worker-Pool (reine CPU-Arbeit).
+ * Ergebnisse liegen in einem kleinen LRU-Cache pro Chunk.
+ */
+public class SeedBiomeOracle {
+
+    private final WorldInfo info;
+    private final BiomeProvider provider;
+    private final Executor workers;
+    private final int minY;
+    private final int step;
+    private final int ySamples;
+    private final Map<Long, CompletableFuture<Biome[]>> cache;
+    // Noch nicht fertige Berechnungen (auch aus dem Cache verdrängte) → cancelPending()
+    private final Set<CompletableFuture<Biome[]>> pending = ConcurrentHashMap.newKeySet();
+
+    private SeedBiomeOracle(WorldInfo info, BiomeProvider provider, Executor workers, int step, int cacheChunks) {
+        this.info = info;
+        this.provider = provider;
+        this.workers = workers;
+        this.minY = info.getMinHeight();
+        this.step = Math.max(1, step);
+        this.ySamples = (info.getMaxHeight() - minY + this.step - 1) / this.step;
+        int max = Math.max(1, cacheChunks);
+        this.cache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CompletableFuture<Biome[]>> eldest) {
+                return size() > max;
+            }
+        };
+    }
+
+    /**
+     * Erstellt das Orakel für eine Welt
+     *
+     * @return Orakel, oder null wenn weder ein eigener noch der Vanilla-BiomeProvider verfügbar ist
+     */
+    public static SeedBiomeOracle create(World world, Executor workers, int step, int cacheChunks) {
+        BiomeProvider provider = null;
+        try {
+            provider = world.getBiomeProvider(); // Eigener Generator (z.B. Terra, Iris)
+        } catch (Throwable ignored) {}
+        if (provider == null) {
+            try {
+                provider = world.vanillaBiomeProvider(); // Paper 1.19+
+            } catch (Throwable ignored) {
+                // Spigot: kein Vanilla-Provider verfügbar
+            }
+        }
+        return provider != null ? new SeedBiomeOracle(world, provider, workers, step, cacheChunks) : null;
+    }
+
+    /** Original-Biom an einer Block-Position (synchron, ohne Cache) */
+    public Biome biomeAt(int x, int y, int z) {
+        return provider.getBiome(info, x, y, z);
+    }
+
+    /**
+     * Original-Biome eines Chunks (asynchron auf dem Worker-Pool, gecacht)
+     * Gleichzeitige Anfragen für denselben Chunk teilen sich eine Berechnung.
+     *
+     * @return Raster, auszulesen über {@link #get(Biome[], int, int, int)}
+     */
+    public CompletableFuture<Biome[]> chunkBiomes(int chunkX, int chunkZ) {
+        long key = ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+        CompletableFuture<Biome[]> future;
+        synchronized (cache) {
+            future = cache.get(key);
+            if (future != null) return future;
+            future = CompletableFuture.supplyAsync(() -> evaluate(chunkX, chunkZ), workers);
+            cache.put(key, future);
+            pending.add(future);
+        }
+        // Fehler nicht cachen → nächster Versuch rechnet neu
+        CompletableFuture<Biome[]> computed = future;
+        computed.whenComplete((grid, error) -> {
+            pending.remove(computed);
+            if (error != null) {
+                synchronized (cache) { cache.remove(key, computed); }
+            }
+        });
+        return computed;
+    }
+
+    private Biome[] evaluate(int chunkX, int chunkZ) {
+        Biome[] grid = new Biome[16 * ySamples];
+        int bx = chunkX << 4, bz = chunkZ << 4;
+        for (int i = 0; i < ySamples; i++) {
+            int y = minY + i * step;
+            for (int qz = 0; qz < 4; qz++) {
+                for (int qx = 0; qx < 4; qx++) {
+                    grid[(i << 4) | (qz << 2) | qx] = provider.getBiome(info, bx + (qx << 2), y, bz + (qz << 2));
+                }
+            }
+        }
+        return grid;
+    }
+
+    /** Liest ein Raster aus {@link #chunkBiomes} an einer chunk-lokalen Position */
+    public Biome get(Biome[] grid, int localX, int y, int localZ) {
+        int i = Math.min(ySamples - 1, Math.max(0, (y - minY) / step));
+        return grid[(i << 4) | ((localZ >> 2) << 2) | (localX >> 2)];
+    }
+
+    public void clearCache() {
+        synchronized (cache) { cache.clear(); }
+    }
+
+    /**
+     * Schließt alle offenen Berechnungen mit einem Fehler ab (Worker-Pool wird gestoppt)
+     * Ohne das warten Aufrufer ewig auf Aufgaben, die der Pool verworfen hat.
+     */
+    public void cancelPending(Throwable reason) {
+        for (CompletableFuture<Biome[]> future : pending) {
+            future.completeExceptionally(reason);
+        }
+        clearCache();
+    }
+}
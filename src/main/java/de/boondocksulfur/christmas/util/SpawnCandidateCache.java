@@ -0,0 +1,243 @@
+package de.boondocksulfur.christmas.util;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache geprüfter Spawn-Spalten pro Chunk.
+ *
+ * Pro Chunk je eine Bitmaske (256 Spalten) für "geprüft", "sicher", "Wasser geprüft"
+ * und "trocken" plus die Oberflächen-Höhe jeder Spalte. Eine Spalte wird nur einmal
+ * mit SpawnUtil geprüft (getHighestBlockAt, Seiten, Licht, 7x7x3-Wasser-Scan bei
+ * Schneemännern); danach ist die Platzsuche ein Zufallsgriff aus den sicheren Spalten
+ * im Radius.
+ *
+ * Invalidierung: Block setzen/abbauen/Explosion löscht die Bits aller Spalten im
+ * Umkreis von 3 Blöcken (so weit reicht der Wasser-Scan). Änderungen ohne Event
+ * (Wasserfluss, Schnee, Plugins) fängt die Luft-Prüfung beim Griff ab; zusätzlich
+ * verfällt ein Chunk nach TTL_MILLIS und wird beim Entladen verworfen.
+ *
+ * THREAD-SAFE: Zugriffe laufen auf dem Region-Thread des Chunks, die Bitmasken
+ * sind pro Chunk synchronisiert (Nachbar-Regionen am Rand).
+ */
+public class SpawnCandidateCache {
+
+    /** Reichweite der Prüfungen um eine Spalte (Wasser-Scan 3, Seiten 1) */
+    private static final int INVALIDATE_RADIUS = 3;
+    /** Spätestens dann wird ein Chunk neu geprüft */
+    private static final long TTL_MILLIS = 5 * 60_000L;
+    /** Max. Chunks pro Welt im Cache */
+    private static final int MAX_CHUNKS = 4096;
+
+    private static final class Columns {
+        final long[] known = new long[4];
+        final long[] safe = new long[4];
+        final long[] dryKnown = new long[4];
+        final long[] dry = new long[4];
+        final short[] surfaceY = new short[256];
+        final long createdAt = System.currentTimeMillis();
+
+        boolean expired(long now) { return now - createdAt > TTL_MILLIS; }
+
+        static boolean get(long[] mask, int i) { return (mask[i >> 6] & (1L << i)) != 0; }
+        static void set(long[] mask, int i, boolean v) {
+            if (v) mask[i >> 6] |= 1L << i;
+            else mask[i >> 6] &= ~(1L << i);
+        }
+    }
+
+    private final Map<String, Map<Long, Columns>> worlds = new ConcurrentHashMap<>();
+    private final Random random = new Random();
+
+    /**
+     * Sucht mehrere sichere Spawn-Locations (Region-Thread der Mitte)
+     * Erst Zufallsgriff aus bereits geprüften sicheren Spalten, dann bis zu
+     * 'attempts' Proben auf ungeprüften Spalten (werden gecacht).
+     *
+     * @return Sichere Locations (unterschiedliche Spalten), kann kürzer als 'wanted' sein
+     */
+    public List<Location> find(World w, Location center, int radius, int attempts, int wanted) {
+        int cx = center.getBlockX(), cz = center.getBlockZ();
+        List<Location> found = new ArrayList<>(wanted);
+        Map<Long, Columns> chunks = worlds.computeIfAbsent(w.getName(), k -> new ConcurrentHashMap<>());
+        long now = System.currentTimeMillis();
+
+        // 1) Geprüfte sichere Spalten im Radius
+        List<long[]> known = collectSafe(chunks, cx, cz, radius, now);
+        while (!known.isEmpty() && found.size() < wanted) {
+            long[] c = known.remove(random.nextInt(known.size()));
+            Location loc = new Location(w, c[0] + 0.5, c[2], c[1] + 0.5);
+            // Änderung ohne Event (Schnee, Wasser, Chest)? → Spalte neu prüfen lassen
+            if (loc.getBlock().getType().isAir() && loc.clone().add(0, 1, 0).getBlock().getType().isAir()) {
+                found.add(loc);
+            } else {
+                invalidateColumn(chunks, (int) c[0], (int) c[1]);
+            }
+        }
+
+        // 2) Proben auf ungeprüften Spalten
+        for (int i = 0; i < attempts && found.size() < wanted; i++) {
+            int x = cx + random.nextInt(radius * 2 + 1) - radius;
+            int z = cz + random.nextInt(radius * 2 + 1) - radius;
+            Columns columns = columns(chunks, x >> 4, z >> 4, now);
+            int index = index(x, z);
+            synchronized (columns) {
+                if (Columns.get(columns.known, index)) continue; // schon in Schritt 1 berücksichtigt
+            }
+
+            Location surface = SpawnUtil.probeSafe(w, x, z);
+            synchronized (columns) {
+                Columns.set(columns.known, index, true);
+                Columns.set(columns.safe, index, surface != null);
+                if (surface != null) columns.surfaceY[index] = (short) surface.getBlockY();
+            }
+            if (surface != null) found.add(surface);
+        }
+        return found;
+    }
+
+    /** Anzahl geprüfter sicherer Spalten im Radius (ohne Luft-Prüfung) */
+    public int countSafe(World w, Location center, int radius) {
+        Map<Long, Columns> chunks = worlds.get(w.getName());
+        if (chunks == null) return 0;
+        return collectSafe(chunks, center.getBlockX(), center.getBlockZ(), radius, System.currentTimeMillis()).size();
+    }
+
+    private List<long[]> collectSafe(Map<Long, Columns> chunks, int cx, int cz, int radius, long now) {
+        List<long[]> known = new ArrayList<>();
+        for (int chunkX = (cx - radius) >> 4; chunkX <= (cx + radius) >> 4; chunkX++) {
+            for (int chunkZ = (cz - radius) >> 4; chunkZ <= (cz + radius) >> 4; chunkZ++) {
+                Columns columns = chunks.get(pack(chunkX, chunkZ));
+                if (columns == null || columns.expired(now)) continue;
+                synchronized (columns) {
+                    for (int i = 0; i < 256; i++) {
+                        if (!Columns.get(columns.safe, i)) continue;
+                        int x = (chunkX << 4) | (i & 15), z = (chunkZ << 4) | (i >> 4);
+                        if (Math.abs(x - cx) <= radius && Math.abs(z - cz) <= radius) {
+                            known.add(new long[]{x, z, columns.surfaceY[i]});
+                        }
+                    }
+                }
+            }
+        }
+        return known;
+    }
+
+    /**
+     * Übernimmt Ergebnisse der Async-Suche (SpawnSnapshotArea)
+     */
+    public void store(World w, List<SpawnSnapshotArea.Probe> probes) {
+        Map<Long, Columns> chunks = worlds.computeIfAbsent(w.getName(), k -> new ConcurrentHashMap<>());
+        long now = System.currentTimeMillis();
+        for (SpawnSnapshotArea.Probe probe : probes) {
+            Columns columns = columns(chunks, probe.x() >> 4, probe.z() >> 4, now);
+            int index = index(probe.x(), probe.z());
+            synchronized (columns) {
+                Columns.set(columns.known, index, true);
+                Columns.set(columns.safe, index, probe.safe());
+                columns.surfaceY[index] = (short) probe.surfaceY();
+                Columns.set(columns.dryKnown, index, probe.dry() != null);
+                if (probe.dry() != null) Columns.set(columns.dry, index, probe.dry());
+            }
+        }
+    }
+
+    /**
+     * Kein Wasser/Lava im 3x3-Radius (Schneemänner), gecacht pro Spalte
+     */
+    public boolean isDry(Location loc) {
+        World w = loc.getWorld();
+        int x = loc.getBlockX(), z = loc.getBlockZ();
+        Columns columns = columns(worlds.computeIfAbsent(w.getName(), k -> new ConcurrentHashMap<>()),
+                x >> 4, z >> 4, System.currentTimeMillis());
+        int index = index(x, z);
+        synchronized (columns) {
+            if (Columns.get(columns.dryKnown, index)) return Columns.get(columns.dry, index);
+        }
+        boolean dry = !SpawnUtil.hasWaterNearby(loc);
+        synchronized (columns) {
+            Columns.set(columns.dryKnown, index, true);
+            Columns.set(columns.dry, index, dry);
+        }
+        return dry;
+    }
+
+    /** Block an x/y/z hat sich geändert → Spalten im Umkreis neu prüfen */
+    public void invalidate(World w, int x, int z) {
+        Map<Long, Columns> chunks = worlds.get(w.getName());
+        if (chunks == null || chunks.isEmpty()) return;
+        for (int dx = -INVALIDATE_RADIUS; dx <= INVALIDATE_RADIUS; dx++) {
+            for (int dz = -INVALIDATE_RADIUS; dz <= INVALIDATE_RADIUS; dz++) {
+                invalidateColumn(chunks, x + dx, z + dz);
+            }
+        }
+    }
+
+    private void invalidateColumn(Map<Long, Columns> chunks, int x, int z) {
+        Columns columns = chunks.get(pack(x >> 4, z >> 4));
+        if (columns == null) return;
+        int index = index(x, z);
+        synchronized (columns) {
+            Columns.set(columns.known, index, false);
+            Columns.set(columns.safe, index, false);
+            Columns.set(columns.dryKnown, index, false);
+        }
+    }
+
+    /** Chunk entladen → Einträge verwerfen */
+    public void removeChunk(World w, int chunkX, int chunkZ) {
+        Map<Long, Columns> chunks = worlds.get(w.getName());
+        if (chunks != null) chunks.remove(pack(chunkX, chunkZ));
+    }
+
+    public void clear() {
+        worlds.clear();
+    }
+
+    private Columns columns(Map<Long, Columns> chunks, int chunkX, int chunkZ, long now) {
+        long key = pack(chunkX, chunkZ);
+        Columns columns = chunks.get(key);
+        if (columns == null || columns.expired(now)) {
+            if (chunks.size() >= MAX_CHUNKS) evictExpired(chunks, now);
+            columns = new Columns();
+            chunks.put(key, columns);
+        }
+        return columns;
+    }
+
+    private void evictExpired(Map<Long, Columns> chunks, long now) {
+        Iterator<Columns> it = chunks.values().iterator();
+        int removed = 0;
+        while (it.hasNext()) {
+            if (it.next().expired(now)) {
+                it.remove();
+                removed++;
+            }
+        }
+        // Nichts abgelaufen: die ältesten 20% (nach createdAt) verwerfen
+        if (removed == 0) {
+            List<long[]> ages = new ArrayList<>(chunks.size());
+            for (Map.Entry<Long, Columns> entry : chunks.entrySet()) {
+                ages.add(new long[]{entry.getKey(), entry.getValue().createdAt});
+            }
+            ages.sort((x, y) -> Long.compare(x[1], y[1]));
+            int toRemove = Math.min(MAX_CHUNKS / 5, ages.size());
+            for (int i = 0; i < toRemove; i++) chunks.remove(ages.get(i)[0]);
+        }
+    }
+
+    private static int index(int x, int z) {
+        return ((z & 15) << 4) | (x & 15);
+    }
+
+    private static long pack(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
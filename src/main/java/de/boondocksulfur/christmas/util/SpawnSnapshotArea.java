@@ -0,0 +1,173 @@
+package de.boondocksulfur.christmas.util;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spawn-Platzsuche auf ChunkSnapshots (async).
+ *
+ * Der Region-Thread nimmt nur die Snapshots der Chunks im Suchbereich auf
+ * (inkl. 3 Blöcke Rand für den Wasser-Scan); Oberfläche, Boden, Wände, Himmelslicht
+ * und Wasser werden danach auf einem Async-Thread geprüft - mit denselben Regeln wie
+ * SpawnUtil.findSurface/isSafeSpawnLocation/hasWaterNearby.
+ * Die Ergebnisse landen im SpawnCandidateCache; der Region-Thread prüft vor dem Spawn
+ * nur noch die zwei Luftblöcke.
+ *
+ * THREAD-SAFE: probe() liest ausschließlich die Snapshots.
+ */
+public final class SpawnSnapshotArea {
+
+    /** Ergebnis einer geprüften Spalte */
+    public record Probe(int x, int z, boolean safe, int surfaceY, Boolean dry) {}
+
+    /** Reichweite des Wasser-Scans (wie SpawnUtil.hasWaterNearby) */
+    private static final int WATER_RADIUS = 3;
+
+    /** Block außerhalb der aufgenommenen Chunks → Spalte bleibt ungeprüft */
+    private static final class Missing extends RuntimeException {
+        static final Missing INSTANCE = new Missing();
+        private Missing() { super(null, null, false, false); }
+    }
+
+    private final Map<Long, ChunkSnapshot> chunks;
+    private final int minY;
+    private final int maxY;
+
+    private SpawnSnapshotArea(Map<Long, ChunkSnapshot> chunks, int minY, int maxY) {
+        this.chunks = chunks;
+        this.minY = minY;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Nimmt die Snapshots aller geladenen, eigenen Chunks im Suchbereich auf (Region-Thread)
+     * Nicht geladene Chunks werden NICHT geladen, ihre Spalten bleiben ungeprüft.
+     */
+    public static SpawnSnapshotArea capture(World w, int centerX, int centerZ, int radius, FoliaSchedulerHelper scheduler) {
+        int reach = radius + WATER_RADIUS + 1;
+        Map<Long, ChunkSnapshot> chunks = new HashMap<>();
+        for (int chunkX = (centerX - reach) >> 4; chunkX <= (centerX + reach) >> 4; chunkX++) {
+            for (int chunkZ = (centerZ - reach) >> 4; chunkZ <= (centerZ + reach) >> 4; chunkZ++) {
+                if (!w.isChunkLoaded(chunkX, chunkZ) || !scheduler.isOwnedByCurrentRegion(w, chunkX, chunkZ)) continue;
+                try {
+                    // Heightmap ja, Biome/Temperatur nein
+                    chunks.put(pack(chunkX, chunkZ), w.getChunkAt(chunkX, chunkZ).getChunkSnapshot(true, false, false));
+                } catch (Throwable ignored) {
+                    // Chunk gehört doch einer anderen Region → Spalten bleiben ungeprüft
+                }
+            }
+        }
+        return new SpawnSnapshotArea(chunks, w.getMinHeight(), w.getMaxHeight());
+    }
+
+    public boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    /**
+     * Prüft zufällige Spalten im Radius (Async-Thread)
+     *
+     * @param attempts Anzahl Proben
+     * @param needDry Wasser-Scan für sichere Spalten mitrechnen (Schneemänner)
+     */
+    public List<Probe> probe(int centerX, int centerZ, int radius, int attempts, boolean needDry) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Probe> probes = new ArrayList<>(attempts);
+        for (int i = 0; i < attempts; i++) {
+            int x = centerX + random.nextInt(radius * 2 + 1) - radius;
+            int z = centerZ + random.nextInt(radius * 2 + 1) - radius;
+            try {
+                int y = surface(x, z);
+                boolean safe = isSafe(x, y, z);
+                Boolean dry = null;
+                if (safe && needDry) {
+                    try {
+                        dry = !hasWaterNearby(x, y, z);
+                    } catch (Missing m) {
+                        // Rand fehlt → Wasser-Check später auf dem Region-Thread
+                    }
+                }
+                probes.add(new Probe(x, z, safe, y, dry));
+            } catch (Missing ignored) {
+                // Chunk nicht aufgenommen
+            }
+        }
+        return probes;
+    }
+
+    /** Wie SpawnUtil.findSurface, liefert die Y-Koordinate des ersten Luftblocks */
+    private int surface(int x, int z) {
+        int top = highest(x, z);
+        int ground = top;
+        while (ground > minY && !SpawnUtil.isGoodGround(type(x, ground, z))) ground--;
+
+        int a = ground + 1;
+        int limit = maxY - 2;
+        while ((!type(x, a, z).isAir() || !type(x, a + 1, z).isAir()) && a < limit) a++;
+
+        // kleine Sicherheitskorrektur: lieber Oberfläche als Höhle
+        if (skyLight(x, a, z) == 0) a = highest(x, z) + 1;
+        return a;
+    }
+
+    /** Wie SpawnUtil.isSafeSpawnLocation (ohne Wasser-Radius) */
+    private boolean isSafe(int x, int y, int z) {
+        if (y > 100) return false;
+        if (!type(x, y, z).isAir() || !type(x, y + 1, z).isAir()) return false;
+        if (!SpawnUtil.isGoodGround(type(x, y - 1, z))) return false;
+
+        int solidSides = 0;
+        if (type(x + 1, y, z).isSolid()) solidSides++;
+        if (type(x - 1, y, z).isSolid()) solidSides++;
+        if (type(x, y, z + 1).isSolid()) solidSides++;
+        if (type(x, y, z - 1).isSolid()) solidSides++;
+        if (solidSides >= 3) return false;
+
+        return skyLight(x, y, z) >= 12;
+    }
+
+    /** Wie SpawnUtil.hasWaterNearby (3x3-Radius, 1 Block über/unter) */
+    private boolean hasWaterNearby(int centerX, int centerY, int centerZ) {
+        for (int dx = -WATER_RADIUS; dx <= WATER_RADIUS; dx++) {
+            for (int dz = -WATER_RADIUS; dz <= WATER_RADIUS; dz++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    Material type = type(centerX + dx, centerY + dy, centerZ + dz);
+                    if (type == Material.WATER || type == Material.LAVA) return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private ChunkSnapshot chunk(int x, int z) {
+        ChunkSnapshot snapshot = chunks.get(pack(x >> 4, z >> 4));
+        if (snapshot == null) throw Missing.INSTANCE;
+        return snapshot;
+    }
+
+    private Material type(int x, int y, int z) {
+        if (y < minY || y >= maxY) return Material.AIR;
+        return chunk(x, z).getBlockType(x & 15, y, z & 15);
+    }
+
+    private int skyLight(int x, int y, int z) {
+        if (y >= maxY) return 15;
+        if (y < minY) return 0;
+        return chunk(x, z).getBlockSkyLight(x & 15, y, z & 15);
+    }
+
+    private int highest(int x, int z) {
+        return chunk(x, z).getHighestBlockYAt(x & 15, z & 15);
+    }
+
+    private static long pack(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
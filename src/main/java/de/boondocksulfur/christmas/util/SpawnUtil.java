@@ -131,6 +131,23 @@ public final class SpawnUtil {
         return true;
     }
 
+    /**
+     * Prüft eine einzelne Spalte (SpawnCandidateCache)
+     *
+     * @return Oberfläche der Spalte, wenn sie sicher ist (ohne Wasser-Radius), sonst null
+     */
+    public static Location probeSafe(World w, int x, int z) {
+        Location surface = findSurface(w, new Location(w, x, 0, z));
+        return isSafeSpawnLocation(surface, false) ? surface : null;
+    }
+
+    /**
+     * Wasser/Lava im 3x3-Radius (Schneemann-Check für Locations aus probeSafe)
+     */
+    public static boolean hasWaterNearby(Location loc) {
+        return hasWaterNearby(loc.getWorld(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(), 3);
+    }
+
     /**
      * Prüft ob Wasser in einem bestimmten Radius vorhanden ist
      * Wichtig für Schneemänner die nicht ins Wasser dürfen
@@ -188,7 +205,7 @@ public final class SpawnUtil {
         return new Location(w, x + 0.5, a.getY(), z + 0.5);
     }
 
-    private static boolean isGoodGround(Material m) {
+    static boolean isGoodGround(Material m) {
         if (!m.isSolid()) return false;
         if (m == Material.WATER || m == Material.LAVA) return false;
         if (m == Material.CACTUS || m == Material.FIRE || m == Material.MAGMA_BLOCK) return false;